@@ -15,9 +15,11 @@
 package org.apache.geode.internal.cache.ha;
 
 import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
@@ -149,4 +151,39 @@ public class BlockingHARegionQueueJUnitTest extends HARegionQueueJUnitTest {
 
     await().until(() -> !thread.isAlive());
   }
+
+  /**
+   * Test Scenario : Another thread holds the queue lock, as a dispatcher does while peeking a
+   * batch. The put should not wait for it, and the event should be available once the lock is
+   * released.
+   */
+  @Test
+  public void testPutDoesNotWaitForQueueLock() throws Exception {
+    HARegionQueue hrq = createHARegionQueue(testName.getMethodName(),
+        new HARegionQueueAttributes());
+    CountDownLatch lockAcquired = new CountDownLatch(1);
+    CountDownLatch putDone = new CountDownLatch(1);
+
+    Thread thread = new Thread(() -> {
+      hrq.acquireWriteLock();
+      try {
+        lockAcquired.countDown();
+        putDone.await();
+      } catch (InterruptedException e) {
+        errorCollector.addError(e);
+      } finally {
+        hrq.releaseWriteLock();
+      }
+    });
+    thread.start();
+    lockAcquired.await();
+
+    EventID id = new EventID(new byte[] {1}, 1, 1);
+    hrq.put(new ConflatableObject("key1", "val1", id, false, "testing"));
+    putDone.countDown();
+
+    await().until(() -> !thread.isAlive());
+    assertThat(hrq.size(), is(1));
+    assertThat(hrq.peek(), notNullValue());
+  }
 }
@@ -277,6 +277,24 @@ public interface ClientRegionFactory<K, V> {
    */
   ClientRegionFactory<K, V> setCompressor(Compressor compressor);
 
+  /**
+   * Makes the region a near cache of the server region. It keeps at most the given number of
+   * entries, evicting the least recently used ones, and destroys an entry the given number of
+   * seconds after it was last modified, which bounds how long a change the client was not told
+   * about can be read. If the pool has subscriptions enabled, the region registers interest in all
+   * keys without values once created, so that the servers push invalidations instead of values.
+   * The gets and misses of the region statistics give its hit ratio, and its serverInvalidateLag
+   * statistic how long the pushed invalidations take to arrive.
+   *
+   * @param maximumEntries the most entries the region keeps
+   * @param timeToLive the seconds an entry is kept after it was last modified, 0 to keep it until
+   *        it is evicted or invalidated
+   * @return a reference to this ClientRegionFactory object
+   * @throws IllegalStateException if the region shortcut does not store entries
+   * @since Geode 1.15
+   */
+  ClientRegionFactory<K, V> setNearCache(int maximumEntries, int timeToLive);
+
   /**
    * Creates a region in the {@link ClientCache} using the configuration contained in this
    * ClientRegionFactory. Validation of the provided attributes may cause exceptions to be thrown if
@@ -27,6 +27,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 
@@ -66,6 +67,17 @@ public class ClientMetadataService {
   private final boolean HONOUR_SERVER_GROUP_IN_PR_SINGLE_HOP = Boolean
       .getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.honourServerGroupsInPRSingleHop");
 
+  /**
+   * The copy of a bucket single hop reads are sent to. When not set, single gets go to a random
+   * copy of their bucket and getAll to the primaries.
+   */
+  private final ReadPreference readPreference;
+
+  /**
+   * The single hop reads in progress on each server, for {@link ReadPreference#LEAST_LOADED}
+   */
+  private final Map<ServerLocation, AtomicInteger> readsInProgress = new ConcurrentHashMap<>();
+
   public static final int SIZE_BYTES_ARRAY_RECEIVED = 2;
 
   public static final int INITIAL_VERSION = 0;
@@ -90,7 +102,26 @@ public class ClientMetadataService {
   private final Object fetchTaskCountLock = new Object();
 
   public ClientMetadataService(Cache cache) {
+    this(cache, getReadPreferenceProperty());
+  }
+
+  @VisibleForTesting
+  ClientMetadataService(Cache cache, ReadPreference readPreference) {
     this.cache = cache;
+    this.readPreference = readPreference;
+  }
+
+  private static ReadPreference getReadPreferenceProperty() {
+    String value = System.getProperty(GeodeGlossary.GEMFIRE_PREFIX + "PoolImpl.READ_PREFERENCE");
+    if (value == null) {
+      return null;
+    }
+    try {
+      return ReadPreference.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      logger.warn("Ignoring unknown single hop read preference {}", value);
+      return null;
+    }
   }
 
   private final Map<String, ClientPartitionAdvisor> clientPRAdvisors =
@@ -192,12 +223,56 @@ public class ClientMetadataService {
     }
 
     if (operation.isGet()) {
-      return prAdvisor.adviseServerLocation(bucketId);
+      return adviseReadServerLocation(prAdvisor, bucketId);
     } else {
       return prAdvisor.advisePrimaryServerLocation(bucketId);
     }
   }
 
+  private ServerLocation adviseReadServerLocation(ClientPartitionAdvisor prAdvisor,
+      int bucketId) {
+    if (readPreference == ReadPreference.PRIMARY) {
+      return prAdvisor.advisePrimaryServerLocation(bucketId);
+    } else if (readPreference == ReadPreference.LEAST_LOADED) {
+      return prAdvisor.adviseLeastLoadedServerLocation(bucketId, this::getReadsInProgress);
+    } else {
+      return prAdvisor.adviseServerLocation(bucketId);
+    }
+  }
+
+  /**
+   * @return true if the keys of a getAll must be read from the primaries of their buckets
+   */
+  public boolean isPrimaryRequiredForBulkReads() {
+    return readPreference == null || readPreference == ReadPreference.PRIMARY;
+  }
+
+  /**
+   * Records that a single hop read was sent to the given server. Must be followed by
+   * {@link #readEnded(ServerLocation)} once the read completes.
+   */
+  public void readStarted(ServerLocation server) {
+    if (readPreference == ReadPreference.LEAST_LOADED) {
+      readsInProgress.computeIfAbsent(server, k -> new AtomicInteger()).incrementAndGet();
+    }
+  }
+
+  public void readEnded(ServerLocation server) {
+    if (readPreference == ReadPreference.LEAST_LOADED) {
+      AtomicInteger reads = readsInProgress.get(server);
+      if (reads != null) {
+        reads.decrementAndGet();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getReadsInProgress(ServerLocation server) {
+    // a BucketServerLocation66 equals the ServerLocation with the same host and port
+    AtomicInteger reads = readsInProgress.get(server);
+    return reads == null ? 0 : reads.get();
+  }
+
   public Map<ServerLocation, Set> getServerToFilterMap(final Collection routingKeys,
       final Region region, boolean primaryMembersNeeded) {
     return getServerToFilterMap(routingKeys, region, primaryMembersNeeded, false);
@@ -22,6 +22,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToIntFunction;
 
 import org.apache.logging.log4j.Logger;
 
@@ -117,6 +118,31 @@ public class ClientPartitionAdvisor {
     return null;
   }
 
+  /**
+   * @return the server hosting a copy of the bucket with the lowest load, starting from a random
+   *         copy so that equally loaded servers share the reads
+   */
+  public ServerLocation adviseLeastLoadedServerLocation(int bucketId,
+      ToIntFunction<ServerLocation> serverLoad) {
+    List<BucketServerLocation66> locations = bucketServerLocationsMap.get(bucketId);
+    if (locations == null || locations.isEmpty()) {
+      return null;
+    }
+    int size = locations.size();
+    int start = size == 1 ? 0 : random.nextInt(size);
+    ServerLocation leastLoaded = null;
+    int leastLoad = Integer.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      ServerLocation location = locations.get((start + i) % size);
+      int load = serverLoad.applyAsInt(location);
+      if (leastLoaded == null || load < leastLoad) {
+        leastLoaded = location;
+        leastLoad = load;
+      }
+    }
+    return leastLoaded;
+  }
+
   public ServerLocation adviseRandomServerLocation() {
     ArrayList<Integer> bucketList = new ArrayList<>(bucketServerLocationsMap.keySet());
     int size = bucketList.size();
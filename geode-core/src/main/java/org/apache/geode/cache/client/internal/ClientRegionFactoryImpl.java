@@ -18,12 +18,17 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 import java.util.Objects;
 
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.AttributesFactory;
 import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.CustomExpiry;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.EvictionAction;
 import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.ExpirationAction;
 import org.apache.geode.cache.ExpirationAttributes;
 import org.apache.geode.cache.InterestPolicy;
+import org.apache.geode.cache.InterestResultPolicy;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
 import org.apache.geode.cache.RegionExistsException;
@@ -32,6 +37,7 @@ import org.apache.geode.cache.SubscriptionAttributes;
 import org.apache.geode.cache.client.ClientRegionFactory;
 import org.apache.geode.cache.client.ClientRegionShortcut;
 import org.apache.geode.cache.client.Pool;
+import org.apache.geode.cache.client.PoolManager;
 import org.apache.geode.compression.Compressor;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.internal.cache.InternalRegion;
@@ -46,6 +52,8 @@ import org.apache.geode.internal.cache.UserSpecifiedRegionAttributes;
 public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V> {
   private final AttributesFactory<K, V> attrsFactory;
   private final InternalClientCache cache;
+  private final DataPolicy dataPolicy;
+  private boolean nearCache;
 
   /**
    * Constructs a ClientRegionFactory by creating a DistributedSystem and a Cache. If no
@@ -63,6 +71,7 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
           "The region shortcut " + pra + " has been removed from " + cache.listRegionAttributes());
     }
     attrsFactory = new AttributesFactory<>(ra);
+    dataPolicy = ra.getDataPolicy();
     initAttributeFactoryDefaults();
   }
 
@@ -82,6 +91,7 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
           "The named region attributes \"" + refid + "\" has not been defined.");
     }
     attrsFactory = new AttributesFactory<>(ra);
+    dataPolicy = ra.getDataPolicy();
     initAttributeFactoryDefaults();
   }
 
@@ -226,16 +236,47 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
     return this;
   }
 
+  @Override
+  public ClientRegionFactory<K, V> setNearCache(int maximumEntries, int timeToLive) {
+    if (!dataPolicy.withStorage()) {
+      throw new IllegalStateException(
+          "A near cache must store entries, but the data policy is " + dataPolicy);
+    }
+    attrsFactory.setEvictionAttributes(
+        EvictionAttributes.createLRUEntryAttributes(maximumEntries, EvictionAction.LOCAL_DESTROY));
+    attrsFactory.setStatisticsEnabled(true);
+    attrsFactory.setEntryTimeToLive(
+        new ExpirationAttributes(timeToLive, ExpirationAction.LOCAL_DESTROY));
+    nearCache = true;
+    return this;
+  }
+
   @Override
   public Region<K, V> create(String name) throws RegionExistsException {
-    return getCache().basicCreateRegion(name, createRegionAttributes());
+    return registerNearCacheInterest(getCache().basicCreateRegion(name, createRegionAttributes()));
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public Region<K, V> createSubregion(Region<?, ?> parent, String name)
       throws RegionExistsException {
-    return ((InternalRegion) parent).createSubregion(name, createRegionAttributes());
+    return registerNearCacheInterest(
+        ((InternalRegion) parent).createSubregion(name, createRegionAttributes()));
+  }
+
+  private Region<K, V> registerNearCacheInterest(Region<K, V> region) {
+    if (nearCache) {
+      Pool pool = findPool(region.getAttributes().getPoolName());
+      if (pool != null && pool.getSubscriptionEnabled()) {
+        region.registerInterestForAllKeys(InterestResultPolicy.NONE, false, false);
+      }
+    }
+    return region;
+  }
+
+  @VisibleForTesting
+  Pool findPool(String poolName) {
+    return PoolManager.find(poolName);
   }
 
   private RegionAttributes<K, V> createRegionAttributes() {
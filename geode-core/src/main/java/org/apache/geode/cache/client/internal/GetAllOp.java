@@ -67,7 +67,8 @@ public class GetAllOp {
     AbstractOp op = new GetAllOpImpl(region.getFullPath(), keys, callback);
     ClientMetadataService cms = ((InternalRegion) region).getCache().getClientMetadataService();
 
-    Map<ServerLocation, Set> serverToFilterMap = cms.getServerToFilterMap(keys, region, true);
+    Map<ServerLocation, Set> serverToFilterMap =
+        cms.getServerToFilterMap(keys, region, cms.isPrimaryRequiredForBulkReads());
 
     if (serverToFilterMap == null || serverToFilterMap.isEmpty()) {
       op.initMessagePart();
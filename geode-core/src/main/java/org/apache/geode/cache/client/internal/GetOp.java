@@ -70,6 +70,7 @@ public class GetOp {
       ServerLocation server =
           cms.getBucketServerLocation(region, Operation.GET, key, null, callbackArg);
       if (server != null) {
+        cms.readStarted(server);
         try {
           PoolImpl poolImpl = (PoolImpl) pool;
           boolean onlyUseExistingCnx = (poolImpl.getMaxConnections() != -1
@@ -87,6 +88,8 @@ public class GetOp {
           if (e.getCause() instanceof ServerConnectivityException) {
             cms.removeBucketServerLocation(server);
           }
+        } finally {
+          cms.readEnded(server);
         }
       }
     }
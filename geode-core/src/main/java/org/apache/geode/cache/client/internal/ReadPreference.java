@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+/**
+ * Which copy of a bucket the single hop reads of a client are sent to. Set it with the
+ * {@code gemfire.PoolImpl.READ_PREFERENCE} system property.
+ * <p>
+ * Only the primary of a bucket is guaranteed to have applied every update acknowledged to the
+ * writer. A redundant copy applies the update while the primary distributes it, so a read from a
+ * redundant copy may briefly return the value from before a completed put, and two reads in a row
+ * may see a newer value and then an older one. Use {@link #PRIMARY} for regions that need
+ * read-your-writes consistency.
+ *
+ * @since Geode 1.15
+ */
+public enum ReadPreference {
+  /**
+   * Sends every read to the primary of its bucket.
+   */
+  PRIMARY,
+
+  /**
+   * Sends every read to a random server hosting a copy of its bucket.
+   */
+  ANY,
+
+  /**
+   * Sends every read to the server hosting a copy of its bucket that has the fewest reads from this
+   * client in progress, picking a random one among equally loaded servers.
+   */
+  LEAST_LOADED
+}
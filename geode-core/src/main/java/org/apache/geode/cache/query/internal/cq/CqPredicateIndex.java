@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.LITERAL_and;
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.TOK_EQ;
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.TOK_GE;
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.TOK_GT;
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.TOK_LE;
+import static org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes.TOK_LT;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.internal.CompiledComparison;
+import org.apache.geode.cache.query.internal.CompiledID;
+import org.apache.geode.cache.query.internal.CompiledIteratorDef;
+import org.apache.geode.cache.query.internal.CompiledJunction;
+import org.apache.geode.cache.query.internal.CompiledPath;
+import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.CompiledValue;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.PathUtils;
+import org.apache.geode.pdx.internal.PdxString;
+
+/**
+ * Finds the CQs of a region whose WHERE clause can hold for a value without evaluating each of
+ * them. A CQ is indexed by one comparison of an attribute of its iterator with a literal that must
+ * hold for the whole clause to hold: the clause itself, or an operand of a top level AND. Equality
+ * comparisons are kept in hash tables and range comparisons in maps sorted by their bound, grouped
+ * by attribute path so that each attribute is read once per value. CQs without such a comparison
+ * are always candidates.
+ * <p>
+ * The index only rules CQs out; the candidates are still evaluated in full. Numbers are compared
+ * as doubles and range bounds are treated as inclusive, so rounding can only add candidates. If an
+ * attribute cannot be read or has another type than the literal, the CQs comparing it are
+ * candidates, so their evaluation reports the same result or error as it would without the index.
+ *
+ * @since Geode 1.15
+ */
+public class CqPredicateIndex {
+
+  private final Set<ServerCQ> indexedCqs = newIdentitySet();
+  private final Map<List<String>, PathIndex> pathIndexes = new HashMap<>();
+
+  public CqPredicateIndex(Collection<? extends ServerCQ> cqs) {
+    for (ServerCQ cq : cqs) {
+      Comparison comparison = getIndexableComparison(cq);
+      if (comparison != null) {
+        pathIndexes.computeIfAbsent(comparison.path, PathIndex::new).add(comparison, cq);
+        indexedCqs.add(cq);
+      }
+    }
+  }
+
+  /**
+   * @return true if none of the CQs could be indexed, so that every CQ is a candidate
+   */
+  public boolean isEmpty() {
+    return indexedCqs.isEmpty();
+  }
+
+  public Candidates getCandidates(IndexedValue value) {
+    Set<ServerCQ> matches = newIdentitySet();
+    for (PathIndex pathIndex : pathIndexes.values()) {
+      pathIndex.addCandidates(value.getAttribute(pathIndex.path), matches);
+    }
+    return new Candidates(matches);
+  }
+
+  @VisibleForTesting
+  static Comparison getIndexableComparison(ServerCQ cq) {
+    Query query = cq.getQuery();
+    if (!(query instanceof DefaultQuery)) {
+      return null;
+    }
+    CompiledSelect select = ((DefaultQuery) query).getSimpleSelect();
+    if (select == null || select.getWhereClause() == null || select.getIterators().size() != 1) {
+      return null;
+    }
+    String iteratorName = ((CompiledIteratorDef) select.getIterators().get(0)).getName();
+    return getIndexableComparison(select.getWhereClause(), iteratorName);
+  }
+
+  private static Comparison getIndexableComparison(CompiledValue condition, String iteratorName) {
+    if (condition instanceof CompiledJunction) {
+      CompiledJunction junction = (CompiledJunction) condition;
+      if (junction.getOperator() != LITERAL_and) {
+        return null;
+      }
+      // any operand will do, but an equality usually rules out more CQs than a range
+      Comparison indexable = null;
+      for (Object operand : junction.getChildren()) {
+        Comparison comparison = getIndexableComparison((CompiledValue) operand, iteratorName);
+        if (comparison != null && (indexable == null || comparison.operator == TOK_EQ)) {
+          indexable = comparison;
+        }
+      }
+      return indexable;
+    }
+    if (!(condition instanceof CompiledComparison)
+        || condition.getType() != CompiledValue.COMPARISON) {
+      return null;
+    }
+    CompiledComparison comparison = (CompiledComparison) condition;
+    int operator = comparison.getOperator();
+    List<String> path = getAttributePath(comparison._left, iteratorName);
+    CompiledValue literal = comparison._right;
+    if (path == null) {
+      path = getAttributePath(comparison._right, iteratorName);
+      literal = comparison._left;
+      operator = reverse(operator);
+    }
+    if (path == null || path.isEmpty() || literal.getType() != CompiledValue.LITERAL) {
+      return null;
+    }
+    Object key;
+    try {
+      key = toKey(literal.evaluate(null));
+    } catch (Exception e) {
+      return null;
+    }
+    if (key == null || (operator != TOK_EQ && key instanceof Boolean)) {
+      return null;
+    }
+    switch (operator) {
+      case TOK_EQ:
+      case TOK_LT:
+      case TOK_LE:
+      case TOK_GT:
+      case TOK_GE:
+        return new Comparison(path, operator, key);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return the attributes read from the iterator to evaluate the value, or null if the value is
+   *         not a chain of attributes of the iterator
+   */
+  private static List<String> getAttributePath(CompiledValue value, String iteratorName) {
+    if (value instanceof CompiledID) {
+      String id = ((CompiledID) value).getId();
+      // with a single iterator any other name is an implicit attribute of the iterator
+      return id.equals(iteratorName) ? Collections.emptyList() : Collections.singletonList(id);
+    }
+    if (value instanceof CompiledPath) {
+      CompiledPath compiledPath = (CompiledPath) value;
+      List<String> receiverPath = getAttributePath(compiledPath.getReceiver(), iteratorName);
+      if (receiverPath == null) {
+        return null;
+      }
+      List<String> path = new ArrayList<>(receiverPath);
+      path.add(compiledPath.getTailID());
+      return path;
+    }
+    return null;
+  }
+
+  private static int reverse(int operator) {
+    switch (operator) {
+      case TOK_LT:
+        return TOK_GT;
+      case TOK_LE:
+        return TOK_GE;
+      case TOK_GT:
+        return TOK_LT;
+      case TOK_GE:
+        return TOK_LE;
+      default:
+        return operator;
+    }
+  }
+
+  /**
+   * @return the key under which the value is indexed, or null if values of its type are not
+   *         indexed
+   */
+  private static Object toKey(Object value) {
+    if (value instanceof String || value instanceof Boolean) {
+      return value;
+    }
+    if (value instanceof PdxString) {
+      return value.toString();
+    }
+    if (value instanceof Integer || value instanceof Long || value instanceof Double
+        || value instanceof Float || value instanceof Short || value instanceof Byte) {
+      double number = ((Number) value).doubleValue();
+      // adding zero turns -0.0 into 0.0, which the query engine considers equal
+      return Double.isNaN(number) ? null : number + 0.0;
+    }
+    return null;
+  }
+
+  private static Set<ServerCQ> newIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<>());
+  }
+
+  /**
+   * The CQs whose WHERE clause can hold for a value.
+   */
+  public class Candidates {
+    private final Set<ServerCQ> matches;
+
+    private Candidates(Set<ServerCQ> matches) {
+      this.matches = matches;
+    }
+
+    public boolean contains(ServerCQ cq) {
+      return !indexedCqs.contains(cq) || matches.contains(cq);
+    }
+  }
+
+  /**
+   * A value looked up in one or more indexes, remembering the attributes read from it.
+   */
+  public static class IndexedValue {
+    private final Object value;
+    private final ExecutionContext context;
+    private final Map<List<String>, Object> attributes = new HashMap<>();
+
+    public IndexedValue(Object value, ExecutionContext context) {
+      this.value = value;
+      this.context = context;
+    }
+
+    /**
+     * @return the value of the attribute, or null if it could not be read
+     */
+    Object getAttribute(List<String> path) {
+      if (attributes.containsKey(path)) {
+        return attributes.get(path);
+      }
+      Object attribute = value;
+      try {
+        for (String name : path) {
+          attribute = PathUtils.evaluateAttribute(context, attribute, name);
+        }
+      } catch (Exception e) {
+        attribute = null;
+      }
+      attributes.put(path, attribute);
+      return attribute;
+    }
+  }
+
+  @VisibleForTesting
+  static class Comparison {
+    final List<String> path;
+    final int operator;
+    final Object key;
+
+    Comparison(List<String> path, int operator, Object key) {
+      this.path = path;
+      this.operator = operator;
+      this.key = key;
+    }
+  }
+
+  /**
+   * The comparisons on one attribute path, by the type of their key.
+   */
+  private static class PathIndex {
+    private final List<String> path;
+    private final Map<Class<?>, KeyIndex> keyIndexes = new HashMap<>();
+
+    PathIndex(List<String> path) {
+      this.path = path;
+    }
+
+    void add(Comparison comparison, ServerCQ cq) {
+      keyIndexes.computeIfAbsent(comparison.key.getClass(), k -> new KeyIndex())
+          .add(comparison, cq);
+    }
+
+    void addCandidates(Object attribute, Set<ServerCQ> candidates) {
+      Object key = toKey(attribute);
+      for (Map.Entry<Class<?>, KeyIndex> entry : keyIndexes.entrySet()) {
+        if (key != null && key.getClass() == entry.getKey()) {
+          entry.getValue().addMatches(key, candidates);
+        } else {
+          candidates.addAll(entry.getValue().cqs);
+        }
+      }
+    }
+  }
+
+  /**
+   * The comparisons on one attribute path with keys of the same type.
+   */
+  private static class KeyIndex {
+    private final Set<ServerCQ> cqs = newIdentitySet();
+    private final Map<Object, Set<ServerCQ>> equalTo = new HashMap<>();
+    /** Comparisons holding for attributes at or above their bound */
+    private final NavigableMap<Object, Set<ServerCQ>> lowerBounds = new TreeMap<>();
+    /** Comparisons holding for attributes at or below their bound */
+    private final NavigableMap<Object, Set<ServerCQ>> upperBounds = new TreeMap<>();
+
+    void add(Comparison comparison, ServerCQ cq) {
+      Map<Object, Set<ServerCQ>> comparisons;
+      switch (comparison.operator) {
+        case TOK_EQ:
+          comparisons = equalTo;
+          break;
+        case TOK_GT:
+        case TOK_GE:
+          comparisons = lowerBounds;
+          break;
+        default:
+          comparisons = upperBounds;
+      }
+      comparisons.computeIfAbsent(comparison.key, k -> newIdentitySet()).add(cq);
+      cqs.add(cq);
+    }
+
+    void addMatches(Object key, Set<ServerCQ> candidates) {
+      Set<ServerCQ> equal = equalTo.get(key);
+      if (equal != null) {
+        candidates.addAll(equal);
+      }
+      if (!(key instanceof Boolean)) {
+        for (Set<ServerCQ> matches : lowerBounds.headMap(key, true).values()) {
+          candidates.addAll(matches);
+        }
+        for (Set<ServerCQ> matches : upperBounds.tailMap(key, true).values()) {
+          candidates.addAll(matches);
+        }
+      }
+    }
+  }
+}
@@ -39,6 +39,15 @@ public class CqServiceProvider {
   public static boolean MAINTAIN_KEYS = Boolean
       .parseBoolean(System.getProperty(GeodeGlossary.GEMFIRE_PREFIX + "cq.MAINTAIN_KEYS", "true"));
 
+  /**
+   * System property to keep the maintained CQ result keys in bit sets numbered by a dictionary
+   * shared by the CQs of a region, instead of in a hash table per CQ. This uses much less memory
+   * when many CQs hold large result sets.
+   */
+  @MutableForTesting
+  public static boolean COMPACT_RESULT_KEYS = Boolean.getBoolean(
+      GeodeGlossary.GEMFIRE_PREFIX + "cq.COMPACT_RESULT_KEYS");
+
   /**
    * A debug flag used for testing vMotion during CQ registration
    */
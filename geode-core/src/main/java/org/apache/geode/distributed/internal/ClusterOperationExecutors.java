@@ -33,6 +33,7 @@ import org.apache.geode.InternalGemFireError;
 import org.apache.geode.SystemFailure;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.distributed.internal.membership.gms.messages.ViewAckMessage;
+import org.apache.geode.internal.cache.execute.FunctionConcurrencyLimiter;
 import org.apache.geode.internal.logging.CoreLoggingExecutors;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.monitoring.ThreadsMonitoring;
@@ -70,6 +71,14 @@ public class ClusterOperationExecutors implements OperationExecutors {
   private static final int MAX_PR_THREADS = Integer.getInteger("DistributionManager.MAX_PR_THREADS",
       Math.max(Runtime.getRuntime().availableProcessors() * 32, 200));
 
+  /**
+   * Run function execution messages on virtual threads instead of a pool of MAX_FE_THREADS, if the
+   * runtime supports them. Does not apply when MAX_FE_THREADS is 1, since functions are then
+   * executed serially.
+   */
+  private static final boolean VIRTUAL_FE_THREADS =
+      Boolean.getBoolean("DistributionManager.VIRTUAL_FE_THREADS");
+
   private static final int INCOMING_QUEUE_LIMIT =
       Integer.getInteger("DistributionManager.INCOMING_QUEUE_LIMIT", 80000);
 
@@ -267,7 +276,17 @@ public class ClusterOperationExecutors implements OperationExecutors {
           thread -> stats.incPartitionedRegionThreadStarts(), this::doPartitionRegionThread,
           stats.getPartitionedRegionPoolHelper(), threadMonitor);
     }
-    if (MAX_FE_THREADS > 1) {
+    if (MAX_FE_THREADS > 1 && VIRTUAL_FE_THREADS && VirtualThreadExecutor.isSupported()) {
+      functionExecutionPool = new VirtualThreadExecutor(FUNCTION_EXECUTION_PROCESSOR_THREAD_PREFIX,
+          thread -> stats.incFunctionExecutionThreadStarts(),
+          command -> FunctionConcurrencyLimiter
+              .runLimited(() -> doFunctionExecutionThread(command)),
+          stats.getFunctionExecutionPoolHelper(), stats::incFunctionExecutionThreadPinnings);
+    } else if (MAX_FE_THREADS > 1) {
+      if (VIRTUAL_FE_THREADS) {
+        logger.warn("Functions are executed by a thread pool because this runtime does not "
+            + "support virtual threads.");
+      }
       functionExecutionPool =
           CoreLoggingExecutors.newFunctionThreadPoolWithFeedStatistics(
               MAX_FE_THREADS, INCOMING_QUEUE_LIMIT, stats.getFunctionExecutionQueueHelper(),
@@ -211,6 +211,8 @@ public class DistributionStats implements DMStats {
   private static final int waitingThreadStartsId;
   private static final int partitionedRegionThreadStartsId;
   private static final int functionExecutionThreadStartsId;
+  private static final int functionExecutionThreadPinningsId;
+  private static final int functionExecutionThreadPinnedTimeId;
   private static final int serialPooledThreadStartsId;
   private static final int TOSentMsgId;
 
@@ -699,6 +701,12 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("functionExecutionThreadStarts",
             "Total number of times a thread has been created for the pool handling function execution messages.",
             "starts", false),
+        f.createLongCounter("functionExecutionThreadPinnings",
+            "Total number of times a virtual thread handling function execution messages blocked while pinned to its carrier thread.",
+            "operations", false),
+        f.createLongCounter("functionExecutionThreadPinnedTime",
+            "Total time virtual threads handling function execution messages spent blocked while pinned to their carrier thread.",
+            "nanoseconds", false),
         f.createLongCounter("serialPooledThreadStarts",
             "Total number of times a thread has been created for the serial pool(s).", "starts",
             false),
@@ -903,6 +911,8 @@ public class DistributionStats implements DMStats {
     waitingThreadStartsId = type.nameToId("waitingThreadStarts");
     partitionedRegionThreadStartsId = type.nameToId("partitionedRegionThreadStarts");
     functionExecutionThreadStartsId = type.nameToId("functionExecutionThreadStarts");
+    functionExecutionThreadPinningsId = type.nameToId("functionExecutionThreadPinnings");
+    functionExecutionThreadPinnedTimeId = type.nameToId("functionExecutionThreadPinnedTime");
     serialPooledThreadStartsId = type.nameToId("serialPooledThreadStarts");
     TOSentMsgId = type.nameToId("TOSentMsgs");
     replyHandoffTimeId = type.nameToId("replyHandoffTime");
@@ -2347,6 +2357,11 @@ public class DistributionStats implements DMStats {
     stats.incLong(functionExecutionThreadStartsId, 1);
   }
 
+  public void incFunctionExecutionThreadPinnings(long pinnedNanos) {
+    stats.incLong(functionExecutionThreadPinningsId, 1);
+    stats.incLong(functionExecutionThreadPinnedTimeId, pinnedNanos);
+  }
+
   public void incSerialPooledThreadStarts() {
     stats.incLong(serialPooledThreadStartsId, 1);
   }
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.logging.internal.executors.LoggingThreadFactory.CommandWrapper;
+import org.apache.geode.logging.internal.executors.LoggingThreadFactory.ThreadInitializer;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * An executor that runs each task on a new virtual thread, so tasks that block on I/O do not hold
+ * on to a platform thread while they wait. Virtual threads need a Java 21 runtime, and Geode is
+ * built for Java 8, so they are created through reflection; see {@link #isSupported()}.
+ * <p>
+ * A virtual thread that blocks inside a synchronized block or native code pins its carrier thread
+ * for as long as it is blocked. If JFR is available, the pinned waits of this executor's threads
+ * that JFR reports (those over 20 ms by default) are passed to the given pinning recorder.
+ * <p>
+ * There is no queue and no limit on the number of threads. Work that needs ordering must keep
+ * using a serial executor.
+ *
+ * @since Geode 1.15
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  @Immutable
+  private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+  @Immutable
+  private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+  /**
+   * Thread.ofVirtual exists on Java 19 and 20 but fails unless preview features are enabled, so
+   * support is established by actually creating a virtual thread.
+   */
+  private static final boolean SUPPORTED =
+      canCreateVirtualThreads(() -> createVirtualThreadFactory("VirtualThreadProbe"));
+
+  private final String threadName;
+  private final ThreadFactory threadFactory;
+  private final ThreadInitializer threadInitializer;
+  private final CommandWrapper commandWrapper;
+  private final PoolStatHelper poolStatHelper;
+  private final AutoCloseable pinningMonitor;
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+  private volatile boolean shutdown;
+
+  /**
+   * @param threadName the prefix of the names of the threads
+   * @param threadInitializer if not null, is called with each thread before it is started
+   * @param commandWrapper if not null, runs each task instead of the thread running it directly
+   * @param poolStatHelper if not null, is told when each task starts and ends
+   * @param pinningRecorder if not null, is given the nanoseconds of each pinned wait
+   * @throws IllegalStateException if virtual threads are not supported by the runtime
+   */
+  public VirtualThreadExecutor(String threadName, ThreadInitializer threadInitializer,
+      CommandWrapper commandWrapper, PoolStatHelper poolStatHelper,
+      LongConsumer pinningRecorder) {
+    this.threadName = threadName;
+    threadFactory = newVirtualThreadFactory(threadName);
+    this.threadInitializer = threadInitializer;
+    this.commandWrapper = commandWrapper;
+    this.poolStatHelper = poolStatHelper;
+    pinningMonitor = pinningRecorder == null ? null : startPinningMonitor(pinningRecorder);
+  }
+
+  /**
+   * @return true if the runtime can create virtual threads
+   */
+  public static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  @VisibleForTesting
+  static boolean canCreateVirtualThreads(Callable<ThreadFactory> factoryCreator) {
+    try {
+      return factoryCreator.call().newThread(() -> {
+      }) != null;
+    } catch (Exception | LinkageError e) {
+      logger.debug("Virtual threads are not supported by this runtime", e);
+      return false;
+    }
+  }
+
+  /**
+   * @return true if the given thread is a virtual thread
+   */
+  public static boolean isVirtual(Thread thread) {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(thread);
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("executor has been shutdown");
+    }
+    Thread thread = threadFactory.newThread(() -> run(command));
+    if (threadInitializer != null) {
+      threadInitializer.initialize(thread);
+    }
+    threads.add(thread);
+    thread.start();
+  }
+
+  private void run(Runnable command) {
+    if (poolStatHelper != null) {
+      poolStatHelper.startJob();
+    }
+    try {
+      if (commandWrapper != null) {
+        commandWrapper.invoke(command);
+      } else {
+        command.run();
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Task failed with exception", e);
+    } finally {
+      if (poolStatHelper != null) {
+        poolStatHelper.endJob();
+      }
+      synchronized (threads) {
+        threads.remove(Thread.currentThread());
+        threads.notifyAll();
+      }
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    if (pinningMonitor != null) {
+      try {
+        pinningMonitor.close();
+      } catch (Exception e) {
+        logger.debug("Failed to stop monitoring virtual thread pinning", e);
+      }
+    }
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    for (Thread thread : threads) {
+      thread.interrupt();
+    }
+    return new ArrayList<>();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && threads.isEmpty();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (threads) {
+      while (!isTerminated()) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(threads, remaining);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of tasks being run
+   */
+  public int getActiveCount() {
+    return threads.size();
+  }
+
+  private static ThreadFactory newVirtualThreadFactory(String threadName) {
+    if (!isSupported()) {
+      throw new IllegalStateException("Virtual threads need Java 21 or later");
+    }
+    return createVirtualThreadFactory(threadName);
+  }
+
+  private static ThreadFactory createVirtualThreadFactory(String threadName) {
+    if (OF_VIRTUAL == null) {
+      throw new IllegalStateException("Virtual threads need Java 21 or later");
+    }
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, threadName, 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to create virtual threads", e);
+    }
+  }
+
+  /**
+   * Streams the JFR pinning events of this executor's threads to the recorder.
+   *
+   * @return the event stream, or null if JFR is not available
+   */
+  private AutoCloseable startPinningMonitor(LongConsumer pinningRecorder) {
+    try {
+      Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+      Class<?> eventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+      Method getDuration = eventClass.getMethod("getDuration");
+      Method getThread = eventClass.getMethod("getThread", String.class);
+      Method getJavaName = Class.forName("jdk.jfr.consumer.RecordedThread")
+          .getMethod("getJavaName");
+
+      Consumer<Object> onPinned = event -> {
+        try {
+          Object thread = getThread.invoke(event, "eventThread");
+          String name = thread == null ? null : (String) getJavaName.invoke(thread);
+          if (name != null && name.startsWith(threadName)) {
+            pinningRecorder.accept(((Duration) getDuration.invoke(event)).toNanos());
+          }
+        } catch (ReflectiveOperationException e) {
+          logger.debug("Unable to read virtual thread pinning event", e);
+        }
+      };
+
+      AutoCloseable stream = (AutoCloseable) streamClass.getConstructor().newInstance();
+      streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+      streamClass.getMethod("onEvent", String.class, Consumer.class)
+          .invoke(stream, PINNED_EVENT, onPinned);
+      streamClass.getMethod("startAsync").invoke(stream);
+      return stream;
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      logger.info("Virtual thread pinning of {} is not monitored because JFR is not available",
+          threadName);
+      return null;
+    }
+  }
+
+  private static MethodHandle findIsVirtual() {
+    try {
+      return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+          MethodType.methodType(boolean.class));
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static Method findMethod(Class<?> type, String name) {
+    try {
+      return type.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
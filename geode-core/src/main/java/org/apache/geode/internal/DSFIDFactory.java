@@ -329,6 +329,7 @@ import org.apache.geode.internal.cache.partitioned.ManageBucketMessage;
 import org.apache.geode.internal.cache.partitioned.ManageBucketMessage.ManageBucketReplyMessage;
 import org.apache.geode.internal.cache.partitioned.MoveBucketMessage;
 import org.apache.geode.internal.cache.partitioned.MoveBucketMessage.MoveBucketReplyMessage;
+import org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe;
 import org.apache.geode.internal.cache.partitioned.PRSanityCheckMessage;
 import org.apache.geode.internal.cache.partitioned.PRTombstoneMessage;
 import org.apache.geode.internal.cache.partitioned.PRUpdateEntryVersionMessage;
@@ -984,6 +985,7 @@ public class DSFIDFactory implements DataSerializableFixedID {
         GatewaySenderQueueEntrySynchronizationOperation.GatewaySenderQueueEntrySynchronizationEntry.class);
     serializer.register(ABORT_BACKUP_REQUEST, AbortBackupRequest.class);
     serializer.register(HOST_AND_PORT, HostAndPort.class);
+    serializer.register(OPERATION_RATE_LOAD_PROBE, OperationRateLoadProbe.class);
     serializer.register(DISTRIBUTED_PING_MESSAGE, DistributedPingMessage.class);
   }
 
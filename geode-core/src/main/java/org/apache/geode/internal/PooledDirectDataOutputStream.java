@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.geode.internal.net.BufferPool;
+import org.apache.geode.internal.serialization.KnownVersion;
+
+/**
+ * A HeapDataOutputStream whose chunks, once it grows past its initial heap buffer, are direct
+ * buffers acquired from a {@link BufferPool}. Small values never touch the pool, while large values
+ * are serialized straight into memory that can be handed to a {@link SocketChannel} without being
+ * copied.
+ * <p>
+ * The pooled chunks are returned to the pool when this stream is closed, so it must be closed once
+ * its contents have been sent and must not be used afterwards.
+ * <p>
+ * This class is not thread safe
+ *
+ * @since Geode 1.15
+ */
+public class PooledDirectDataOutputStream extends HeapDataOutputStream {
+
+  private final BufferPool bufferPool;
+  private final int pooledChunkSize;
+  private final List<ByteBuffer> pooledChunks = new ArrayList<>();
+
+  /**
+   * @param allocSize the size of the initial heap buffer
+   * @param pooledChunkSize the minimum size of the chunks acquired from the pool
+   * @param doNotCopy if true then byte arrays/buffers/sources will not be copied to this stream but
+   *        instead referenced.
+   */
+  public PooledDirectDataOutputStream(BufferPool bufferPool, int allocSize, int pooledChunkSize,
+      KnownVersion version, boolean doNotCopy) {
+    super(allocSize, version, doNotCopy);
+    this.bufferPool = bufferPool;
+    this.pooledChunkSize = pooledChunkSize;
+  }
+
+  @Override
+  protected ByteBuffer allocateChunk(int capacity) {
+    ByteBuffer chunk = bufferPool.acquireDirectSenderBuffer(Math.max(capacity, pooledChunkSize));
+    pooledChunks.add(chunk);
+    return chunk;
+  }
+
+  /**
+   * Sends the bytes pending in <code>out</code> followed by the contents of this stream with
+   * gathering writes. Unlike {@link HeapDataOutputStream#sendTo(SocketChannel, ByteBuffer)} the
+   * contents are never copied into <code>out</code> and <code>out</code> does not need to be
+   * flushed first.
+   */
+  @Override
+  public void sendTo(SocketChannel chan, ByteBuffer out) throws IOException {
+    finishWriting();
+    out.flip();
+    ByteBuffer[] bufs = new ByteBuffer[getByteBufferCount() + 1];
+    bufs[0] = out;
+    fillByteBufferArray(bufs, 1);
+    long remaining = out.remaining() + (long) size();
+    while (remaining > 0) {
+      remaining -= chan.write(bufs);
+    }
+    size = 0;
+    out.clear();
+  }
+
+  /**
+   * @return the number of chunks currently acquired from the pool
+   */
+  int getPooledChunkCount() {
+    return pooledChunks.size();
+  }
+
+  /**
+   * Returns all the chunks acquired by this stream to the pool.
+   */
+  @Override
+  public void close() {
+    super.close();
+    if (!pooledChunks.isEmpty()) {
+      buffer = ByteBuffer.allocate(0);
+      for (ByteBuffer chunk : pooledChunks) {
+        bufferPool.releaseSenderBuffer(chunk);
+      }
+      pooledChunks.clear();
+    }
+  }
+}
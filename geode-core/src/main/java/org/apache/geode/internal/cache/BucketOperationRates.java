@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Counts the reads and writes applied to a bucket and turns them into rates when sampled. Writes
+ * are counted on every copy of the bucket, reads only where they are served, which is usually the
+ * primary.
+ *
+ * @since Geode 1.15
+ */
+public class BucketOperationRates {
+
+  /**
+   * Samples taken closer together than this keep the rates of the previous sample, so that the
+   * probes of a simulated rebalance followed by the real one see the same load.
+   */
+  static final long MIN_SAMPLE_INTERVAL_MILLIS = Long.getLong(
+      GeodeGlossary.GEMFIRE_PREFIX + "BucketOperationRates.MIN_SAMPLE_INTERVAL_MILLIS", 1000);
+
+  private final LongAdder reads = new LongAdder();
+  private final LongAdder writes = new LongAdder();
+  private final LongSupplier nanoClock;
+
+  private boolean sampled;
+  private long sampleTime;
+  private long sampledReads;
+  private long sampledWrites;
+  private float readRate;
+  private float writeRate;
+
+  BucketOperationRates() {
+    this(System::nanoTime);
+  }
+
+  @VisibleForTesting
+  BucketOperationRates(LongSupplier nanoClock) {
+    this.nanoClock = nanoClock;
+    sampleTime = nanoClock.getAsLong();
+  }
+
+  public void recordRead() {
+    reads.increment();
+  }
+
+  public void recordWrite() {
+    writes.increment();
+  }
+
+  /**
+   * Updates the rates with the operations done since the previous sample, or since the bucket was
+   * created for the first one.
+   */
+  public synchronized void sample() {
+    long now = nanoClock.getAsLong();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - sampleTime);
+    if (sampled && elapsedMillis < MIN_SAMPLE_INTERVAL_MILLIS) {
+      return;
+    }
+    sampled = true;
+    float seconds = Math.max(elapsedMillis, 1) / 1000f;
+    long currentReads = reads.sum();
+    long currentWrites = writes.sum();
+    readRate = (currentReads - sampledReads) / seconds;
+    writeRate = (currentWrites - sampledWrites) / seconds;
+    sampledReads = currentReads;
+    sampledWrites = currentWrites;
+    sampleTime = now;
+  }
+
+  /**
+   * @return the reads per second as of the last {@link #sample()}
+   */
+  public synchronized float getReadRate() {
+    return readRate;
+  }
+
+  /**
+   * @return the writes per second as of the last {@link #sample()}
+   */
+  public synchronized float getWriteRate() {
+    return writeRate;
+  }
+}
@@ -144,6 +144,11 @@ public class BucketRegion extends DistributedRegion implements Bucket {
    */
   private final AtomicLongWithTerminalState bytesInMemory = new AtomicLongWithTerminalState();
 
+  /**
+   * Rates of the operations applied to this bucket, used by load probes to weigh hot buckets.
+   */
+  private final BucketOperationRates operationRates = new BucketOperationRates();
+
   public static class RawValue {
     private final Object rawValue;
 
@@ -536,6 +541,10 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     boolean isLocked = lockKeysAndPrimary(event);
 
     try {
+      operationRates.recordWrite();
+      if (HeavyHitterSketch.shouldSample()) {
+        recordHotKey(event.getKey());
+      }
       if (partitionedRegion.isParallelWanEnabled()) {
         handleWANEvent(event);
       }
@@ -942,6 +951,7 @@ public class BucketRegion extends DistributedRegion implements Bucket {
 
     boolean locked = lockKeysAndPrimary(event);
     try {
+      operationRates.recordWrite();
       // which performs the local op.
       // The ARM then calls basicInvalidatePart2 with the entry synchronized.
       if (!hasSeenEvent(event)) {
@@ -1202,6 +1212,7 @@ public class BucketRegion extends DistributedRegion implements Bucket {
 
     boolean locked = lockKeysAndPrimary(event);
     try {
+      operationRates.recordWrite();
       // increment the tailKey for the destroy event
       if (partitionedRegion.isParallelWanEnabled()) {
         handleWANEvent(event);
@@ -1551,6 +1562,9 @@ public class BucketRegion extends DistributedRegion implements Bucket {
       boolean returnTombstones) throws IOException {
     checkReadiness();
     checkForNoAccess();
+    if (HeavyHitterSketch.shouldSample()) {
+      recordHotKey(keyInfo.getKey());
+    }
     CachePerfStats stats = getCachePerfStats();
     long start = stats.startGet();
 
@@ -2218,6 +2232,15 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     return result;
   }
 
+  @Override
+  void recordHotKey(Object key) {
+    partitionedRegion.recordBucketHotKey(getId(), key);
+  }
+
+  public BucketOperationRates getOperationRates() {
+    return operationRates;
+  }
+
   public long getBytesInMemory() {
     long result = bytesInMemory.get();
     if (result == BUCKET_DESTROYED) {
@@ -53,6 +53,7 @@ public class CachePerfStats {
   static final int getInitialImagesInProgressId;
   static final int getInitialImagesCompletedId;
   static final int deltaGetInitialImagesCompletedId;
+  static final int parallelGetInitialImagesCompletedId;
   static final int getInitialImageTimeId;
   static final int getInitialImageKeysReceivedId;
   static final int regionsId;
@@ -131,6 +132,7 @@ public class CachePerfStats {
   static final int tombstoneGCCountId;
   private static final int tombstoneOverhead1Id;
   private static final int tombstoneOverhead2Id;
+  static final int expiredTombstonesId;
   static final int clearTimeoutsId;
 
   static final int deltaUpdatesId;
@@ -168,6 +170,10 @@ public class CachePerfStats {
   static final int handlingNetsearchesFailedTimeId;
   @VisibleForTesting
   protected static final int previouslySeenEventsId;
+  @VisibleForTesting
+  static final int serverInvalidatesId;
+  @VisibleForTesting
+  static final int serverInvalidateLagId;
 
   static {
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
@@ -203,6 +209,8 @@ public class CachePerfStats {
         "Total number of times getInitialImages (both delta and full GII) initiated by this cache have completed.";
     final String deltaGetInitialImagesCompletedDesc =
         "Total number of times delta getInitialImages initiated by this cache have completed.";
+    final String parallelGetInitialImagesCompletedDesc =
+        "Total number of times getInitialImages initiated by this cache have completed by getting segments of the image from several members in parallel.";
     final String getInitialImageTimeDesc =
         "Total time spent doing getInitialImages for region creation.";
     final String getInitialImageKeysReceivedDesc =
@@ -301,6 +309,8 @@ public class CachePerfStats {
         "Amount of memory consumed by destroyed entries in replicated or partitioned regions";
     final String tombstoneOverhead2Desc =
         "Amount of memory consumed by destroyed entries in non-replicated regions";
+    final String expiredTombstonesDesc =
+        "Number of expired destroyed entries in replicated or partitioned regions that are waiting to be garbage-collected";
     final String clearTimeoutsDesc =
         "Number of timeouts waiting for events concurrent to a clear() operation to be received and applied before performing the clear()";
     final String deltaUpdatesDesc =
@@ -358,6 +368,10 @@ public class CachePerfStats {
         "Total time spent handling failed network searches for remote caches.";
     final String previouslySeenEventsDesc =
         "The number of previously seen events ignored by the event tracker.";
+    final String serverInvalidatesDesc =
+        "The total number of invalidations pushed by servers that have been applied to this client cache.";
+    final String serverInvalidateLagDesc =
+        "Total time between an entry being modified on a server and the invalidation pushed by the server being applied to this client cache, as measured by the cache time.";
 
     type = f.createType("CachePerfStats", "Statistics about GemFire cache performance",
         new StatisticDescriptor[] {
@@ -400,6 +414,9 @@ public class CachePerfStats {
             f.createLongCounter("deltaGetInitialImagesCompleted",
                 deltaGetInitialImagesCompletedDesc,
                 "operations"),
+            f.createLongCounter("parallelGetInitialImagesCompleted",
+                parallelGetInitialImagesCompletedDesc,
+                "operations"),
             f.createLongCounter("getInitialImageTime", getInitialImageTimeDesc, "nanoseconds"),
             f.createLongCounter("getInitialImageKeysReceived", getInitialImageKeysReceivedDesc,
                 "keys"),
@@ -479,6 +496,7 @@ public class CachePerfStats {
             f.createLongCounter("tombstoneGCs", tombstoneGCCountDesc, "operations"),
             f.createLongGauge("replicatedTombstonesSize", tombstoneOverhead1Desc, "bytes"),
             f.createLongGauge("nonReplicatedTombstonesSize", tombstoneOverhead2Desc, "bytes"),
+            f.createLongGauge("expiredTombstones", expiredTombstonesDesc, "entries"),
             f.createLongCounter("clearTimeouts", clearTimeoutsDesc, "timeouts"),
             f.createLongGauge("evictorJobsStarted", "Number of evictor jobs started", "jobs"),
             f.createLongGauge("evictorJobsCompleted", "Number of evictor jobs completed", "jobs"),
@@ -531,7 +549,9 @@ public class CachePerfStats {
                 "operations"),
             f.createLongCounter("handlingNetsearchesFailedTime", handlingNetsearchesFailedTimeDesc,
                 "nanoseconds"),
-            f.createLongCounter("previouslySeenEvents", previouslySeenEventsDesc, "events")
+            f.createLongCounter("previouslySeenEvents", previouslySeenEventsDesc, "events"),
+            f.createLongCounter("serverInvalidates", serverInvalidatesDesc, "operations"),
+            f.createLongCounter("serverInvalidateLag", serverInvalidateLagDesc, "milliseconds")
         });
 
     loadsInProgressId = type.nameToId("loadsInProgress");
@@ -558,6 +578,7 @@ public class CachePerfStats {
     getInitialImagesInProgressId = type.nameToId("getInitialImagesInProgress");
     getInitialImagesCompletedId = type.nameToId("getInitialImagesCompleted");
     deltaGetInitialImagesCompletedId = type.nameToId("deltaGetInitialImagesCompleted");
+    parallelGetInitialImagesCompletedId = type.nameToId("parallelGetInitialImagesCompleted");
     getInitialImageTimeId = type.nameToId("getInitialImageTime");
     getInitialImageKeysReceivedId = type.nameToId("getInitialImageKeysReceived");
     regionsId = type.nameToId("regions");
@@ -629,6 +650,7 @@ public class CachePerfStats {
     tombstoneGCCountId = type.nameToId("tombstoneGCs");
     tombstoneOverhead1Id = type.nameToId("replicatedTombstonesSize");
     tombstoneOverhead2Id = type.nameToId("nonReplicatedTombstonesSize");
+    expiredTombstonesId = type.nameToId("expiredTombstones");
     clearTimeoutsId = type.nameToId("clearTimeouts");
 
     deltaUpdatesId = type.nameToId("deltaUpdates");
@@ -661,6 +683,8 @@ public class CachePerfStats {
     handlingNetsearchesFailedTimeId = type.nameToId("handlingNetsearchesFailedTime");
 
     previouslySeenEventsId = type.nameToId("previouslySeenEvents");
+    serverInvalidatesId = type.nameToId("serverInvalidates");
+    serverInvalidateLagId = type.nameToId("serverInvalidateLag");
   }
 
   /** The Statistics object that we delegate most behavior to */
@@ -722,6 +746,10 @@ public class CachePerfStats {
     return stats.getLong(deltaGetInitialImagesCompletedId);
   }
 
+  long getParallelGetInitialImagesCompleted() {
+    return stats.getLong(parallelGetInitialImagesCompletedId);
+  }
+
   public long getGetInitialImageKeysReceived() {
     return stats.getLong(getInitialImageKeysReceivedId);
   }
@@ -1054,6 +1082,10 @@ public class CachePerfStats {
     stats.incLong(deltaGetInitialImagesCompletedId, 1);
   }
 
+  void incParallelGIICompleted() {
+    stats.incLong(parallelGetInitialImagesCompletedId, 1);
+  }
+
   public void incGetInitialImageKeysReceived() {
     stats.incLong(getInitialImageKeysReceivedId, 1);
   }
@@ -1444,6 +1476,14 @@ public class CachePerfStats {
     stats.setLong(tombstoneOverhead2Id, size);
   }
 
+  public long getExpiredTombstones() {
+    return stats.getLong(expiredTombstonesId);
+  }
+
+  public void incExpiredTombstones(long amount) {
+    stats.incLong(expiredTombstonesId, amount);
+  }
+
   public long getClearTimeouts() {
     return stats.getLong(clearTimeoutsId);
   }
@@ -1540,4 +1580,21 @@ public class CachePerfStats {
   public void incPreviouslySeenEvents() {
     stats.incLong(previouslySeenEventsId, 1l);
   }
+
+  public long getServerInvalidates() {
+    return stats.getLong(serverInvalidatesId);
+  }
+
+  public long getServerInvalidateLag() {
+    return stats.getLong(serverInvalidateLagId);
+  }
+
+  /**
+   * @param lag the milliseconds between the modification on the server and applying the
+   *        invalidation
+   */
+  public void endServerInvalidate(long lag) {
+    stats.incLong(serverInvalidatesId, 1L);
+    stats.incLong(serverInvalidateLagId, Math.max(0L, lag));
+  }
 }
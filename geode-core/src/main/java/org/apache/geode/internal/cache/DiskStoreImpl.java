@@ -40,6 +40,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -761,6 +762,58 @@ public class DiskStoreImpl implements DiskStore {
     }
   }
 
+  /**
+   * The disk store whose synchronous writes the calling thread defers until it calls
+   * {@link #endDeferredSyncWrites()}, with the oplogs written since.
+   */
+  private static final ThreadLocal<DeferredSyncWrites> deferredSyncWrites = new ThreadLocal<>();
+
+  /**
+   * Makes the synchronous writes of the calling thread to this disk store only append their
+   * records to the oplog write buffers instead of flushing and syncing the oplog for each record.
+   * Used when applying a chunk of an initial image, whose data is not trusted until the image is
+   * complete anyway. Writes to other disk stores are not deferred.
+   */
+  void beginDeferredSyncWrites() {
+    deferredSyncWrites.set(new DeferredSyncWrites(this));
+  }
+
+  /**
+   * Flushes and syncs the records buffered since {@link #beginDeferredSyncWrites()} with a single
+   * write per oplog file, including the oplogs that were switched out in the meantime.
+   */
+  void endDeferredSyncWrites() {
+    DeferredSyncWrites deferred = deferredSyncWrites.get();
+    deferredSyncWrites.remove();
+    if (deferred != null && deferred.diskStore == this) {
+      for (Oplog oplog : deferred.oplogs) {
+        oplog.flushAll();
+      }
+    }
+  }
+
+  /**
+   * @return true if the calling thread defers its synchronous writes to this disk store, in which
+   *         case the oplog is flushed and synced by {@link #endDeferredSyncWrites()}
+   */
+  boolean deferSyncWrite(Oplog oplog) {
+    DeferredSyncWrites deferred = deferredSyncWrites.get();
+    if (deferred == null || deferred.diskStore != this) {
+      return false;
+    }
+    deferred.oplogs.add(oplog);
+    return true;
+  }
+
+  private static class DeferredSyncWrites {
+    private final DiskStoreImpl diskStore;
+    private final Set<Oplog> oplogs = new LinkedHashSet<>();
+
+    private DeferredSyncWrites(DiskStoreImpl diskStore) {
+      this.diskStore = diskStore;
+    }
+  }
+
   public void putVersionTagOnly(InternalRegion region, VersionTag tag, boolean async) {
     DiskRegion dr = region.getDiskRegion();
     // this method will only be called by backup oplog
@@ -234,6 +234,9 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void incInvalidates() {}
 
+  @Override
+  public void endServerInvalidate(long lag) {}
+
   @Override
   public long startGet() {
     return 0L;
@@ -42,4 +42,22 @@ public interface EntryEventFactory {
 
   EntryEventImpl createRemoveAllEvent(DistributedRemoveAllOperation op,
       InternalRegion region, Object entryKey);
+
+  /**
+   * Creates an event for an operation that hands it back to {@link #recycle(EntryEventImpl)} once
+   * it has released it.
+   */
+  default EntryEventImpl createRecyclable(InternalRegion region, Operation op, Object key,
+      Object newValue, Object callbackArgument,
+      boolean originRemote, DistributedMember distributedMember) {
+    return create(region, op, key, newValue, callbackArgument, originRemote, distributedMember);
+  }
+
+  /**
+   * Called with an event created by {@link #createRecyclable} that has been released and will not
+   * be used by the caller again.
+   */
+  default void recycle(EntryEventImpl event) {
+    // events are not recycled by default
+  }
 }
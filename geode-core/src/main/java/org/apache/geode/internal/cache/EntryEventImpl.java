@@ -271,6 +271,13 @@ public class EntryEventImpl implements InternalEntryEvent, InternalCacheEvent,
     } else {
       offHeapLock = null;
     }
+    initialize(op, key, newVal, callbackArgument, originRemote, distributedMember,
+        generateCallbacks);
+  }
+
+  private void initialize(Operation op, Object key,
+      @Retained(ENTRY_EVENT_NEW_VALUE) Object newVal, Object callbackArgument, boolean originRemote,
+      DistributedMember distributedMember, boolean generateCallbacks) {
     this.op = op;
     keyInfo = region.getKeyInfo(key, newVal, callbackArgument);
 
@@ -291,6 +298,69 @@ public class EntryEventImpl implements InternalEntryEvent, InternalCacheEvent,
     this.distributedMember = distributedMember;
   }
 
+  /**
+   * Returns true if this event can be handed out again by {@link RecyclingEntryEventFactory} once
+   * the operation that created it is done with it. Only plain heap events that did not take part in
+   * a transaction or a bulk operation qualify, since those are the only ones nothing else keeps a
+   * reference to.
+   */
+  boolean isRecyclable() {
+    return getClass() == EntryEventImpl.class && offHeapLock == null && txId == null
+        && putAllOp == null && removeAllOp == null;
+  }
+
+  /**
+   * Resets every field of a {@link #isRecyclable() recyclable} event, so that an idle event does
+   * not keep its region, key or values reachable.
+   */
+  void resetForRecycling() {
+    region = null;
+    re = null;
+    keyInfo = null;
+    eventID = null;
+    newValue = null;
+    cachedSerializedNewValue = null;
+    oldValue = null;
+    eventFlags = 0x0000;
+    txId = null;
+    this.op = null;
+    eventType = null;
+    putAllOp = null;
+    removeAllOp = null;
+    this.distributedMember = null;
+    causedByMessage = null;
+    context = null;
+    deltaBytes = null;
+    filterInfo = null;
+    newValueBytes = null;
+    oldValueBytes = null;
+    versionTag = null;
+    isEvicted = false;
+    isPendingSecondaryExpireDestroy = false;
+    hasRetried = false;
+    readOldValueFromDisk = false;
+    newValueBucketSize = 0;
+    tailKey = -1L;
+    nextRegionVersion = -1L;
+    invokeCallbacksThread = null;
+    offHeapOk = true;
+  }
+
+  /**
+   * Initializes an event that was {@link #resetForRecycling() reset} as if it had just been
+   * created by
+   * {@link #create(InternalRegion, Operation, Object, Object, Object, boolean, DistributedMember)}.
+   * The region's distributed system must not have an off-heap store.
+   */
+  @Retained
+  EntryEventImpl reinitialize(InternalRegion region, Operation op, Object key,
+      @Retained(ENTRY_EVENT_NEW_VALUE) Object newVal, Object callbackArgument, boolean originRemote,
+      DistributedMember distributedMember) {
+    this.region = region;
+    initialize(op, key, newVal, callbackArgument, originRemote, distributedMember, true);
+    return this;
+  }
+
   /**
    * Called by BridgeEntryEventImpl to use existing EventID
    */
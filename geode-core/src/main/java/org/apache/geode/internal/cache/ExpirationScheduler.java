@@ -18,6 +18,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.SystemTimer;
@@ -27,6 +28,9 @@ import org.apache.geode.util.internal.GeodeGlossary;
 /**
  * ExpirationScheduler uses a single instance of java.util.Timer (and therefore a single thread) per
  * VM to schedule and execute region and entry expiration tasks.
+ * <p>
+ * If {@link #USE_TIMING_WHEEL_PROPERTY} is set, entry expiration tasks are scheduled on an
+ * {@link ExpirationWheel} instead, which schedules and cancels them in constant time.
  */
 
 public class ExpirationScheduler {
@@ -37,13 +41,48 @@ public class ExpirationScheduler {
   private static final int MAX_PENDING_CANCELS = Integer
       .getInteger(GeodeGlossary.GEMFIRE_PREFIX + "MAX_PENDING_CANCELS", 10000);
 
+  public static final String USE_TIMING_WHEEL_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "ExpirationScheduler.USE_TIMING_WHEEL";
+
+  public static final String WHEEL_TICK_MILLIS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "ExpirationScheduler.WHEEL_TICK_MILLIS";
+
+  private static final int DEFAULT_WHEEL_TICK_MILLIS = 10;
+
+  private final ExpirationWheel wheel;
+  private final ExpirationWheelStats wheelStats;
+
   public ExpirationScheduler(InternalDistributedSystem ds) {
     timer = new SystemTimer(ds);
+    if (Boolean.getBoolean(USE_TIMING_WHEEL_PROPERTY)) {
+      wheelStats = new ExpirationWheelStats(ds.getStatisticsManager());
+      wheel = new ExpirationWheel(
+          Integer.getInteger(WHEEL_TICK_MILLIS_PROPERTY, DEFAULT_WHEEL_TICK_MILLIS), wheelStats);
+      wheelStats.initialize(wheel::size);
+      wheel.start();
+    } else {
+      wheelStats = null;
+      wheel = null;
+    }
+  }
+
+  @VisibleForTesting
+  ExpirationScheduler(SystemTimer timer, ExpirationWheel wheel) {
+    this.timer = timer;
+    this.wheel = wheel;
+    wheelStats = null;
   }
 
   public void forcePurge() {
     pendingCancels.getAndSet(0);
+    purge();
+  }
+
+  private void purge() {
     timer.timerPurge();
+    if (wheel != null) {
+      wheel.purge();
+    }
   }
 
   /**
@@ -54,7 +93,7 @@ public class ExpirationScheduler {
     if (pc > MAX_PENDING_CANCELS) {
       pc = pendingCancels.getAndSet(0);
       if (pc > MAX_PENDING_CANCELS) {
-        timer.timerPurge();
+        purge();
         // int purgedCancels = CFactory.timerPurge(this.timer);
         // we could try to do some fancy stuff here but the value
         // of the atomic is just a hint so don't bother adjusting it
@@ -91,11 +130,34 @@ public class ExpirationScheduler {
 
   /** schedules the given entry expiration task and returns true; returns false if not scheduled */
   public boolean addEntryExpiryTask(EntryExpiryTask task) {
-    return addExpiryTask(task) != null;
+    if (wheel == null) {
+      return addExpiryTask(task) != null;
+    }
+    try {
+      if (logger.isTraceEnabled()) {
+        logger.trace("Scheduling  {}  on the expiration wheel to fire in  {}  ms",
+            new Object[] {task, task.getExpiryMillis()});
+      }
+      wheel.schedule(task, task.getExpiryMillis());
+    } catch (EntryNotFoundException e) {
+      // ignore - there are unsynchronized paths that allow an entry to
+      // be destroyed out from under us.
+      return false;
+    } catch (IllegalStateException e) {
+      // task must have been cancelled by another thread so don't schedule it
+      return false;
+    }
+    return true;
   }
 
   /** @see java.util.Timer#cancel() */
   public void cancel() {
     timer.cancel();
+    if (wheel != null) {
+      wheel.stop();
+    }
+    if (wheelStats != null) {
+      wheelStats.close();
+    }
   }
 }
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.logging.internal.executors.LoggingThread;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * A hashed hierarchical timing wheel that schedules {@link ExpiryTask}s in constant time. Unlike
+ * {@link java.util.Timer} there is no heap to keep ordered and no lock shared by the threads that
+ * schedule tasks: a new task is queued and placed on the wheel by the ticker thread, and a
+ * cancelled task is only marked and then dropped when its slot comes due. {@link #purge()} merely
+ * drops cancelled tasks sooner to free their memory.
+ * <p>
+ * The wheel has {@link #LEVELS} levels of {@link #WHEEL_SIZE} slots. Level 0 has one slot per tick;
+ * each slot of a higher level covers a whole turn of the level below it and is cascaded down when
+ * that turn starts. Tasks further out than the top level are kept on an overflow list.
+ * <p>
+ * Expired tasks are run by the ticker thread through {@link ExpiryTask#run()}, which hands them to
+ * the expiry thread pool if one is configured.
+ *
+ * @since Geode 1.15
+ */
+class ExpirationWheel {
+  private static final Logger logger = LogService.getLogger();
+
+  static final int WHEEL_BITS = 8;
+  static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  static final int LEVELS = 4;
+
+  private final long tickNanos;
+  private final LongSupplier nanoClock;
+  private final long startNanos;
+  private final ExpirationWheelStats stats;
+
+  private final Timeout[][] slots = new Timeout[LEVELS][WHEEL_SIZE];
+  private Timeout overflow;
+  private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final AtomicLong size = new AtomicLong();
+
+  /** The next tick to process. Only accessed by the ticker thread. */
+  private long currentTick;
+
+  private volatile boolean purgeRequested;
+  private volatile boolean stopped;
+  private Thread ticker;
+
+  ExpirationWheel(long tickMillis, ExpirationWheelStats stats) {
+    this(tickMillis, stats, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  ExpirationWheel(long tickMillis, ExpirationWheelStats stats, LongSupplier nanoClock) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be positive but was " + tickMillis);
+    }
+    tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+    this.nanoClock = nanoClock;
+    this.stats = stats;
+    startNanos = nanoClock.getAsLong();
+  }
+
+  synchronized void start() {
+    if (ticker == null) {
+      ticker = new LoggingThread("Expiration Wheel", this::runTicker);
+      ticker.start();
+    }
+  }
+
+  synchronized void stop() {
+    stopped = true;
+    if (ticker != null) {
+      ticker.interrupt();
+    }
+  }
+
+  boolean isStopped() {
+    return stopped;
+  }
+
+  /**
+   * Schedules the task to run after the given delay.
+   *
+   * @throws IllegalStateException if the task was already scheduled or cancelled, or this wheel
+   *         has been stopped
+   */
+  void schedule(ExpiryTask task, long delayMillis) {
+    if (stopped) {
+      throw new IllegalStateException("The expiration wheel has been stopped.");
+    }
+    long deadline = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+    Timeout timeout = new Timeout(task, deadline, tickOf(deadline));
+    if (task.isCancelled() || !task.setWheelTimeout(timeout)) {
+      throw new IllegalStateException("Task already scheduled or cancelled");
+    }
+    size.incrementAndGet();
+    added.add(timeout);
+  }
+
+  /**
+   * Asks the ticker thread to drop all cancelled tasks from the wheel before their slot comes due.
+   */
+  void purge() {
+    purgeRequested = true;
+  }
+
+  /**
+   * @return the number of tasks on the wheel, including cancelled tasks not yet dropped
+   */
+  long size() {
+    return size.get();
+  }
+
+  /**
+   * @return the first tick at or after the given time, so a task never runs before its deadline
+   */
+  private long tickOf(long nanos) {
+    long elapsed = nanos - startNanos;
+    if (elapsed <= 0) {
+      return 0;
+    }
+    return (elapsed + tickNanos - 1) / tickNanos;
+  }
+
+  private void runTicker() {
+    while (!stopped) {
+      long sleepNanos = startNanos + currentTick * tickNanos - nanoClock.getAsLong();
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          if (stopped) {
+            break;
+          }
+          continue;
+        }
+      }
+      try {
+        advance(nanoClock.getAsLong());
+      } catch (RuntimeException e) {
+        logger.warn("Exception in expiration wheel", e);
+      }
+    }
+  }
+
+  /**
+   * Processes every tick that is due at the given time. Must only be called by one thread.
+   */
+  @VisibleForTesting
+  void advance(long nowNanos) {
+    long nowTick = (nowNanos - startNanos) / tickNanos;
+    if (purgeRequested) {
+      purgeRequested = false;
+      purgeCancelled();
+    }
+    while (currentTick <= nowTick && !stopped) {
+      placeAdded();
+      cascade();
+      Timeout due = slots[0][(int) (currentTick & WHEEL_MASK)];
+      slots[0][(int) (currentTick & WHEEL_MASK)] = null;
+      currentTick++;
+      while (due != null) {
+        Timeout next = due.next;
+        due.next = null;
+        expire(due, nowNanos);
+        due = next;
+      }
+    }
+  }
+
+  private void placeAdded() {
+    Timeout timeout;
+    while ((timeout = added.poll()) != null) {
+      place(timeout);
+    }
+  }
+
+  /**
+   * Moves the tasks of every higher level slot whose turn starts at the current tick down the
+   * wheel.
+   */
+  private void cascade() {
+    for (int level = 1; level < LEVELS; level++) {
+      int shift = level * WHEEL_BITS;
+      if ((currentTick & ((1L << shift) - 1)) != 0) {
+        return;
+      }
+      int index = (int) ((currentTick >>> shift) & WHEEL_MASK);
+      Timeout list = slots[level][index];
+      slots[level][index] = null;
+      replace(list);
+    }
+    if ((currentTick & ((1L << (LEVELS * WHEEL_BITS)) - 1)) == 0) {
+      Timeout list = overflow;
+      overflow = null;
+      replace(list);
+    }
+  }
+
+  private void replace(Timeout list) {
+    while (list != null) {
+      Timeout next = list.next;
+      list.next = null;
+      place(list);
+      list = next;
+    }
+  }
+
+  private void place(Timeout timeout) {
+    if (timeout.isCancelled()) {
+      size.decrementAndGet();
+      return;
+    }
+    long tick = Math.max(timeout.tick, currentTick);
+    for (int level = 0; level < LEVELS; level++) {
+      int shift = (level + 1) * WHEEL_BITS;
+      if ((tick >>> shift) == (currentTick >>> shift)) {
+        int index = (int) ((tick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+        timeout.next = slots[level][index];
+        slots[level][index] = timeout;
+        return;
+      }
+    }
+    timeout.next = overflow;
+    overflow = timeout;
+  }
+
+  private void expire(Timeout timeout, long nowNanos) {
+    size.decrementAndGet();
+    if (!timeout.expire()) {
+      return;
+    }
+    if (stats != null) {
+      stats.endExpiry(Math.max(0, nowNanos - timeout.deadline));
+    }
+    timeout.task.run();
+  }
+
+  private void purgeCancelled() {
+    for (Timeout[] level : slots) {
+      for (int i = 0; i < WHEEL_SIZE; i++) {
+        level[i] = removeCancelled(level[i]);
+      }
+    }
+    overflow = removeCancelled(overflow);
+  }
+
+  private Timeout removeCancelled(Timeout list) {
+    Timeout head = null;
+    Timeout tail = null;
+    while (list != null) {
+      Timeout next = list.next;
+      list.next = null;
+      if (list.isCancelled()) {
+        size.decrementAndGet();
+      } else if (tail == null) {
+        head = tail = list;
+      } else {
+        tail.next = list;
+        tail = list;
+      }
+      list = next;
+    }
+    return head;
+  }
+
+  /**
+   * The handle of a task on the wheel. Its state tells whether the task was cancelled or run
+   * first, which is what {@link ExpiryTask#cancel()} needs to report.
+   */
+  static class Timeout {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final ExpiryTask task;
+    private final long deadline;
+    private final long tick;
+    private volatile int state = PENDING;
+    private Timeout next;
+
+    private Timeout(ExpiryTask task, long deadline, long tick) {
+      this.task = task;
+      this.deadline = deadline;
+      this.tick = tick;
+    }
+
+    /**
+     * @return true if the task had not run or been cancelled yet
+     */
+    boolean cancel() {
+      return stateUpdater.compareAndSet(this, PENDING, CANCELLED);
+    }
+
+    boolean isCancelled() {
+      return state == CANCELLED;
+    }
+
+    private boolean expire() {
+      return stateUpdater.compareAndSet(this, PENDING, EXPIRED);
+    }
+  }
+}
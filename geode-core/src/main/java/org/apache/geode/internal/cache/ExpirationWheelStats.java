@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.function.LongSupplier;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsFactory;
+import org.apache.geode.StatisticsType;
+
+class ExpirationWheelStats {
+  static final String SCHEDULED_TASKS = "scheduledTasks";
+  static final String EXPIRIES = "expiries";
+  static final String EXPIRY_LAG = "expiryLag";
+
+  private final int expiriesId;
+  private final int expiryLagId;
+  private final Statistics statistics;
+
+  ExpirationWheelStats(StatisticsFactory statisticsFactory) {
+    final StatisticsType statisticsType =
+        statisticsFactory.createType("ExpirationWheel", "Entry expiration timing wheel statistics.",
+            new StatisticDescriptor[] {
+                statisticsFactory.createLongGauge(SCHEDULED_TASKS,
+                    "Number of expiry tasks on the wheel, including cancelled ones.",
+                    "tasks"),
+                statisticsFactory.createLongCounter(EXPIRIES,
+                    "Number of expiry tasks run by the wheel.", "operations"),
+                statisticsFactory.createLongCounter(EXPIRY_LAG,
+                    "Total time between the expiration time of the tasks run by the wheel and "
+                        + "the time they were run.",
+                    "nanoseconds")
+            });
+
+    expiriesId = statisticsType.nameToId(EXPIRIES);
+    expiryLagId = statisticsType.nameToId(EXPIRY_LAG);
+
+    statistics = statisticsFactory.createAtomicStatistics(statisticsType, "expirationWheel");
+  }
+
+  void initialize(LongSupplier scheduledTasks) {
+    statistics.setLongSupplier(SCHEDULED_TASKS, scheduledTasks);
+  }
+
+  void endExpiry(long lagNanos) {
+    statistics.incLong(expiriesId, 1);
+    statistics.incLong(expiryLagId, lagNanos);
+  }
+
+  void close() {
+    statistics.close();
+  }
+}
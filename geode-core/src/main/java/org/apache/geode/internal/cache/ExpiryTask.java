@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.logging.log4j.Logger;
 import org.jgroups.annotations.GuardedBy;
@@ -47,6 +48,15 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
 
   private LocalRegion region; // no longer final so cancel can null it out see bug 37574
 
+  private static final AtomicReferenceFieldUpdater<ExpiryTask, ExpirationWheel.Timeout>
+      wheelTimeoutUpdater = AtomicReferenceFieldUpdater.newUpdater(ExpiryTask.class,
+          ExpirationWheel.Timeout.class, "wheelTimeout");
+
+  /**
+   * Set if this task was scheduled on an {@link ExpirationWheel} instead of a timer.
+   */
+  private volatile ExpirationWheel.Timeout wheelTimeout;
+
   @MakeNotStatic
   private static final ExecutorService executor;
 
@@ -335,6 +345,10 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
   @Override
   public boolean cancel() {
     boolean superCancel = super.cancel();
+    ExpirationWheel.Timeout timeout = wheelTimeout;
+    if (timeout != null) {
+      superCancel = timeout.cancel();
+    }
     LocalRegion lr = getLocalRegion();
     if (lr != null) {
       if (superCancel) {
@@ -344,6 +358,13 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
     return superCancel;
   }
 
+  /**
+   * @return false if this task was already scheduled on an {@link ExpirationWheel}
+   */
+  boolean setWheelTimeout(ExpirationWheel.Timeout timeout) {
+    return wheelTimeoutUpdater.compareAndSet(this, null, timeout);
+  }
+
   /**
    * An ExpiryTask is sent run() to perform its task. Note that this run() method should never throw
    * an exception - otherwise, it takes out the java.util.Timer thread, causing an exception
@@ -49,6 +49,7 @@ import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.SerializedCacheValue;
 import org.apache.geode.cache.query.internal.CqStateImpl;
+import org.apache.geode.cache.query.internal.cq.CqPredicateIndex;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.CqServiceProvider;
 import org.apache.geode.cache.query.internal.cq.ServerCQ;
@@ -147,6 +148,19 @@ public class FilterProfile implements DataSerializableFixedID {
   private final CopyOnWriteHashMap<Object, Map<Object, Pattern>> patternsOfInterestInv =
       new CopyOnWriteHashMap<>();
 
+  /**
+   * Incremented, while holding the interestListLock, whenever the patterns of interest change
+   */
+  private volatile int patternsVersion;
+
+  /**
+   * The patterns of interest indexed for finding the clients interested in a key. They are rebuilt
+   * when first used after the patterns change.
+   */
+  private volatile InterestPatternIndex patternIndex;
+
+  private volatile InterestPatternIndex patternIndexInv;
+
   /**
    * The filtering classes in which clients are interested. This is a map keyed on client id, with a
    * HashMap (key name to {@link InterestFilter}) as the values.
@@ -181,6 +195,13 @@ public class FilterProfile implements DataSerializableFixedID {
   /** CQs that are registered on the remote node **/
   private final CopyOnWriteHashMap<String, ServerCQ> cqs = new CopyOnWriteHashMap<>();
 
+  /**
+   * Index of the predicates of the CQs, dropped whenever they change and rebuilt on next use. CQs
+   * missing from the index are always candidates, so an index built concurrently with a change
+   * is merely less selective until the next one.
+   */
+  private transient volatile CqPredicateIndex cqPredicateIndex;
+
   /* the ID of the member that this profile describes */
   private DistributedMember memberID;
 
@@ -339,6 +360,7 @@ public class FilterProfile implements DataSerializableFixedID {
       pats.put(clientID, interestMap);
     }
     Pattern oldPattern = interestMap.put(interest, pattern);
+    patternsVersion++;
     if (oldPattern == null) {
       // If the pattern didn't exist, add it to the set of keys to pass to any listeners.
       keysRegistered.add(interest);
@@ -468,6 +490,7 @@ public class FilterProfile implements DataSerializableFixedID {
       if (interestMap.isEmpty()) {
         map.remove(clientID);
       }
+      patternsVersion++;
     }
   }
 
@@ -477,6 +500,7 @@ public class FilterProfile implements DataSerializableFixedID {
       if (removed != null) {
         keysUnregistered.addAll(removed.keySet());
       }
+      patternsVersion++;
     }
   }
 
@@ -728,6 +752,7 @@ public class FilterProfile implements DataSerializableFixedID {
       {
         Map<Object, Map<Object, Pattern>> pats = getPatternsOfInterestInv();
         pats.remove(clientID);
+        patternsVersion++;
       }
       {
         Map<Object, Map> filters = getFiltersOfInterest();
@@ -778,6 +803,18 @@ public class FilterProfile implements DataSerializableFixedID {
     return cqCount.get() > 0;
   }
 
+  /**
+   * Returns the index used to find the CQs registered on this region that can match an event.
+   */
+  public CqPredicateIndex getCqPredicateIndex() {
+    CqPredicateIndex index = cqPredicateIndex;
+    if (index == null) {
+      index = new CqPredicateIndex(cqs.values());
+      cqPredicateIndex = index;
+    }
+    return index;
+  }
+
   public ServerCQ getCq(String cqName) {
     return cqs.get(cqName);
   }
@@ -788,6 +825,7 @@ public class FilterProfile implements DataSerializableFixedID {
       logger.debug("Adding CQ {} to this members FilterProfile.", cq.getServerCqName());
     }
     cqs.put(cq.getServerCqName(), cq);
+    cqPredicateIndex = null;
     incCqCount();
 
     // cq.setFilterID(cqMap.getWireID(cq.getServerCqName()));
@@ -852,6 +890,7 @@ public class FilterProfile implements DataSerializableFixedID {
     if (cq.getCqBaseRegion() != null) {
       if (addToCqMap) {
         cqs.put(serverCqName, cq);
+        cqPredicateIndex = null;
       }
 
       FilterProfile pf = cq.getCqBaseRegion().getFilterProfile();
@@ -874,6 +913,7 @@ public class FilterProfile implements DataSerializableFixedID {
         }
       }
       cqs.remove(serverCqName);
+      cqPredicateIndex = null;
       cq.getCqBaseRegion().getFilterProfile().decCqCount();
     }
   }
@@ -914,6 +954,7 @@ public class FilterProfile implements DataSerializableFixedID {
     ensureCqID(cq);
     String serverCqName = cq.getServerCqName();
     cqs.remove(serverCqName);
+    cqPredicateIndex = null;
     if (cqMap != null) {
       cqMap.removeIDMapping(cq.getFilterID());
     }
@@ -1199,9 +1240,9 @@ public class FilterProfile implements DataSerializableFixedID {
             fi = fri.getLocalFilterInfo();
           }
           clientsInv = getInterestedClients(ev, allKeyClientsInv,
-              keysOfInterestInv, patternsOfInterestInv, filtersOfInterestInv);
+              keysOfInterestInv, getPatternIndex(true), filtersOfInterestInv);
           clients = getInterestedClients(ev, allKeyClients, keysOfInterest,
-              patternsOfInterest, filtersOfInterest);
+              getPatternIndex(false), filtersOfInterest);
           if (clients != null || clientsInv != null) {
             if (fi == null) {
               fi = new FilterInfo();
@@ -1248,9 +1289,9 @@ public class FilterProfile implements DataSerializableFixedID {
             fi = fri.getLocalFilterInfo();
           }
           clientsInv = getInterestedClients(ev, allKeyClientsInv,
-              keysOfInterestInv, patternsOfInterestInv, filtersOfInterestInv);
+              keysOfInterestInv, getPatternIndex(true), filtersOfInterestInv);
           clients = getInterestedClients(ev, allKeyClients, keysOfInterest,
-              patternsOfInterest, filtersOfInterest);
+              getPatternIndex(false), filtersOfInterest);
           if (clients != null || clientsInv != null) {
             if (fi == null) {
               fi = new FilterInfo();
@@ -1326,9 +1367,9 @@ public class FilterProfile implements DataSerializableFixedID {
       if (event.getOperation().isEntry()) {
         EntryEvent entryEvent = (EntryEvent) event;
         clientsInv = pf.getInterestedClients(entryEvent, pf.allKeyClientsInv,
-            pf.keysOfInterestInv, pf.patternsOfInterestInv, pf.filtersOfInterestInv);
+            pf.keysOfInterestInv, pf.getPatternIndex(true), pf.filtersOfInterestInv);
         clients = pf.getInterestedClients(entryEvent, pf.allKeyClients, pf.keysOfInterest,
-            pf.patternsOfInterest, pf.filtersOfInterest);
+            pf.getPatternIndex(false), pf.filtersOfInterest);
       } else {
         if (event.getOperation().isRegionDestroy() || event.getOperation().isClear()) {
           clientsInv = pf.getAllClientsWithInterestInv();
@@ -1373,12 +1414,12 @@ public class FilterProfile implements DataSerializableFixedID {
    * @param event the entry event being applied to the cache
    * @param akc allKeyClients collection
    * @param koi keysOfInterest collection
-   * @param pats patternsOfInterest collection
+   * @param pats index of the patternsOfInterest collection
    * @param foi filtersOfInterest collection
    * @return a set of the clients interested in the event
    */
   private Set getInterestedClients(EntryEvent event, Set akc, Map<Object, Set> koi,
-      Map<Object, Map<Object, Pattern>> pats, Map<Object, Map> foi) {
+      InterestPatternIndex pats, Map<Object, Map> foi) {
     Set result = null;
     if (akc != null) {
       result = new HashSet(akc);
@@ -1404,22 +1445,14 @@ public class FilterProfile implements DataSerializableFixedID {
       }
     }
     if (pats != null && (event.getKey() instanceof String)) {
-      for (final Map.Entry<Object, Map<Object, Pattern>> objectMapEntry : pats.entrySet()) {
-        Map.Entry entry = (Map.Entry) objectMapEntry;
-        String stringKey = (String) event.getKey();
-        Map<Object, Pattern> interestList = (Map<Object, Pattern>) entry.getValue();
-        for (Pattern keyPattern : interestList.values()) {
-          if (keyPattern.matcher(stringKey).matches()) {
-            Object clientID = entry.getKey();
-            if (result == null) {
-              result = new HashSet();
-            }
-            result.add(clientID);
-            if (logger.isDebugEnabled()) {
-              logger.debug("client {} matched for pattern ({})", clientID, pats.get(clientID));
-            }
-            break;
-          }
+      Set<Object> matches = pats.getMatchingClients((String) event.getKey());
+      if (!matches.isEmpty()) {
+        if (result == null) {
+          result = new HashSet();
+        }
+        result.addAll(matches);
+        if (logger.isDebugEnabled()) {
+          logger.debug("these clients matched for patterns: {}", matches);
         }
       }
     }
@@ -1490,6 +1523,7 @@ public class FilterProfile implements DataSerializableFixedID {
           ServerCQ cq = CqServiceProvider.readCq(in);
           processRegisterCq(serverCqName, cq, false);
           cqs.put(serverCqName, cq);
+          cqPredicateIndex = null;
         }
       } finally {
         LocalRegion.setThreadInitLevelRequirement(oldLevel);
@@ -1559,6 +1593,25 @@ public class FilterProfile implements DataSerializableFixedID {
     return patternsOfInterestInv;
   }
 
+  /**
+   * @return the index of the patternsOfInterestInv or patternsOfInterest
+   */
+  private InterestPatternIndex getPatternIndex(boolean updatesAsInvalidates) {
+    int version = patternsVersion;
+    InterestPatternIndex index = updatesAsInvalidates ? patternIndexInv : patternIndex;
+    if (index == null || index.getVersion() != version) {
+      // an index built from patterns changed while building it has an outdated version
+      index = new InterestPatternIndex(
+          updatesAsInvalidates ? getPatternsOfInterestInv() : getPatternsOfInterest(), version);
+      if (updatesAsInvalidates) {
+        patternIndexInv = index;
+      } else {
+        patternIndex = index;
+      }
+    }
+    return index;
+  }
+
   /**
    * @return the filtersOfInterestInv
    */
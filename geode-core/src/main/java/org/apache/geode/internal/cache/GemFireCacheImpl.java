@@ -1056,6 +1056,7 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
         haRegionQueueSetMessageSyncInterval.accept(HARegionQueue.DEFAULT_MESSAGE_SYNC_INTERVAL);
       }
       functionServiceRegisterFunction.accept(new PRContainsValueFunction());
+      functionServiceRegisterFunction.accept(new PRScanFunction());
       expirationScheduler = expirationSchedulerFactory.apply(system);
 
       if (DEBUG_CREATION_STACK) {
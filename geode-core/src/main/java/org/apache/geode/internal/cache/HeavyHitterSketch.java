@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Finds the most frequent items of a stream, such as the keys or buckets a region operates on, in
+ * constant space using the space-saving algorithm. At most {@link #CAPACITY} items are counted; a
+ * new item replaces the item with the lowest count and inherits that count as its possible
+ * overestimate.
+ * <p>
+ * Callers only offer one operation in {@link #SAMPLE_INTERVAL}, chosen by {@link #shouldSample()},
+ * so the reported counts are estimates scaled back up by that interval. All counts are halved
+ * every {@link #DECAY_INTERVAL_MILLIS} so that the sketch follows the current hot items rather
+ * than the items that were hot since the region was created.
+ *
+ * @since Geode 1.15
+ */
+public class HeavyHitterSketch<T> {
+
+  static final int CAPACITY =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "HeavyHitterSketch.CAPACITY", 64);
+
+  /**
+   * One operation in this many is offered to the sketches; 0 turns hot key tracking off.
+   */
+  static final int SAMPLE_INTERVAL =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "HeavyHitterSketch.SAMPLE_INTERVAL", 64);
+
+  static final long DECAY_INTERVAL_MILLIS = Long.getLong(
+      GeodeGlossary.GEMFIRE_PREFIX + "HeavyHitterSketch.DECAY_INTERVAL_MILLIS", 60000);
+
+  private final int capacity;
+  private final long weight;
+  private final long decayIntervalMillis;
+  private final LongSupplier clock;
+  private final Map<T, Counter<T>> counters = new HashMap<>();
+  private long lastDecay;
+
+  public HeavyHitterSketch() {
+    this(CAPACITY, SAMPLE_INTERVAL, DECAY_INTERVAL_MILLIS, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  HeavyHitterSketch(int capacity, long weight, long decayIntervalMillis, LongSupplier clock) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive but was " + capacity);
+    }
+    this.capacity = capacity;
+    this.weight = Math.max(weight, 1);
+    this.decayIntervalMillis = decayIntervalMillis;
+    this.clock = clock;
+    lastDecay = clock.getAsLong();
+  }
+
+  /**
+   * @return false if hot key tracking is turned off
+   */
+  public static boolean isEnabled() {
+    return SAMPLE_INTERVAL > 0;
+  }
+
+  /**
+   * @return true if the current operation should be offered to the sketches
+   */
+  public static boolean shouldSample() {
+    return SAMPLE_INTERVAL == 1
+        || SAMPLE_INTERVAL > 1 && ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0;
+  }
+
+  public synchronized void add(T item) {
+    decayIfDue();
+    Counter<T> counter = counters.get(item);
+    if (counter != null) {
+      counter.count++;
+      return;
+    }
+    if (counters.size() < capacity) {
+      counters.put(item, new Counter<>(item, 1, 0));
+      return;
+    }
+    Counter<T> min = null;
+    for (Counter<T> candidate : counters.values()) {
+      if (min == null || candidate.count < min.count) {
+        min = candidate;
+      }
+    }
+    counters.remove(min.item);
+    min.item = item;
+    min.error = min.count;
+    min.count++;
+    counters.put(item, min);
+  }
+
+  /**
+   * @return at most the given number of items with the highest estimated counts, highest first
+   */
+  public synchronized List<HeavyHitter<T>> getTop(int count) {
+    decayIfDue();
+    List<HeavyHitter<T>> top = new ArrayList<>(counters.size());
+    for (Counter<T> counter : counters.values()) {
+      top.add(new HeavyHitter<>(counter.item, counter.count * weight, counter.error * weight));
+    }
+    top.sort(Comparator.comparingLong(HeavyHitter<T>::getCount).reversed());
+    return top.size() > count ? new ArrayList<>(top.subList(0, count)) : top;
+  }
+
+  public synchronized void clear() {
+    counters.clear();
+  }
+
+  private void decayIfDue() {
+    long now = clock.getAsLong();
+    if (now - lastDecay < decayIntervalMillis) {
+      return;
+    }
+    lastDecay = now;
+    counters.values().removeIf(counter -> {
+      counter.count /= 2;
+      counter.error /= 2;
+      return counter.count == 0;
+    });
+  }
+
+  private static class Counter<T> {
+    private T item;
+    private long count;
+    private long error;
+
+    private Counter(T item, long count, long error) {
+      this.item = item;
+      this.count = count;
+      this.error = error;
+    }
+  }
+
+  /**
+   * An item with its estimated count. The true count lies between count - error and count.
+   */
+  public static class HeavyHitter<T> {
+    private final T item;
+    private final long count;
+    private final long error;
+
+    HeavyHitter(T item, long count, long error) {
+      this.item = item;
+      this.count = count;
+      this.error = error;
+    }
+
+    public T getItem() {
+      return item;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getError() {
+      return error;
+    }
+
+    @Override
+    public String toString() {
+      return item + "=" + count;
+    }
+  }
+}
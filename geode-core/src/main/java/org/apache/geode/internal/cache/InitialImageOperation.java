@@ -36,6 +36,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -102,6 +103,7 @@ import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.serialization.SerializationContext;
 import org.apache.geode.internal.serialization.StaticSerialization;
 import org.apache.geode.internal.serialization.Versioning;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.internal.util.ObjectIntProcedure;
 import org.apache.geode.logging.internal.executors.LoggingThread;
 import org.apache.geode.logging.internal.log4j.api.LogService;
@@ -148,6 +150,24 @@ public class InitialImageOperation {
   public static final int MAX_PARALLEL_GIIS =
       Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "GetInitialImage.MAX_PARALLEL_GIIS", 5);
 
+  /**
+   * Maximum number of providers a full image of a replicated region is split across. When greater
+   * than one, replicates whose version vector dominates the one of the chosen provider each send a
+   * segment of the key space in parallel.
+   */
+  @MutableForTesting
+  public static int MAX_PARALLEL_SOURCES =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "GetInitialImage.MAX_PARALLEL_SOURCES", 1);
+
+  /**
+   * When true, the entries of each chunk of an image received by a persistent region are appended
+   * to the oplogs with buffered writes and the oplogs are flushed and synced once per chunk rather
+   * than once per entry.
+   */
+  @MutableForTesting
+  public static boolean BULK_DISK_WRITES =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "GetInitialImage.BULK_DISK_WRITES");
+
   /**
    * the region we are fetching
    */
@@ -285,6 +305,9 @@ public class InitialImageOperation {
     }
     long giiStart = region.getCachePerfStats().startGetInitialImage();
     InternalDistributedMember provider = null;
+    boolean allowParallelSources = MAX_PARALLEL_SOURCES > 1 && !(region instanceof HARegion)
+        && !(region instanceof BucketRegionQueue) && !region.isUsedForSerialGatewaySenderQueue();
+    int imageSources = 1;
 
     for (Iterator<InternalDistributedMember> itr = recipients.iterator(); !gotImage
         && itr.hasNext();) {
@@ -492,7 +515,17 @@ public class InitialImageOperation {
         }
       }
 
-      ImageProcessor processor = new ImageProcessor(region.getSystem(), recipient);
+      List<InternalDistributedMember> sources = Collections.singletonList(recipient);
+      // older providers ignore the segment and would send their whole image
+      if (allowParallelSources && m.versionVector == null && received_rvv != null
+          && advice.replicates.contains(recipient)
+          && !recipient.getVersion().isOlderThan(KnownVersion.GEODE_1_15_0)) {
+        sources = selectParallelSources(dm, recipient, recipients, advice, received_rvv,
+            targetReinitialized);
+      }
+      imageSources = sources.size();
+
+      ImageProcessor processor = new ImageProcessor(region.getSystem(), sources);
       dm.acquireGIIPermitUninterruptibly();
       try {
         m.processorId = processor.getProcessorId();
@@ -504,8 +537,14 @@ public class InitialImageOperation {
 
         // do not remove the following log statement
         logger.info("Region {} requesting initial image from {}, recovered RVV is {}",
-            new Object[] {region.getName(), recipient, recoveredRVV});
+            new Object[] {region.getName(), sources, recoveredRVV});
 
+        if (imageSources > 1) {
+          m.segmentCount = imageSources;
+          for (int segment = 1; segment < imageSources; segment++) {
+            dm.putOutgoing(m.copyForSegment(sources.get(segment), segment, imageSources));
+          }
+        }
         dm.putOutgoing(m);
         region.cache.getCancelCriterion().checkCancelInProgress(null);
         if (internalAfterSentRequestImage != null
@@ -576,10 +615,17 @@ public class InitialImageOperation {
           if (gotImage) {
             // TODO add localizedString
             logger.info("{} is done getting image from {}. isDeltaGII is {}", region.getName(),
-                recipient, isDeltaGII);
+                sources, isDeltaGII);
           } else {
             // TODO add localizedString
-            logger.info("{} failed to get image from {}", region.getName(), recipient);
+            logger.info("{} failed to get image from {}", region.getName(), sources);
+          }
+          if (imageSources > 1) {
+            processor.logSourceThroughput();
+            if (!gotImage) {
+              // retry the remaining candidates one at a time
+              allowParallelSources = false;
+            }
           }
           if (region.getDataPolicy().withPersistence()) {
             logger.info("Region {} initialized persistent id: {} with data from {}.",
@@ -606,12 +652,68 @@ public class InitialImageOperation {
       if (isDeltaGII) {
         region.getCachePerfStats().incDeltaGIICompleted();
       }
+      if (imageSources > 1) {
+        region.getCachePerfStats().incParallelGIICompleted();
+      }
     } else {
       region.getCachePerfStats().endNoGIIDone(giiStart);
     }
     return reportGIIStatus();
   }
 
+  /**
+   * Picks the replicates, besides the given provider, that can each send a segment of a full
+   * image. A candidate is only used if, after flushing in-flight operations to it, its version
+   * vector dominates the one received from the provider, so that the segments put together are
+   * at least as recent as the version vector this region was initialized with.
+   *
+   * @return the provider followed by the other replicates to split the image across
+   */
+  private List<InternalDistributedMember> selectParallelSources(ClusterDistributionManager dm,
+      InternalDistributedMember provider, List<InternalDistributedMember> candidates,
+      CacheDistributionAdvisor.InitialImageAdvice advice, RegionVersionVector providerRVV,
+      boolean targetReinitialized) {
+    List<InternalDistributedMember> sources = new ArrayList<>();
+    sources.add(provider);
+    boolean flush = !inhibitStateFlush.get() && !region.doesNotDistribute();
+    for (InternalDistributedMember candidate : candidates) {
+      if (sources.size() >= MAX_PARALLEL_SOURCES) {
+        break;
+      }
+      if (candidate.equals(provider) || !advice.replicates.contains(candidate)
+          || candidate.getVersion().isOlderThan(KnownVersion.GEODE_1_15_0)) {
+        continue;
+      }
+      if (flush) {
+        final Set<InternalDistributedMember> r = new HashSet<>();
+        r.addAll(advice.replicates);
+        r.addAll(advice.preloaded);
+        r.addAll(advice.others);
+        r.addAll(advice.empties);
+        r.addAll(advice.uninitialized);
+        int processorType = targetReinitialized ? OperationExecutors.WAITING_POOL_EXECUTOR
+            : OperationExecutors.HIGH_PRIORITY_EXECUTOR;
+        try {
+          if (!new StateFlushOperation(region).flush(r, candidate, processorType, false)) {
+            continue;
+          }
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          region.getCancelCriterion().checkCancelInProgress(ie);
+          break;
+        }
+      }
+      RegionVersionVector candidateRVV = getRVVFromProvider(dm, candidate, targetReinitialized);
+      if (candidateRVV != null && candidateRVV.dominates(providerRVV)) {
+        sources.add(candidate);
+      } else if (logger.isDebugEnabled()) {
+        logger.debug("Not requesting a segment of the image of {} from {} whose rvv {} does not"
+            + " dominate {}", region.getFullPath(), candidate, candidateRVV, providerRVV);
+      }
+    }
+    return sources;
+  }
+
   /**
    * synchronize with another member (delta GII from it). If lostMember is not null, then only
    * changes that it made to the image provider will be sent back. Otherwise all changes made to the
@@ -824,6 +926,10 @@ public class InitialImageOperation {
     if (diskRegion != null) {
       diskRegion.setClearCountReference();
     }
+    final boolean bulkDiskWrites = BULK_DISK_WRITES && diskRegion != null && diskRegion.isBackup();
+    if (bulkDiskWrites) {
+      diskRegion.getDiskStore().beginDeferredSyncWrites();
+    }
     try {
       int entryCount = entries.size();
       Set<Object> keys = null;
@@ -1008,6 +1114,9 @@ public class InitialImageOperation {
       }
       return true;
     } finally {
+      if (bulkDiskWrites) {
+        diskRegion.getDiskStore().endDeferredSyncWrites();
+      }
       if (diskRegion != null) {
         diskRegion.removeClearCountReference();
       }
@@ -1157,6 +1266,14 @@ public class InitialImageOperation {
      */
     private final AtomicInteger msgsBeingProcessed = new AtomicInteger();
 
+    /**
+     * number of providers that have not sent their whole image (or segment of it) yet. The image
+     * is only complete once every provider is done.
+     */
+    private final AtomicInteger sourcesRemaining;
+
+    private final long startTime = System.nanoTime();
+
     @Override
     public boolean isSevereAlertProcessingEnabled() {
       return isSevereAlertProcessingForced();
@@ -1205,6 +1322,17 @@ public class InitialImageOperation {
        */
       boolean allChunksReceived;
 
+      /** number of entries received from this sender */
+      long entriesReceived;
+
+      /** the time the last chunk from this sender was processed */
+      long lastChunkTime;
+
+      synchronized void recordChunk(int entryCount) {
+        entriesReceived += entryCount;
+        lastChunkTime = System.nanoTime();
+      }
+
       /** Return true if this is the very last reply for this member */
       protected synchronized boolean trackMessage(ImageReplyMessage m) {
         if (msgsProcessed == null) {
@@ -1238,7 +1366,41 @@ public class InitialImageOperation {
 
     public ImageProcessor(final InternalDistributedSystem system,
         InternalDistributedMember member) {
-      super(system, member);
+      this(system, Collections.singleton(member));
+    }
+
+    /**
+     * Creates a processor for an image that is split across several providers.
+     */
+    public ImageProcessor(final InternalDistributedSystem system,
+        Collection<InternalDistributedMember> members) {
+      super(system, members);
+      sourcesRemaining = new AtomicInteger(members.size());
+    }
+
+    /**
+     * @return true if the given sender was the last provider to finish sending its image
+     */
+    private boolean sourceFinished() {
+      return sourcesRemaining.decrementAndGet() == 0;
+    }
+
+    /**
+     * Logs the number of entries received from each provider and the rate they were received at.
+     */
+    void logSourceThroughput() {
+      synchronized (this) {
+        for (Map.Entry<InternalDistributedMember, Status> entry : statusMap.entrySet()) {
+          Status status = entry.getValue();
+          synchronized (status) {
+            long millis = Math.max(1,
+                TimeUnit.NANOSECONDS.toMillis(status.lastChunkTime - startTime));
+            logger.info("Region {} received {} entries from {} in {} ms ({} entries/s).",
+                region.getName(), status.entriesReceived, entry.getKey(), millis,
+                status.entriesReceived * 1000 / millis);
+          }
+        }
+      }
     }
 
     @Override
@@ -1289,6 +1451,7 @@ public class InitialImageOperation {
                   abort = true; // volatile store
                 } else {
                   receivedChunk = true;
+                  status.recordChunk(m.entries.size());
                 }
               }
               // interpret series/msgNum
@@ -1307,7 +1470,7 @@ public class InitialImageOperation {
                       "processChunk is aborted for region {}, rvv is {}. Do full gii next time.",
                       region.getFullPath(),
                       region.getVersionVector());
-                } else {
+                } else if (sourceFinished()) {
                   gotImage = true;
                 }
                 if (m.isDeltaGII) {
@@ -1339,7 +1502,7 @@ public class InitialImageOperation {
           } else {
             // if a null entries was received (no image was found), then
             // we're done with that member
-            if (isDone && m.isDeltaGII) {
+            if (isDone && m.isDeltaGII && sourceFinished()) {
               gotImage = true;
               isDeltaGII = true;
             }
@@ -1549,9 +1712,41 @@ public class InitialImageOperation {
     /* key list for unfinished operations */
     protected Set<Object> unfinishedKeys;
 
+    /**
+     * the segment of the key space to send when the requester is getting its image from several
+     * providers, see {@link #segmentCount}
+     */
+    protected int segment;
+
+    /**
+     * the number of segments the key space is split into. Zero or one means the whole image is
+     * requested from this provider.
+     */
+    protected int segmentCount;
+
     /** The versions in which this message was modified */
     @Immutable
-    private static final KnownVersion[] dsfidVersions = null;
+    private static final KnownVersion[] dsfidVersions = {KnownVersion.GEODE_1_15_0};
+
+    public RequestImageMessage() {}
+
+    /**
+     * Copies every field of the request except its recipients
+     */
+    private RequestImageMessage(RequestImageMessage other) {
+      versionVector = other.versionVector;
+      lostMemberVersionID = other.lostMemberVersionID;
+      lostMemberID = other.lostMemberID;
+      regionPath = other.regionPath;
+      processorId = other.processorId;
+      keysOnly = other.keysOnly;
+      checkTombstoneVersions = other.checkTombstoneVersions;
+      targetReinitialized = other.targetReinitialized;
+      severeAlertEnabled = other.severeAlertEnabled;
+      unfinishedKeys = other.unfinishedKeys;
+      segment = other.segment;
+      segmentCount = other.segmentCount;
+    }
 
     @Override
     public int getProcessorId() {
@@ -1587,6 +1782,40 @@ public class InitialImageOperation {
       return regionPath;
     }
 
+    /**
+     * @return a copy of this request asking the given provider for one segment of the key space
+     */
+    RequestImageMessage copyForSegment(InternalDistributedMember provider, int segment,
+        int segmentCount) {
+      RequestImageMessage copy = new RequestImageMessage(this);
+      copy.segment = segment;
+      copy.segmentCount = segmentCount;
+      copy.setRecipient(provider);
+      return copy;
+    }
+
+    /**
+     * @return true if the key belongs to the segment of the key space this provider should send
+     */
+    @VisibleForTesting
+    boolean isInSegment(Object key) throws IOException {
+      if (segmentCount <= 1) {
+        return true;
+      }
+      return Math.floorMod(segmentHash(key), segmentCount) == segment;
+    }
+
+    /**
+     * The hash used to split the key space must be the same on every provider, so keys whose
+     * hashCode may be identity based are hashed by their serialized form.
+     */
+    static int segmentHash(Object key) throws IOException {
+      if (key instanceof String || key instanceof Integer || key instanceof Long) {
+        return key.hashCode();
+      }
+      return Arrays.hashCode(BlobHelper.serializeToBlob(key));
+    }
+
     @Override
     protected void process(final ClusterDistributionManager dm) {
       final boolean isGiiDebugEnabled = logger.isTraceEnabled(LogMarker.INITIAL_IMAGE_VERBOSE);
@@ -1966,6 +2195,9 @@ public class InitialImageOperation {
             if (rgn.checkEntryNotValid(mapEntry)) { // entry was just removed
               continue;
             }
+            if (!isInSegment(key)) { // sent by another provider
+              continue;
+            }
             if (logger.isDebugEnabled()) {
               Object v = mapEntry.getValueInVM(rgn); // OFFHEAP: noop
               if (v instanceof Conflatable) {
@@ -2042,7 +2274,8 @@ public class InitialImageOperation {
           // if this region is destroyed while we are sending data, then abort.
         } while (keepGoing && it.hasNext());
 
-        if (foundIds.size() > 0) {
+        // a segment may not contain entries of every member still in the vector
+        if (foundIds.size() > 0 && segmentCount <= 1) {
           RegionVersionVector vv = rgn.getVersionVector();
           if (vv != null) {
             vv.removeOldMembers(foundIds);
@@ -2096,6 +2329,13 @@ public class InitialImageOperation {
     @Override
     public void fromData(DataInput in,
         DeserializationContext context) throws IOException, ClassNotFoundException {
+      fromDataPre_GEODE_1_15_0_0(in, context);
+      segment = in.readInt();
+      segmentCount = in.readInt();
+    }
+
+    public void fromDataPre_GEODE_1_15_0_0(DataInput in,
+        DeserializationContext context) throws IOException, ClassNotFoundException {
       super.fromData(in, context);
       regionPath = DataSerializer.readString(in);
       processorId = in.readInt();
@@ -2111,6 +2351,13 @@ public class InitialImageOperation {
     @Override
     public void toData(DataOutput out,
         SerializationContext context) throws IOException {
+      toDataPre_GEODE_1_15_0_0(out, context);
+      out.writeInt(segment);
+      out.writeInt(segmentCount);
+    }
+
+    public void toDataPre_GEODE_1_15_0_0(DataOutput out,
+        SerializationContext context) throws IOException {
       super.toData(out, context);
       DataSerializer.writeString(regionPath, out);
       out.writeInt(processorId);
@@ -2150,6 +2397,9 @@ public class InitialImageOperation {
       }
       buff.append("; versionVector=").append(versionVector);
       buff.append("; unfinished keys=").append(unfinishedKeys);
+      if (segmentCount > 1) {
+        buff.append("; segment=").append(segment).append('/').append(segmentCount);
+      }
       buff.append(")");
       return buff.toString();
     }
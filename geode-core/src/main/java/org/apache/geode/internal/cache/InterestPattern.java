@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.regex.Pattern;
+
+/**
+ * A regular expression of interest in keys. Most expressions clients register are a literal key
+ * or a literal prefix followed by <code>.*</code>. Keys are matched against those by comparing
+ * strings instead of running the regular expression, and a literal key can be looked up instead
+ * of scanning the keys of the region.
+ */
+public class InterestPattern {
+
+  private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+
+  private final Pattern pattern;
+
+  /**
+   * The text matched by the expression, or the prefix of the matched keys if {@link #isPrefix}.
+   * Null if the expression is neither.
+   */
+  private final String literal;
+
+  private final boolean isPrefix;
+
+  public static InterestPattern compile(String regex) {
+    return new InterestPattern(Pattern.compile(regex));
+  }
+
+  public InterestPattern(Pattern pattern) {
+    this.pattern = pattern;
+    String regex = pattern.pattern();
+    StringBuilder text = new StringBuilder(regex.length());
+    boolean prefix = false;
+    boolean literalOnly = pattern.flags() == 0;
+    for (int i = 0; literalOnly && i < regex.length(); i++) {
+      char c = regex.charAt(i);
+      if (c == '.' && i == regex.length() - 2 && regex.charAt(i + 1) == '*') {
+        prefix = true;
+        break;
+      }
+      if (c == '\\') {
+        // only an escaped ASCII punctuation character is the character itself
+        if (i + 1 == regex.length() || regex.charAt(i + 1) > 127
+            || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+          literalOnly = false;
+        } else {
+          text.append(regex.charAt(++i));
+        }
+      } else if (METACHARACTERS.indexOf(c) >= 0) {
+        literalOnly = false;
+      } else {
+        text.append(c);
+      }
+    }
+    literal = literalOnly ? text.toString() : null;
+    isPrefix = literalOnly && prefix;
+  }
+
+  public Pattern getPattern() {
+    return pattern;
+  }
+
+  /**
+   * @return the only key matched by the expression, or null if it can match other keys
+   */
+  public String getExactKey() {
+    return isPrefix ? null : literal;
+  }
+
+  /**
+   * @return the prefix of the keys matched by the expression if it matches any key starting with
+   *         it, or null
+   */
+  String getPrefix() {
+    return isPrefix ? literal : null;
+  }
+
+  public boolean matches(String key) {
+    if (literal == null) {
+      return pattern.matcher(key).matches();
+    }
+    if (!isPrefix) {
+      return key.equals(literal);
+    }
+    // '.' does not match line terminators
+    return key.startsWith(literal) && lastLineTerminator(key) < literal.length();
+  }
+
+  /**
+   * @return the index of the last character of the key that <code>.</code> does not match, or -1
+   */
+  static int lastLineTerminator(String key) {
+    for (int i = key.length() - 1; i >= 0; i--) {
+      switch (key.charAt(i)) {
+        case '\n':
+        case '\r':
+        case '\u0085':
+        case '\u2028':
+        case '\u2029':
+          return i;
+        default:
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    return pattern.pattern();
+  }
+}
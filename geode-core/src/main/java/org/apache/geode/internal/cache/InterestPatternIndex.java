@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The regular expressions of interest of the clients of a {@link FilterProfile}, indexed so that
+ * the clients interested in a key are found in one pass over the key. Literal keys and literal
+ * prefixes are kept in a trie of their characters; only the other expressions are evaluated one by
+ * one. An index is immutable and is replaced when the expressions change.
+ */
+class InterestPatternIndex {
+
+  private final int version;
+
+  private final Node root = new Node();
+
+  private final Map<Object, List<InterestPattern>> otherPatterns = new HashMap<>();
+
+  /**
+   * @param patternsByClient the compiled expressions by client id and expression
+   * @param version the version of the expressions, see {@link #getVersion()}
+   */
+  InterestPatternIndex(Map<Object, Map<Object, Pattern>> patternsByClient, int version) {
+    this.version = version;
+    for (Map.Entry<Object, Map<Object, Pattern>> entry : patternsByClient.entrySet()) {
+      Object clientID = entry.getKey();
+      for (Pattern pattern : entry.getValue().values()) {
+        InterestPattern interestPattern = new InterestPattern(pattern);
+        if (interestPattern.getExactKey() != null) {
+          getNode(interestPattern.getExactKey()).exactClients.add(clientID);
+        } else if (interestPattern.getPrefix() != null) {
+          getNode(interestPattern.getPrefix()).prefixClients.add(clientID);
+        } else {
+          otherPatterns.computeIfAbsent(clientID, k -> new ArrayList<>()).add(interestPattern);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the version of the expressions the index was built from
+   */
+  int getVersion() {
+    return version;
+  }
+
+  /**
+   * @return the ids of the clients with an expression matching the key
+   */
+  Set<Object> getMatchingClients(String key) {
+    Set<Object> clients = new HashSet<>();
+    // a prefix matches if '.*' matches the rest of the key
+    int lastLineTerminator = InterestPattern.lastLineTerminator(key);
+    Node node = root;
+    for (int i = 0; node != null; i++) {
+      if (i > lastLineTerminator) {
+        clients.addAll(node.prefixClients);
+      }
+      if (i == key.length()) {
+        clients.addAll(node.exactClients);
+        break;
+      }
+      node = node.children.get(key.charAt(i));
+    }
+    for (Map.Entry<Object, List<InterestPattern>> entry : otherPatterns.entrySet()) {
+      if (clients.contains(entry.getKey())) {
+        continue;
+      }
+      for (InterestPattern pattern : entry.getValue()) {
+        if (pattern.matches(key)) {
+          clients.add(entry.getKey());
+          break;
+        }
+      }
+    }
+    return clients.isEmpty() ? Collections.emptySet() : clients;
+  }
+
+  private Node getNode(String text) {
+    Node node = root;
+    for (int i = 0; i < text.length(); i++) {
+      node = node.children.computeIfAbsent(text.charAt(i), k -> new Node());
+    }
+    return node;
+  }
+
+  private static class Node {
+    private final Map<Character, Node> children = new HashMap<>();
+    /** The clients interested in the keys starting with the characters leading to the node */
+    private final Set<Object> prefixClients = new HashSet<>();
+    /** The clients interested in the key made of the characters leading to the node */
+    private final Set<Object> exactClients = new HashSet<>();
+  }
+}
@@ -418,6 +418,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
 
   private final boolean isUsedForPartitionedRegionBucket;
 
+  /**
+   * The most frequently accessed keys of this region. Buckets feed the sketch of their partitioned
+   * region instead, so this is null for them, as it is for internal regions and when tracking is
+   * turned off.
+   */
+  private final HeavyHitterSketch<Object> hotKeys;
+
   private final boolean isUsedForMetaRegion;
 
   private final boolean isMetaRegionWithTransactions;
@@ -548,7 +555,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       throws DiskAccessException {
     this(regionName, attrs, parentRegion, cache, internalRegionArgs, internalDataView,
         RegionMapFactory::createVM, new DefaultServerRegionProxyConstructor(),
-        new DefaultEntryEventFactory(), poolName -> (PoolImpl) PoolManager.find(poolName),
+        RecyclingEntryEventFactory.ENABLED ? new RecyclingEntryEventFactory()
+            : new DefaultEntryEventFactory(),
+        poolName -> (PoolImpl) PoolManager.find(poolName),
         (LocalRegion region) -> new RegionPerfStats(
             cache.getInternalDistributedSystem().getStatisticsManager(),
             "RegionStats-" + regionName, cache.getCachePerfStats(),
@@ -640,6 +649,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     isUsedForSerialGatewaySenderQueue = internalRegionArgs.isUsedForSerialGatewaySenderQueue();
     isUsedForParallelGatewaySenderQueue =
         internalRegionArgs.isUsedForParallelGatewaySenderQueue();
+    hotKeys = HeavyHitterSketch.isEnabled() && !isInternalRegion()
+        && !internalRegionArgs.isInternalRegion() && !isUsedForSerialGatewaySenderQueue
+        && !isUsedForParallelGatewaySenderQueue ? new HeavyHitterSketch<>() : null;
     serialGatewaySender = internalRegionArgs.getSerialGatewaySender();
     if (internalRegionArgs.getCacheServiceProfiles() != null) {
       addCacheServiceProfiles(internalRegionArgs);
@@ -1055,6 +1067,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       validatedCreate(event, startPut);
     } finally {
       event.release();
+      entryEventFactory.recycle(event);
     }
   }
 
@@ -1091,7 +1104,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     checkForLimitedOrNoAccess();
 
     return entryEventFactory
-        .create(this, Operation.CREATE, key, value, aCallbackArgument, false, getMyId())
+        .createRecyclable(this, Operation.CREATE, key, value, aCallbackArgument, false, getMyId())
         .setCreate(true);
   }
 
@@ -1366,6 +1379,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     checkReadiness();
     checkForNoAccess();
     discoverJTA();
+    if (HeavyHitterSketch.shouldSample()) {
+      recordHotKey(key);
+    }
     long start = startGet();
     boolean isMiss = true;
     try {
@@ -1405,6 +1421,33 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return getCachePerfStats().startGet();
   }
 
+  /**
+   * Records a sampled operation on the given key for {@link #getHotKeys(int)}.
+   */
+  void recordHotKey(Object key) {
+    if (hotKeys != null) {
+      hotKeys.add(key);
+    }
+  }
+
+  /**
+   * @return false for the regions whose hot keys are not tracked
+   */
+  boolean isTrackingHotKeys() {
+    return hotKeys != null;
+  }
+
+  /**
+   * @return the keys this member operated on most often recently, with their estimated operation
+   *         counts, most frequent first
+   */
+  public List<HeavyHitterSketch.HeavyHitter<Object>> getHotKeys(int count) {
+    if (hotKeys == null) {
+      return Collections.emptyList();
+    }
+    return hotKeys.getTop(count);
+  }
+
   protected void endGet(long start, boolean isMiss) {
     getCachePerfStats().endGet(start, isMiss);
   }
@@ -1638,6 +1681,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       return validatedPut(event, startPut);
     } finally {
       event.release();
+      entryEventFactory.recycle(event);
     }
   }
 
@@ -1683,7 +1727,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     // generate EventID
     @Retained
     final EntryEventImpl event =
-        entryEventFactory.create(this, Operation.UPDATE, key, value,
+        entryEventFactory.createRecyclable(this, Operation.UPDATE, key, value,
             aCallbackArgument, false, getMyId());
     boolean eventReturned = false;
     try {
@@ -4012,13 +4056,17 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
               "regular expression argument was not a String");
         }
 
-        Pattern keyPattern = Pattern.compile((String) interestArg);
+        InterestPattern keyPattern = InterestPattern.compile((String) interestArg);
+        if (keyPattern.getExactKey() != null) {
+          // no need to scan the region for the only key the expression can match
+          return getKeysWithInterest(InterestType.KEY, keyPattern.getExactKey(), allowTombstones);
+        }
         for (Object entryKey : keySet(allowTombstones)) {
           if (!(entryKey instanceof String)) {
             // key is not a String, cannot apply regex to this entry
             continue;
           }
-          if (!keyPattern.matcher((String) entryKey).matches()) {
+          if (!keyPattern.matches((String) entryKey)) {
             // key does not match the regex, this entry should not be returned.
             continue;
           }
@@ -5649,6 +5697,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     if (!MemoryThresholds.isLowMemoryExceptionDisabled()) {
       checkIfAboveThreshold(event);
     }
+    if (HeavyHitterSketch.shouldSample()) {
+      recordHotKey(event.getKey());
+    }
 
     Operation originalOp = event.getOperation();
     RegionEntry oldEntry;
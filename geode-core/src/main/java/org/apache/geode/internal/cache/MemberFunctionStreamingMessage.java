@@ -45,6 +45,7 @@ import org.apache.geode.distributed.internal.ReplyMessage;
 import org.apache.geode.distributed.internal.ReplyProcessor21;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.cache.execute.FunctionConcurrencyLimiter;
 import org.apache.geode.internal.cache.execute.FunctionContextImpl;
 import org.apache.geode.internal.cache.execute.MemberFunctionResultSender;
 import org.apache.geode.internal.cache.execute.MultiRegionFunctionContextImpl;
@@ -198,7 +199,7 @@ public class MemberFunctionStreamingMessage extends DistributionMessage
         logger.debug("Executing Function: {} on remote member with context: {}",
             functionObject.getId(), context.toString());
       }
-      functionObject.execute(context);
+      FunctionConcurrencyLimiter.execute(functionObject, context);
       if (!replyLastMsg && functionObject.hasResult()) {
         throw new FunctionException(
             String.format("The function, %s, did not send last result",
@@ -5152,7 +5152,7 @@ public class Oplog implements CompactableOplog, Flushable {
         // writeBuf
         startPos = olf.channel.position() + olf.writeBuf.position();
         long bytesWritten = opState.write(olf);
-        if (!async && doFlushIfSync) {
+        if (!async && doFlushIfSync && !getParent().deferSyncWrite(this)) {
           flushAndSync();
         }
         getStats().incWrittenBytes(bytesWritten, async);
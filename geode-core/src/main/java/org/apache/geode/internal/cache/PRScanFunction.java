@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+import org.apache.geode.cache.EntryDestroyedException;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.ResultSender;
+import org.apache.geode.internal.cache.execute.BucketMovedException;
+import org.apache.geode.internal.cache.execute.InternalFunction;
+import org.apache.geode.internal.cache.execute.InternalRegionFunctionContext;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Scans the local buckets a region function execution was routed to, bucket by bucket, and sends
+ * the projection of every entry accepted by the filter back in chunks. The filter and projection
+ * run where the data is, so only the selected, projected results cross the network.
+ * <p>
+ * The arguments are an array of the {@link ScanFilter} (null to accept every entry), the
+ * {@link ScanProjection} and the number of results per chunk.
+ *
+ * @see PartitionedRegion#scan(ScanFilter, ScanProjection)
+ * @since Geode 1.15
+ */
+public class PRScanFunction implements InternalFunction<Object[]> {
+
+  /**
+   * The number of results sent to the caller in each chunk
+   */
+  static final int CHUNK_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PRScanFunction.CHUNK_SIZE", 1000);
+
+  /**
+   * Selects the entries of a scan, given their key and value. The value is null for an invalid
+   * entry. Runs on the members hosting the data, so its class must be available there.
+   */
+  @FunctionalInterface
+  public interface ScanFilter extends BiPredicate<Object, Object>, Serializable {
+  }
+
+  /**
+   * Computes the result of a scan for an entry, given its key and value. Runs on the members
+   * hosting the data, so its class must be available there, and its results must be serializable.
+   */
+  @FunctionalInterface
+  public interface ScanProjection<R> extends BiFunction<Object, Object, R>, Serializable {
+  }
+
+  @Override
+  public void execute(FunctionContext<Object[]> context) {
+    InternalRegionFunctionContext regionContext = (InternalRegionFunctionContext) context;
+    Object[] arguments = context.getArguments();
+    ScanFilter filter = (ScanFilter) arguments[0];
+    ScanProjection<?> projection = (ScanProjection<?>) arguments[1];
+    int chunkSize = (Integer) arguments[2];
+
+    PartitionedRegion region = (PartitionedRegion) regionContext.getDataSet();
+    LocalDataSet localData = (LocalDataSet) regionContext.getLocalDataSet(region);
+    ResultSender<List<Object>> resultSender = context.getResultSender();
+
+    List<Object> chunk = new ArrayList<>(chunkSize);
+    for (Integer bucketId : localData.getBucketSet()) {
+      BucketRegion bucket = region.getDataStore().getLocalBucketById(bucketId);
+      if (bucket == null) {
+        throw new BucketMovedException(
+            "The Bucket region with id " + bucketId + " is moved/destroyed.");
+      }
+      bucket.waitForData();
+      for (Object object : bucket.entrySet()) {
+        Region.Entry<?, ?> entry = (Region.Entry<?, ?>) object;
+        Object key;
+        Object value;
+        try {
+          key = entry.getKey();
+          value = entry.getValue();
+        } catch (EntryDestroyedException ignore) {
+          continue;
+        }
+        if (filter != null && !filter.test(key, value)) {
+          continue;
+        }
+        chunk.add(projection.apply(key, value));
+        if (chunk.size() >= chunkSize) {
+          resultSender.sendResult(chunk);
+          chunk = new ArrayList<>(chunkSize);
+        }
+      }
+    }
+    resultSender.lastResult(chunk);
+  }
+
+  @Override
+  public String getId() {
+    return getClass().getName();
+  }
+
+  @Override
+  public boolean optimizeForWrite() {
+    return false;
+  }
+
+  /**
+   * A retry would send the results of the buckets scanned before the failure again
+   */
+  @Override
+  public boolean isHA() {
+    return false;
+  }
+}
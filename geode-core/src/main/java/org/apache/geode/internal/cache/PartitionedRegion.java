@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,6 +36,8 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -42,11 +45,15 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -180,6 +187,7 @@ import org.apache.geode.internal.cache.execute.PartitionedRegionFunctionResultSe
 import org.apache.geode.internal.cache.execute.PartitionedRegionFunctionResultWaiter;
 import org.apache.geode.internal.cache.execute.RegionFunctionContextImpl;
 import org.apache.geode.internal.cache.execute.ServerToClientFunctionResultSender;
+import org.apache.geode.internal.cache.execute.StreamingResultCollector;
 import org.apache.geode.internal.cache.ha.ThreadIdentifier;
 import org.apache.geode.internal.cache.partitioned.ContainsKeyValueMessage;
 import org.apache.geode.internal.cache.partitioned.ContainsKeyValueMessage.ContainsKeyValueResponse;
@@ -293,12 +301,43 @@ public class PartitionedRegion extends LocalRegion
 
   private final DiskRegionStats diskRegionStats;
 
+  /**
+   * The buckets hosted by this member that were operated on most often recently, or null if the
+   * hot keys of this region are not tracked.
+   */
+  private final HeavyHitterSketch<Integer> hotBuckets =
+      isTrackingHotKeys() ? new HeavyHitterSketch<>() : null;
+
   /**
    * Changes scope of replication to secondary bucket to SCOPE.DISTRIBUTED_NO_ACK
    */
   static final boolean DISABLE_SECONDARY_BUCKET_ACK =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "disablePartitionedRegionBucketAck");
 
+  /**
+   * The number of chunks of results buffered by a {@link #scan} before the members sending them
+   * have to wait for the caller
+   */
+  static final int SCAN_BUFFER_SIZE =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "PartitionedRegion.SCAN_BUFFER_SIZE", 16);
+
+  /**
+   * The most buckets a register-interest request fetches from other members at the same time. The
+   * entries of each bucket are still sent to the client as soon as they arrive, in the order the
+   * buckets were requested.
+   */
+  static final int REGISTER_INTEREST_FETCHES_PER_REQUEST = Math.max(1, Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "PartitionedRegion.REGISTER_INTEREST_FETCHES_PER_REQUEST", 1));
+
+  /**
+   * Bounds the bucket fetches of all register-interest requests of this member that are in flight
+   * in addition to the one each request can always have, so that many clients registering interest
+   * at once, as they do after a server restart, cannot flood the members hosting the buckets.
+   */
+  @MakeNotStatic
+  private static final Semaphore registerInterestFetchPermits = new Semaphore(Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "PartitionedRegion.REGISTER_INTEREST_MAX_EXTRA_FETCHES", 64));
+
   /**
    * A debug flag used for testing calculation of starting bucket id
    */
@@ -3333,6 +3372,32 @@ public class PartitionedRegion extends LocalRegion
     // so nothing is needed on the PartitionedRegion.
   }
 
+  @Override
+  void recordHotKey(Object key) {
+    // hot keys are recorded by the BucketRegion that serves the operation
+  }
+
+  /**
+   * Records a sampled operation on the given key of a bucket hosted by this member.
+   */
+  void recordBucketHotKey(int bucketId, Object key) {
+    if (hotBuckets != null) {
+      super.recordHotKey(key);
+      hotBuckets.add(bucketId);
+    }
+  }
+
+  /**
+   * @return the ids of the local buckets operated on most often recently, with their estimated
+   *         operation counts, most frequent first
+   */
+  public List<HeavyHitterSketch.HeavyHitter<Integer>> getHotBuckets(int count) {
+    if (hotBuckets == null) {
+      return Collections.emptyList();
+    }
+    return hotBuckets.getTop(count);
+  }
+
   public InternalDistributedMember getOrCreateNodeForBucketRead(int bucketId) {
     InternalDistributedMember targetNode = getNodeForBucketRead(bucketId);
     if (targetNode != null) {
@@ -4703,43 +4768,18 @@ public class PartitionedRegion extends LocalRegion
       HashMap<InternalDistributedMember, HashMap<Integer, HashSet>> nodeToBuckets,
       HashMap<Integer, HashSet> failures, VersionedObjectList values, ServerConnection servConn)
       throws IOException {
-    Set result = null;
-    HashMap<Integer, HashSet> oneBucketKeys = new HashMap<>();
-
+    HashMap<Integer, HashSet> bucketKeys = new HashMap<>();
+    HashMap<InternalDistributedMember, Set<Integer>> nodeToBucketIds = new HashMap<>();
     for (Map.Entry<InternalDistributedMember, HashMap<Integer, HashSet>> entry : nodeToBuckets
         .entrySet()) {
-      HashMap<Integer, HashSet> bucketKeys = entry.getValue();
-      FetchBulkEntriesResponse fber = null;
-      result = new HashSet();
-
-      // Fetch one bucket-data at a time to avoid this VM running out of memory.
-      // See #50647
-      for (Map.Entry<Integer, HashSet> e : bucketKeys.entrySet()) {
-        result.clear();
-        oneBucketKeys.clear();
-        oneBucketKeys.put(e.getKey(), e.getValue());
-        try {
-          fber =
-              FetchBulkEntriesMessage.send(entry.getKey(), this, oneBucketKeys, null, null, true);
-
-          BucketDump[] bds = fber.waitForEntries();
-          if (fber.getFailedBucketIds() != null && !fber.getFailedBucketIds().isEmpty()) {
-            for (int id : fber.getFailedBucketIds()) {
-              failures.put(id, nodeToBuckets.get(entry.getKey()).get(id));
-            }
-          }
-          for (BucketDump bd : bds) {
-            result.addAll(bd.getValuesWithVersions().entrySet());
-          }
-
-          BaseCommand.appendNewRegisterInterestResponseChunk(this, values, "keyList", result,
-              servConn);
-
-        } catch (ForceReattemptException ignore) {
-          failures.put(e.getKey(), e.getValue());
-        }
-      }
+      bucketKeys.putAll(entry.getValue());
+      nodeToBucketIds.put(entry.getKey(), entry.getValue().keySet());
     }
+    fetchRemoteBuckets(nodeToBucketIds, (node, bucketId) -> {
+      HashMap<Integer, HashSet> oneBucketKeys = new HashMap<>();
+      oneBucketKeys.put(bucketId, bucketKeys.get(bucketId));
+      return FetchBulkEntriesMessage.send(node, this, oneBucketKeys, null, null, true);
+    }, bucketId -> failures.put(bucketId, bucketKeys.get(bucketId)), "keyList", values, servConn);
   }
 
   /**
@@ -4749,41 +4789,116 @@ public class PartitionedRegion extends LocalRegion
   public void fetchAllRemoteEntries(
       HashMap<InternalDistributedMember, HashSet<Integer>> nodeToBuckets, HashSet<Integer> failures,
       String regex, VersionedObjectList values, ServerConnection servConn) throws IOException {
-    Set result = null;
-    HashSet<Integer> bucketId = new HashSet<>();
-
-    for (Map.Entry<InternalDistributedMember, HashSet<Integer>> entry : nodeToBuckets.entrySet()) {
-      HashSet<Integer> buckets = new HashSet<>(entry.getValue()); // Is it needed to copy the
-      // set here?
-      FetchBulkEntriesResponse fber = null;
-      result = new HashSet();
-
-      // Fetch one bucket-data at a time to avoid this VM running out of memory.
-      // See #50647
-      for (int bucket : buckets) {
-        result.clear();
-        bucketId.clear();
-        bucketId.add(bucket);
-        try {
-          fber = FetchBulkEntriesMessage.send(entry.getKey(), this, null, bucketId, regex, true);
+    fetchRemoteBuckets(nodeToBuckets, (node, bucketId) -> {
+      HashSet<Integer> bucketIds = new HashSet<>();
+      bucketIds.add(bucketId);
+      return FetchBulkEntriesMessage.send(node, this, null, bucketIds, regex, true);
+    }, failures::add, regex != null ? regex : "ALL_KEYS", values, servConn);
+  }
 
-          BucketDump[] bds = fber.waitForEntries();
-          if (fber.getFailedBucketIds() != null) {
-            failures.addAll(fber.getFailedBucketIds());
+  /**
+   * Fetches the entries of the buckets one bucket per message, to avoid this VM running out of
+   * memory (see #50647), and appends them to the register-interest response in the order the
+   * buckets were requested. Up to {@link #REGISTER_INTEREST_FETCHES_PER_REQUEST} buckets are
+   * fetched at the same time, as long as {@link #registerInterestFetchPermits} allows it.
+   */
+  private void fetchRemoteBuckets(
+      Map<InternalDistributedMember, ? extends Collection<Integer>> nodeToBuckets,
+      BucketFetcher fetcher, Consumer<Integer> failures, Object riKeys,
+      VersionedObjectList values, ServerConnection servConn) throws IOException {
+    fetchRemoteBuckets(nodeToBuckets, fetcher, failures, riKeys, values, servConn,
+        REGISTER_INTEREST_FETCHES_PER_REQUEST, registerInterestFetchPermits);
+  }
+
+  @VisibleForTesting
+  void fetchRemoteBuckets(
+      Map<InternalDistributedMember, ? extends Collection<Integer>> nodeToBuckets,
+      BucketFetcher fetcher, Consumer<Integer> failures, Object riKeys,
+      VersionedObjectList values, ServerConnection servConn, int fetchesPerRequest,
+      Semaphore permits) throws IOException {
+    ArrayDeque<BucketFetch> inFlight = new ArrayDeque<>();
+    try {
+      for (Map.Entry<InternalDistributedMember, ? extends Collection<Integer>> entry : nodeToBuckets
+          .entrySet()) {
+        for (int bucketId : new ArrayList<>(entry.getValue())) {
+          boolean hasPermit = false;
+          while (!inFlight.isEmpty()) {
+            if (inFlight.size() < fetchesPerRequest && permits.tryAcquire()) {
+              hasPermit = true;
+              break;
+            }
+            // the oldest fetch has to complete before another one is started
+            completeBucketFetch(inFlight.poll(), failures, riKeys, values, servConn, permits);
           }
-          for (BucketDump bd : bds) {
-            result.addAll(bd.getValuesWithVersions().entrySet());
+          try {
+            inFlight.add(
+                new BucketFetch(bucketId, fetcher.fetch(entry.getKey(), bucketId), hasPermit));
+          } catch (ForceReattemptException ignore) {
+            failures.accept(bucketId);
+            if (hasPermit) {
+              permits.release();
+            }
           }
-          BaseCommand.appendNewRegisterInterestResponseChunk(this, values,
-              regex != null ? regex : "ALL_KEYS", result, servConn);
-
-        } catch (ForceReattemptException ignore) {
-          failures.add(bucket);
+        }
+      }
+      while (!inFlight.isEmpty()) {
+        completeBucketFetch(inFlight.poll(), failures, riKeys, values, servConn, permits);
+      }
+    } finally {
+      for (BucketFetch fetch : inFlight) {
+        if (fetch.hasPermit) {
+          permits.release();
         }
       }
     }
   }
 
+  private void completeBucketFetch(BucketFetch fetch, Consumer<Integer> failures, Object riKeys,
+      VersionedObjectList values, ServerConnection servConn, Semaphore permits)
+      throws IOException {
+    try {
+      BucketDump[] bds = fetch.response.waitForEntries();
+      if (fetch.response.getFailedBucketIds() != null) {
+        fetch.response.getFailedBucketIds().forEach(failures);
+      }
+      Set result = new HashSet();
+      for (BucketDump bd : bds) {
+        result.addAll(bd.getValuesWithVersions().entrySet());
+      }
+      appendRegisterInterestResponseChunk(values, riKeys, result, servConn);
+    } catch (ForceReattemptException ignore) {
+      failures.accept(fetch.bucketId);
+    } finally {
+      if (fetch.hasPermit) {
+        permits.release();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void appendRegisterInterestResponseChunk(VersionedObjectList values, Object riKeys, Set result,
+      ServerConnection servConn) throws IOException {
+    BaseCommand.appendNewRegisterInterestResponseChunk(this, values, riKeys, result, servConn);
+  }
+
+  @FunctionalInterface
+  interface BucketFetcher {
+    FetchBulkEntriesResponse fetch(InternalDistributedMember node, int bucketId)
+        throws ForceReattemptException;
+  }
+
+  private static class BucketFetch {
+    private final int bucketId;
+    private final FetchBulkEntriesResponse response;
+    private final boolean hasPermit;
+
+    BucketFetch(int bucketId, FetchBulkEntriesResponse response, boolean hasPermit) {
+      this.bucketId = bucketId;
+      this.response = response;
+      this.hasPermit = hasPermit;
+    }
+  }
+
   /**
    * Test Method: Get all {@link InternalDistributedMember}s known by this instance of the
    * PartitionedRegion. Note: A member is recognized as such when it partiticpates as a "data
@@ -6329,6 +6444,34 @@ public class PartitionedRegion extends LocalRegion
     return false;
   }
 
+  /**
+   * Scans the entries of this region on the members hosting their buckets, all of them in
+   * parallel, and streams the results to the caller as they arrive. The filter and projection are
+   * run next to the data, so only the results of the selected entries are sent to the caller.
+   * <p>
+   * Each bucket is scanned once, on one of its copies. Once the caller has buffered
+   * {@link #SCAN_BUFFER_SIZE} chunks of results, the members wait for it to catch up. A failure
+   * of a member, including a bucket moving during the scan, ends the stream with a
+   * FunctionException after the results received before it.
+   *
+   * @param filter selects the entries to return, or null to return all of them
+   * @param projection computes the result returned for each selected entry
+   * @return the results, which must be closed if not read to the end
+   * @since Geode 1.15
+   */
+  public <R> Stream<R> scan(PRScanFunction.ScanFilter filter,
+      PRScanFunction.ScanProjection<R> projection) {
+    requireNonNull(projection, "projection");
+    checkReadiness();
+    AbstractExecution execution = (AbstractExecution) FunctionService.onRegion(this)
+        .setArguments(new Object[] {filter, projection, PRScanFunction.CHUNK_SIZE});
+    StreamingResultCollector<List<R>> results =
+        execution.executeStreaming(new PRScanFunction(), SCAN_BUFFER_SIZE);
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(results, Spliterator.NONNULL), false)
+        .flatMap(List::stream).onClose(results::close);
+  }
+
   @Override
   public boolean containsKey(Object key) {
     checkReadiness();
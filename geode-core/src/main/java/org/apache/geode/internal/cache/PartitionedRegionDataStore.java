@@ -80,6 +80,7 @@ import org.apache.geode.internal.cache.PartitionedRegion.BucketLock;
 import org.apache.geode.internal.cache.PartitionedRegion.SizeEntry;
 import org.apache.geode.internal.cache.backup.BackupService;
 import org.apache.geode.internal.cache.execute.BucketMovedException;
+import org.apache.geode.internal.cache.execute.FunctionConcurrencyLimiter;
 import org.apache.geode.internal.cache.execute.PartitionedRegionFunctionResultSender;
 import org.apache.geode.internal.cache.execute.RegionFunctionContextImpl;
 import org.apache.geode.internal.cache.execute.metrics.FunctionStats;
@@ -1967,6 +1968,7 @@ public class PartitionedRegionDataStore implements HasCachePerfStats {
           bucketRegion.getName(), returnTombstones);
     }
     invokeBucketReadHook();
+    bucketRegion.getOperationRates().recordRead();
     try {
       ret = bucketRegion.get(key, aCallbackArgument, true, disableCopyOnRead, preferCD,
           requestingClient, clientEvent, returnTombstones, opScopeIsLocal, false);
@@ -2012,6 +2014,7 @@ public class PartitionedRegionDataStore implements HasCachePerfStats {
           keyInfo.getBucketId(), bucketRegion.getName());
     }
     invokeBucketReadHook();
+    bucketRegion.getOperationRates().recordRead();
 
     try {
       RawValue result = bucketRegion.getSerialized(keyInfo, true, doNotLockEntry, requestingClient,
@@ -2956,7 +2959,7 @@ public class PartitionedRegionDataStore implements HasCachePerfStats {
         logger.debug("Executing Function: {} on Remote Node with context: ", function.getId(),
             prContext);
       }
-      function.execute(prContext);
+      FunctionConcurrencyLimiter.execute(function, prContext);
       stats.endFunctionExecution(start, function.hasResult());
     } catch (FunctionException functionException) {
       if (logger.isDebugEnabled()) {
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.DistributedMember;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.offheap.annotations.Retained;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * An {@link EntryEventFactory} that hands out {@link EntryEventImpl}s recycled by the
+ * {@link LocalRegion#put(Object, Object, Object)} and {@link LocalRegion#create(Object, Object)}
+ * paths instead of allocating a new one for every operation. Each thread keeps at most one idle
+ * event so no synchronization is needed. An idle event is reset when it is recycled, so it does not
+ * keep the region, and with it a closed cache, reachable.
+ * <p>
+ * Recycling is only safe if nothing holds on to the event once the operation returns, so it is
+ * disabled unless {@link #RECYCLE_PROPERTY} is set. As with off-heap values, cache listeners and
+ * writers must not use an event after their callback returns. Events of a cache that dispatches
+ * listener callbacks asynchronously are never recycled, and neither are events of a distributed
+ * system with an off-heap store, since those need their own off-heap lock. Setting
+ * {@link #DEBUG_PROPERTY} logs events that were handed out but never recycled and fails on double
+ * recycling.
+ *
+ * @since Geode 1.15
+ */
+public class RecyclingEntryEventFactory extends DefaultEntryEventFactory {
+  private static final Logger logger = LogService.getLogger();
+
+  public static final String RECYCLE_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "EntryEventImpl.RECYCLE";
+
+  public static final String DEBUG_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "EntryEventImpl.RECYCLE_DEBUG";
+
+  public static final boolean ENABLED = Boolean.getBoolean(RECYCLE_PROPERTY);
+
+  private static final boolean DEBUG = Boolean.getBoolean(DEBUG_PROPERTY);
+
+  private static final ThreadLocal<EntryEventImpl> idleEvent = new ThreadLocal<>();
+
+  /**
+   * Only used in debug mode: the events handed out to this thread and not yet recycled, most
+   * recent first.
+   */
+  private static final ThreadLocal<Outstanding> outstandingEvent = new ThreadLocal<>();
+
+  @MakeNotStatic
+  private static final AtomicLong leakedEvents = new AtomicLong();
+
+  private final boolean debug;
+
+  public RecyclingEntryEventFactory() {
+    this(DEBUG);
+  }
+
+  @VisibleForTesting
+  RecyclingEntryEventFactory(boolean debug) {
+    this.debug = debug;
+  }
+
+  @Override
+  @Retained
+  public EntryEventImpl createRecyclable(InternalRegion region, Operation op, Object key,
+      Object newValue, Object callbackArgument, boolean originRemote,
+      DistributedMember distributedMember) {
+    EntryEventImpl event = idleEvent.get();
+    if (event == null || hasOffHeapStore(region)) {
+      event = create(region, op, key, newValue, callbackArgument, originRemote,
+          distributedMember);
+    } else {
+      idleEvent.set(null);
+      event.reinitialize(region, op, key, newValue, callbackArgument, originRemote,
+          distributedMember);
+    }
+    if (debug) {
+      outstandingEvent.set(new Outstanding(event, outstandingEvent.get()));
+    }
+    return event;
+  }
+
+  /**
+   * Makes the event available to the next {@link #createRecyclable} on this thread. The caller must
+   * have released the event and must not use it afterwards.
+   */
+  @Override
+  public void recycle(EntryEventImpl event) {
+    if (debug) {
+      if (idleEvent.get() == event) {
+        throw new IllegalStateException("EntryEventImpl recycled twice: " + event);
+      }
+      checkOutstanding(event);
+    }
+    if (event.isRecyclable() && !isDispatchedAsynchronously(event)) {
+      event.resetForRecycling();
+      idleEvent.set(event);
+    }
+  }
+
+  private static boolean hasOffHeapStore(InternalRegion region) {
+    InternalDistributedSystem ds =
+        (InternalDistributedSystem) region.getCache().getDistributedSystem();
+    return ds.getOffHeapStore() != null;
+  }
+
+  /**
+   * Listener callbacks run on the cache's event thread pool keep a reference to the event after
+   * the operation returns.
+   */
+  private static boolean isDispatchedAsynchronously(EntryEventImpl event) {
+    return event.getRegion().getCache().getEventThreadPool() != null;
+  }
+
+  /**
+   * Events are recycled in the reverse order they were created, even when operations nest (for
+   * example a cache writer that does a put), so any event created after this one and still
+   * outstanding was leaked.
+   */
+  private void checkOutstanding(EntryEventImpl event) {
+    Outstanding found = outstandingEvent.get();
+    while (found != null && found.event != event) {
+      found = found.previous;
+    }
+    if (found == null) {
+      return;
+    }
+    for (Outstanding leaked = outstandingEvent.get(); leaked != found; leaked = leaked.previous) {
+      leakedEvents.incrementAndGet();
+      logger.warn("An EntryEventImpl created by this thread was never recycled",
+          leaked.createdAt);
+    }
+    outstandingEvent.set(found.previous);
+  }
+
+  @VisibleForTesting
+  static long getLeakedEvents() {
+    return leakedEvents.get();
+  }
+
+  @VisibleForTesting
+  static void clearThreadState() {
+    idleEvent.remove();
+    outstandingEvent.remove();
+  }
+
+  private static class Outstanding {
+    private final EntryEventImpl event;
+    private final Outstanding previous;
+    private final Throwable createdAt;
+
+    Outstanding(EntryEventImpl event, Outstanding previous) {
+      this.event = event;
+      this.previous = previous;
+      createdAt = new Throwable("EntryEventImpl created here");
+    }
+  }
+}
@@ -322,6 +322,12 @@ class RegionPerfStats extends CachePerfStats implements RegionStats {
     cachePerfStats.incTombstoneGCCount();
   }
 
+  @Override
+  public void incExpiredTombstones(long amount) {
+    stats.incLong(expiredTombstonesId, amount);
+    cachePerfStats.incExpiredTombstones(amount);
+  }
+
   @Override
   public void incClearTimeouts() {
     stats.incLong(clearTimeoutsId, 1);
@@ -599,6 +605,13 @@ class RegionPerfStats extends CachePerfStats implements RegionStats {
     cachePerfStats.incPreviouslySeenEvents();
   }
 
+  @Override
+  public void endServerInvalidate(long lag) {
+    stats.incLong(serverInvalidatesId, 1L);
+    stats.incLong(serverInvalidateLagId, Math.max(0L, lag));
+    cachePerfStats.endServerInvalidate(lag);
+  }
+
   private static Gauge registerEntriesGauge(InternalRegion region, MeterRegistry meterRegistry) {
     return Gauge.builder("geode.cache.entries", region::getLocalSize)
         .description("Current number of entries in the region.")
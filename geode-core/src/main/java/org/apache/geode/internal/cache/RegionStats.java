@@ -83,6 +83,8 @@ public interface RegionStats {
 
   void incTombstoneGCCount();
 
+  void incExpiredTombstones(long amount);
+
   void incClearTimeouts();
 
   void incConflatedEventsCount();
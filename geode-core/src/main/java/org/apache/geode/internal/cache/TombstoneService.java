@@ -31,6 +31,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apache.logging.log4j.Logger;
@@ -98,12 +99,38 @@ public class TombstoneService {
       Integer.getInteger(GEMFIRE_PREFIX + "tombstone-gc-threshold", 100000);
 
   /**
-   * The max number of tombstones in an expired batch. This covers all replicated regions, including
-   * PR buckets. The default is 100,000 expired tombstones.
+   * The number of expired tombstones that starts their garbage collection. This covers all
+   * replicated regions, including PR buckets. The default is 100,000 expired tombstones.
    */
   @MutableForTesting
   public static int EXPIRED_TOMBSTONE_LIMIT = EXPIRED_TOMBSTONE_LIMIT_DEFAULT;
 
+  @VisibleForTesting
+  public static final int TOMBSTONE_GC_BATCH_SIZE_DEFAULT =
+      Integer.getInteger(GEMFIRE_PREFIX + "tombstone-gc-batch-size", 10000);
+
+  /**
+   * The max number of expired tombstones removed by one garbage collection. Once the expired
+   * tombstones reach {@link #EXPIRED_TOMBSTONE_LIMIT} they are reaped in batches of this size, one
+   * batch at a time, until no more than a quarter of that limit are left. Each batch takes the
+   * regions (or PR buckets) with the most expired tombstones first. The default is 10,000
+   * tombstones.
+   */
+  @MutableForTesting
+  public static int TOMBSTONE_GC_BATCH_SIZE = TOMBSTONE_GC_BATCH_SIZE_DEFAULT;
+
+  @VisibleForTesting
+  public static final long TOMBSTONE_GC_BATCH_INTERVAL_DEFAULT =
+      Long.getLong(GEMFIRE_PREFIX + "tombstone-gc-batch-interval", 100);
+
+  /**
+   * The minimum time, in milliseconds, between the start of two batches of expired tombstone
+   * removals. Together with {@link #TOMBSTONE_GC_BATCH_SIZE} this caps the rate at which tombstones
+   * are reaped and GC messages are sent. The default is 100 milliseconds.
+   */
+  @MutableForTesting
+  public static long TOMBSTONE_GC_BATCH_INTERVAL = TOMBSTONE_GC_BATCH_INTERVAL_DEFAULT;
+
   @VisibleForTesting
   public static final long DEFUNCT_TOMBSTONE_SCAN_INTERVAL_DEFAULT =
       Long.getLong(GEMFIRE_PREFIX + "tombstone-scan-interval", 60000);
@@ -480,11 +507,32 @@ public class TombstoneService {
      */
     private final ExecutorService executor;
     /**
-     * tombstones that have expired and are awaiting batch removal.
+     * tombstones that have expired and are awaiting batch removal, kept per region so that a batch
+     * can reap a few regions (or PR buckets) without going through the tombstones of all the
+     * others. The tombstones of each region are in the order they expired.
      */
-    private final List<Tombstone> expiredTombstones;
+    private final Map<DistributedRegion, List<Tombstone>> expiredTombstones;
     private final Object expiredTombstonesLock = new Object();
 
+    /**
+     * The number of tombstones in {@link #expiredTombstones}. Only changed while holding
+     * expiredTombstonesLock.
+     */
+    private volatile int expiredTombstoneCount;
+
+    /**
+     * Set once the expired tombstones reach {@link #EXPIRED_TOMBSTONE_LIMIT}, or their collection
+     * is forced, and cleared when they are down to {@link #getExpiredTombstoneLowWaterMark()}. A
+     * steady trickle of deletes would keep the count from ever reaching zero and batches would be
+     * sent every {@link #TOMBSTONE_GC_BATCH_INTERVAL}. Only accessed by the sweeper thread.
+     */
+    private boolean reapingExpiredTombstones;
+
+    /**
+     * When the last batch expiration was started. Only accessed by the sweeper thread.
+     */
+    private long lastBatchExpirationTime;
+
     /**
      * Force batch expiration
      */
@@ -514,7 +562,7 @@ public class TombstoneService {
         CancelCriterion cancelCriterion, ExecutorService executor) {
       super(cacheTime, stats, cancelCriterion, REPLICATE_TOMBSTONE_TIMEOUT,
           "Replicate/Partition Region Garbage Collector");
-      expiredTombstones = new ArrayList<>();
+      expiredTombstones = new HashMap<>();
       this.executor = executor;
     }
 
@@ -545,15 +593,28 @@ public class TombstoneService {
       boolean result = false;
       long removalSize = 0;
       synchronized (expiredTombstonesLock) {
-        // Iterate in reverse order to optimize lots of removes.
-        // Since expiredTombstones is an ArrayList removing from
-        // low indexes requires moving everything at a higher index down.
-        for (int idx = expiredTombstones.size() - 1; idx >= 0; idx--) {
-          Tombstone t = expiredTombstones.get(idx);
-          if (predicate.test(t)) {
-            removalSize += t.getSize();
-            expiredTombstones.remove(idx);
+        for (Iterator<Map.Entry<DistributedRegion, List<Tombstone>>> it =
+            expiredTombstones.entrySet().iterator(); it.hasNext();) {
+          Map.Entry<DistributedRegion, List<Tombstone>> shard = it.next();
+          List<Tombstone> regionTombstones = shard.getValue();
+          int removed = 0;
+          // Iterate in reverse order to optimize lots of removes.
+          // Since the tombstones are in an ArrayList removing from
+          // low indexes requires moving everything at a higher index down.
+          for (int idx = regionTombstones.size() - 1; idx >= 0; idx--) {
+            Tombstone t = regionTombstones.get(idx);
+            if (predicate.test(t)) {
+              removalSize += t.getSize();
+              regionTombstones.remove(idx);
+              removed++;
+            }
+          }
+          if (removed > 0) {
             result = true;
+            expiredTombstonesRemoved(shard.getKey(), removed);
+            if (regionTombstones.isEmpty()) {
+              it.remove();
+            }
           }
         }
       }
@@ -561,6 +622,37 @@ public class TombstoneService {
       return result;
     }
 
+    /**
+     * Picks the expired tombstones to reap in the next batch, at most
+     * {@link #TOMBSTONE_GC_BATCH_SIZE} of them. The regions with the most expired tombstones go
+     * first, which keeps the number of GC messages per reaped tombstone low, and within a region
+     * the oldest tombstones go first.
+     *
+     * @return the number of tombstones to take from the head of each chosen region's tombstones
+     */
+    private Map<DistributedRegion, Integer> selectBatch() {
+      List<Map.Entry<DistributedRegion, List<Tombstone>>> shards =
+          new ArrayList<>(expiredTombstones.entrySet());
+      shards.sort((shard1, shard2) -> Integer.compare(shard2.getValue().size(),
+          shard1.getValue().size()));
+      Map<DistributedRegion, Integer> batch = new HashMap<>();
+      int remaining = Math.max(TOMBSTONE_GC_BATCH_SIZE, 1);
+      for (Map.Entry<DistributedRegion, List<Tombstone>> shard : shards) {
+        if (remaining <= 0) {
+          break;
+        }
+        int count = Math.min(shard.getValue().size(), remaining);
+        batch.put(shard.getKey(), count);
+        remaining -= count;
+      }
+      return batch;
+    }
+
+    private void expiredTombstonesRemoved(DistributedRegion region, int count) {
+      expiredTombstoneCount -= count;
+      region.getRegionPerfStats().incExpiredTombstones(-count);
+    }
+
     /** expire a batch of tombstones */
 
     protected void expireBatch() {
@@ -591,20 +683,22 @@ public class TombstoneService {
           // BUT we send it to clients and the old
           // version of them expects it to be a Set.
           final Map<DistributedRegion, Set<Object>> reapedKeys = new HashMap<>();
+          final Map<DistributedRegion, Integer> batch;
 
           // Update the GC RVV for all of the affected regions.
           // We need to do this so that we can persist the GC RVV before
           // we start removing entries from the map.
           synchronized (expiredTombstonesLock) {
-            for (Tombstone t : expiredTombstones) {
-              DistributedRegion tr = (DistributedRegion) t.region;
+            batch = selectBatch();
+            for (Map.Entry<DistributedRegion, Integer> batchEntry : batch.entrySet()) {
+              DistributedRegion tr = batchEntry.getKey();
               if (!tr.isInitialized()) {
                 continue;
               }
-              tr.getVersionVector().recordGCVersion(t.getMemberID(), t.getRegionVersion());
-              if (!reapedKeys.containsKey(tr)) {
-                reapedKeys.put(tr, Collections.emptySet());
+              for (Tombstone t : expiredTombstones.get(tr).subList(0, batchEntry.getValue())) {
+                tr.getVersionVector().recordGCVersion(t.getMemberID(), t.getRegionVersion());
               }
+              reapedKeys.put(tr, Collections.emptySet());
             }
           }
 
@@ -622,7 +716,7 @@ public class TombstoneService {
           }
 
           // Remove the tombstones from the in memory region map.
-          removeExpiredIf(t -> {
+          removeBatch(batch, t -> {
             // for PR buckets we have to keep track of the keys removed because clients have
             // them all lumped in a single non-PR region
             DistributedRegion tr = (DistributedRegion) t.region;
@@ -638,7 +732,6 @@ public class TombstoneService {
                 keys.add(t.entry.getKey());
               }
             }
-            return true;
           });
 
           // do messaging in a pool so this thread is not stuck trying to
@@ -667,6 +760,36 @@ public class TombstoneService {
       } // sync on deltaGIILock
     }
 
+    /**
+     * Removes the tombstones picked by {@link #selectBatch()} from the expired tombstones, passing
+     * each one to the given consumer. The tombstones of a region that was unscheduled in the
+     * meantime are gone already and are skipped.
+     */
+    private void removeBatch(Map<DistributedRegion, Integer> batch, Consumer<Tombstone> consumer) {
+      long removalSize = 0;
+      synchronized (expiredTombstonesLock) {
+        for (Map.Entry<DistributedRegion, Integer> batchEntry : batch.entrySet()) {
+          DistributedRegion region = batchEntry.getKey();
+          List<Tombstone> regionTombstones = expiredTombstones.get(region);
+          if (regionTombstones == null) {
+            continue;
+          }
+          List<Tombstone> removals =
+              regionTombstones.subList(0, Math.min(batchEntry.getValue(), regionTombstones.size()));
+          for (Tombstone t : removals) {
+            removalSize += t.getSize();
+            consumer.accept(t);
+          }
+          expiredTombstonesRemoved(region, removals.size());
+          removals.clear();
+          if (regionTombstones.isEmpty()) {
+            expiredTombstones.remove(region);
+          }
+        }
+      }
+      updateMemoryEstimate(-removalSize);
+    }
+
     /**
      * Returns true if keys needs to be tracked for clients registering interests on PR.
      */
@@ -680,6 +803,7 @@ public class TombstoneService {
     protected void checkExpiredTombstoneGC() {
       if (shouldCallExpireBatch()) {
         forceBatchExpiration = false;
+        lastBatchExpirationTime = cacheTime.cacheTimeMillis();
         expireBatch();
       }
       checkIfBatchExpirationShouldBeForced();
@@ -690,16 +814,30 @@ public class TombstoneService {
         return false;
       }
       if (forceBatchExpiration) {
+        reapingExpiredTombstones = true;
         return true;
       }
       if (testHook_forceBatchExpireCall != null) {
         return true;
       }
-      return expiredTombstones.size() >= EXPIRED_TOMBSTONE_LIMIT;
+      if (expiredTombstoneCount >= EXPIRED_TOMBSTONE_LIMIT) {
+        reapingExpiredTombstones = true;
+      } else if (expiredTombstoneCount <= getExpiredTombstoneLowWaterMark()) {
+        reapingExpiredTombstones = false;
+      }
+      return reapingExpiredTombstones && !batchExpirationInProgress
+          && cacheTime.cacheTimeMillis() - lastBatchExpirationTime >= TOMBSTONE_GC_BATCH_INTERVAL;
+    }
+
+    /**
+     * @return the number of expired tombstones at which reaping them in batches stops
+     */
+    private static int getExpiredTombstoneLowWaterMark() {
+      return EXPIRED_TOMBSTONE_LIMIT / 4;
     }
 
     private void testHookIfIdleExpireBatch() {
-      if (IDLE_EXPIRATION && sleepTime >= EXPIRY_TIME && !expiredTombstones.isEmpty()) {
+      if (IDLE_EXPIRATION && sleepTime >= EXPIRY_TIME && expiredTombstoneCount > 0) {
         expireBatch();
       }
     }
@@ -719,7 +857,7 @@ public class TombstoneService {
       if (batchExpirationInProgress) {
         return;
       }
-      if (expiredTombstones.size() <= (EXPIRED_TOMBSTONE_LIMIT / 4)) {
+      if (expiredTombstoneCount <= (EXPIRED_TOMBSTONE_LIMIT / 4)) {
         return;
       }
       if (FORCE_GC_MEMORY_EVENTS || isFreeMemoryLow()) {
@@ -761,9 +899,12 @@ public class TombstoneService {
         logger.trace(LogMarker.TOMBSTONE_VERBOSE, "adding expired tombstone {} to batch",
             tombstone);
       }
+      DistributedRegion region = (DistributedRegion) tombstone.region;
       synchronized (expiredTombstonesLock) {
-        expiredTombstones.add(tombstone);
+        expiredTombstones.computeIfAbsent(region, k -> new ArrayList<>()).add(tombstone);
+        expiredTombstoneCount++;
       }
+      region.getRegionPerfStats().incExpiredTombstones(1);
     }
 
     @Override
@@ -791,8 +932,8 @@ public class TombstoneService {
 
     @Override
     public String toString() {
-      return super.toString() + " batchedExpiredTombstones[" + expiredTombstones.size() + "] = "
-          + expiredTombstones;
+      return super.toString() + " batchedExpiredTombstones[" + expiredTombstoneCount + "] = "
+          + expiredTombstones.values();
     }
 
     @Override
@@ -816,11 +957,15 @@ public class TombstoneService {
     @Override
     protected void beforeSleepChecks() {
       testHookIfIdleExpireBatch();
+      if (reapingExpiredTombstones) {
+        // come back for the next batch instead of waiting for the next tombstone to expire
+        sleepTime = Math.min(sleepTime, Math.max(TOMBSTONE_GC_BATCH_INTERVAL, 1));
+      }
     }
 
     @Override
     public long getScheduledTombstoneCount() {
-      return super.getScheduledTombstoneCount() + expiredTombstones.size();
+      return super.getScheduledTombstoneCount() + expiredTombstoneCount;
     }
   }
 
@@ -29,6 +29,7 @@ import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.cache.LowMemoryException;
 import org.apache.geode.cache.TransactionException;
 import org.apache.geode.cache.client.internal.ProxyCache;
+import org.apache.geode.cache.execute.Execution;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.FunctionContext;
 import org.apache.geode.cache.execute.FunctionException;
@@ -44,6 +45,7 @@ import org.apache.geode.distributed.internal.membership.InternalDistributedMembe
 import org.apache.geode.internal.cache.execute.metrics.FunctionStats;
 import org.apache.geode.internal.cache.execute.metrics.FunctionStatsManager;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.logging.internal.executors.LoggingThread;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 import org.apache.geode.util.internal.GeodeGlossary;
 
@@ -325,7 +327,7 @@ public abstract class AbstractExecution implements InternalExecution {
             cx.toString());
       }
 
-      fn.execute(cx);
+      FunctionConcurrencyLimiter.execute(fn, cx);
       stats.endFunctionExecution(start, fn.hasResult());
     } catch (FunctionInvocationTargetException fite) {
       FunctionException functionException;
@@ -402,6 +404,44 @@ public abstract class AbstractExecution implements InternalExecution {
     return execute(function, getTimeoutMs(), TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Executes the function and returns its results as they arrive, without waiting for the
+   * execution to complete. The execution runs on a separate thread that ends once the function has
+   * completed on every member. Iterating the results throws the exception the execution failed
+   * with, if any, after the results received before it.
+   *
+   * @param bufferSize the number of results buffered before the members sending them are made to
+   *        wait for the caller
+   * @see StreamingResultCollector
+   */
+  public <T> StreamingResultCollector<T> executeStreaming(final Function function,
+      int bufferSize) {
+    if (function == null) {
+      throw new FunctionException(
+          "The input function for the execute function request is null");
+    }
+    if (!function.hasResult()) {
+      throw new FunctionException(
+          String.format("Function %s does not send results to stream", function.getId()));
+    }
+    final StreamingResultCollector<T> collector = new StreamingResultCollector<>(bufferSize);
+    final Execution execution = withCollector(collector);
+    Thread executor = new LoggingThread("Function Result Streamer for " + function.getId(), () -> {
+      try {
+        execution.execute(function).getResult();
+        collector.endResults();
+      } catch (VirtualMachineError e) {
+        SystemFailure.initiateFailure(e);
+        throw e;
+      } catch (Throwable t) {
+        SystemFailure.checkFailure();
+        collector.fail(t);
+      }
+    });
+    executor.start();
+    return collector;
+  }
+
   @Override
   public void setWaitOnExceptionFlag(boolean waitOnException) {
     setForwardExceptions(waitOnException);
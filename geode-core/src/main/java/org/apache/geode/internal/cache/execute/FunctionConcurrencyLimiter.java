@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import org.apache.geode.annotations.VisibleForTesting;
+import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.distributed.internal.OperationExecutors;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * Limits how many executions of each function run at once on the virtual threads that execute
+ * function messages. A pool of platform threads bounds the executions on its own, but virtual
+ * threads are created for every message, so without a limit one function that blocks could pile up
+ * executions until it exhausts whatever it blocks on. Executions over the limit wait, which is
+ * cheap on a virtual thread. Executions on other threads, and executions of a function nested in
+ * an execution of the same function, are not limited.
+ *
+ * @since Geode 1.15
+ */
+public class FunctionConcurrencyLimiter {
+
+  /**
+   * The max number of executions of a function running at once on function execution virtual
+   * threads. Defaults to the size of the function execution pool that the virtual threads
+   * replace.
+   */
+  static final int MAX_CONCURRENT_EXECUTIONS = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "FunctionConcurrencyLimiter.MAX_CONCURRENT_EXECUTIONS",
+      OperationExecutors.MAX_FE_THREADS);
+
+  @MakeNotStatic
+  private static final FunctionConcurrencyLimiter instance =
+      new FunctionConcurrencyLimiter(MAX_CONCURRENT_EXECUTIONS);
+
+  private final int maxConcurrentExecutions;
+  private final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+  /**
+   * The ids of the functions the current thread holds a permit for, or null if the thread's
+   * executions are not limited
+   */
+  private final ThreadLocal<Set<String>> heldPermits = new ThreadLocal<>();
+
+  @VisibleForTesting
+  FunctionConcurrencyLimiter(int maxConcurrentExecutions) {
+    this.maxConcurrentExecutions = maxConcurrentExecutions;
+  }
+
+  /**
+   * Runs a task of the virtual thread executor that executes function messages, limiting the
+   * executions of functions by the task.
+   */
+  public static void runLimited(Runnable task) {
+    instance.run(task);
+  }
+
+  /**
+   * Executes the function, first waiting for one of its executions to end if the limit is reached
+   * and the current thread is limited.
+   */
+  public static <T> void execute(Function<T> function, FunctionContext<T> context) {
+    instance.limit(function, context);
+  }
+
+  @VisibleForTesting
+  void run(Runnable task) {
+    heldPermits.set(new HashSet<>());
+    try {
+      task.run();
+    } finally {
+      heldPermits.remove();
+    }
+  }
+
+  @VisibleForTesting
+  <T> void limit(Function<T> function, FunctionContext<T> context) {
+    Set<String> held = heldPermits.get();
+    String functionId = function.getId();
+    if (held == null || !held.add(functionId)) {
+      function.execute(context);
+      return;
+    }
+    try {
+      Semaphore semaphore = permits.computeIfAbsent(functionId,
+          id -> new Semaphore(maxConcurrentExecutions));
+      try {
+        semaphore.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FunctionException(
+            "Interrupted while waiting to execute function " + functionId, e);
+      }
+      try {
+        function.execute(context);
+      } finally {
+        semaphore.release();
+      }
+    } finally {
+      held.remove(functionId);
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.ResultCollector;
+import org.apache.geode.distributed.DistributedMember;
+
+/**
+ * A ResultCollector that hands the results of a function to the caller as they arrive instead of
+ * gathering them until the execution completes. Its result is an iterator over the results, which
+ * blocks until the next result arrives or the execution ends.
+ * <p>
+ * At most {@code bufferSize} results are buffered. Once the buffer is full, the thread delivering
+ * the next result waits until the caller takes one. That thread reads the replies of the member
+ * that sent the result, so the member stops being read and, once the socket buffers fill up, its
+ * ResultSender blocks until the caller catches up. Peers with conserve-sockets enabled share that
+ * thread with other messages, so slow consumers should be avoided there.
+ * <p>
+ * If an HA function is retried, results that were buffered but not yet taken are dropped, while
+ * results already taken may be delivered again by the retry.
+ *
+ * @see AbstractExecution#executeStreaming
+ * @since Geode 1.15
+ */
+public class StreamingResultCollector<T>
+    implements ResultCollector<T, Iterator<T>>, Iterator<T>, AutoCloseable {
+
+  private final int bufferSize;
+  private final LinkedList<T> results = new LinkedList<>();
+  private boolean ended;
+  private boolean closed;
+  private Throwable failure;
+
+  public StreamingResultCollector(int bufferSize) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize must be positive but was " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Buffers the result, waiting for the caller to take results while the buffer is full
+   */
+  @Override
+  public synchronized void addResult(DistributedMember memberID, T result) {
+    boolean interrupted = false;
+    while (results.size() >= bufferSize && !closed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        // keep the result rather than lose it
+        interrupted = true;
+        break;
+      }
+    }
+    if (!closed) {
+      results.add(result);
+      notifyAll();
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public synchronized void endResults() {
+    ended = true;
+    notifyAll();
+  }
+
+  @Override
+  public synchronized void clearResults() {
+    results.clear();
+    ended = false;
+    failure = null;
+    notifyAll();
+  }
+
+  /**
+   * Ends the results with the failure of the execution, which the iterator throws once it has
+   * returned the results received before it.
+   */
+  synchronized void fail(Throwable cause) {
+    failure = cause;
+    ended = true;
+    notifyAll();
+  }
+
+  @Override
+  public Iterator<T> getResult() throws FunctionException {
+    return this;
+  }
+
+  @Override
+  public Iterator<T> getResult(long timeout, TimeUnit unit) throws FunctionException {
+    return this;
+  }
+
+  @Override
+  public synchronized boolean hasNext() {
+    while (results.isEmpty() && !ended && !closed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new FunctionException(e);
+      }
+    }
+    if (!results.isEmpty()) {
+      return true;
+    }
+    if (failure != null && !closed) {
+      if (failure instanceof FunctionException) {
+        throw (FunctionException) failure;
+      }
+      throw new FunctionException(failure);
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T result = results.removeFirst();
+    notifyAll();
+    return result;
+  }
+
+  /**
+   * Stops the iteration and drops the buffered results and any result that arrives later, which
+   * releases the threads waiting to deliver them. The function keeps running on its members.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    results.clear();
+    notifyAll();
+  }
+}
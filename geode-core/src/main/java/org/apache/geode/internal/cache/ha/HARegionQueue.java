@@ -224,6 +224,13 @@ public class HARegionQueue implements RegionQueue {
    */
   protected static final ThreadLocal peekedEventsContext = new ThreadLocal<>();
 
+  /**
+   * a thread local to store the counters of the events in the last batch peeked by a particular
+   * thread, in the order they were returned, so that {@link #removePeeked(int)} can tell which of
+   * the peeked counters belong to the events that were dispatched.
+   */
+  private static final ThreadLocal<List<Long>> peekedBatchContext = new ThreadLocal<>();
+
   /**
    * Thread which creates the {@code QueueRemovalMessage} and sends it to other nodes in the system
    */
@@ -1380,6 +1387,26 @@ public class HARegionQueue implements RegionQueue {
     setPeekedEvents();
   }
 
+  /**
+   * Removes the first {@code count} events of the last batch peeked by this thread, as
+   * {@link #remove()} does. The rest of the events of the batch stay in the queue and are peeked
+   * again.
+   */
+  public void removePeeked(int count) throws InterruptedException {
+    List<Long> peekedIds = (List<Long>) HARegionQueue.peekedEventsContext.get();
+    List<Long> batchIds = peekedBatchContext.get();
+    peekedBatchContext.set(null);
+    if (peekedIds != null && batchIds != null && count < batchIds.size()) {
+      // keep the counters peeked before the first event that is not removed, including those of
+      // events that were already gone and so are not in the batch
+      int end = peekedIds.indexOf(batchIds.get(count));
+      if (end >= 0) {
+        HARegionQueue.peekedEventsContext.set(new LinkedList<>(peekedIds.subList(0, end)));
+      }
+    }
+    remove();
+  }
+
   protected Object getNextAvailableIDFromList() throws InterruptedException {
     return getNextAvailableID();
   }
@@ -1550,6 +1577,7 @@ public class HARegionQueue implements RegionQueue {
     int currSize = idsAvailable.size();
     int limit = Math.min(currSize, batchSize);
     List batch = new ArrayList<>(limit);
+    List<Long> batchIds = new ArrayList<>(limit);
 
     List<Long> peekedEventsThreadContext;
     if ((peekedEventsThreadContext =
@@ -1570,11 +1598,13 @@ public class HARegionQueue implements RegionQueue {
       }
       if (event != null) {
         batch.add(event);
+        batchIds.add(counter);
       }
       peekedEventsThreadContext.add(counter);
     }
 
     HARegionQueue.peekedEventsContext.set(peekedEventsThreadContext);
+    peekedBatchContext.set(batchIds);
     return batch;
   }
 
@@ -2191,7 +2221,8 @@ public class HARegionQueue implements RegionQueue {
    * operations, but it enables the condition object of the ReentrantLock used to guard the
    * idsAvailable Set for notifying blocking peek & take operations. Previously a separate Lock
    * object was used by the BlockingQueue for wait notify. This class will be performant if there is
-   * a single peek thread.
+   * a single peek thread. Put threads do not wait for the lock to publish a position unless a peek
+   * or take thread is waiting for data, see {@link #publish(Long)}.
    */
   private static class BlockingHARegionQueue extends HARegionQueue {
     /**
@@ -2219,6 +2250,19 @@ public class HARegionQueue implements RegionQueue {
      */
     protected final StoppableCondition blockCond;
 
+    /**
+     * Positions published by put threads that could not get the lock right away. They are added to
+     * idsAvailable by the next thread to take or release the lock, so that delivering an event to
+     * many clients is not held up by dispatchers peeking or removing batches.
+     */
+    private final Queue<Long> publishedIDs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of threads about to wait or waiting on blockCond. A put thread waits for the lock
+     * rather than leave its position to be added later when there are any.
+     */
+    private final AtomicInteger dataWaiters = new AtomicInteger();
+
     /**
      * @param hrqa HARegionQueueAttributes through which expiry time etc for the HARegionQueue can
      *        be set
@@ -2373,12 +2417,85 @@ public class HARegionQueue implements RegionQueue {
       }
     }
 
+    /**
+     * Adds the position to idsAvailable if the lock is free and otherwise leaves it to the thread
+     * holding the lock, unless a peek or take thread is waiting for data.
+     */
+    @Override
+    void publish(Long position) {
+      publishedIDs.add(position);
+      while (!publishedIDs.isEmpty()) {
+        if (!lock.tryLock()) {
+          if (dataWaiters.get() == 0) {
+            return;
+          }
+          // the waiting thread may have checked for positions before this one was added
+          lock.lock();
+        }
+        try {
+          addPublishedIDs();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    /**
+     * Moves the positions published without the lock to idsAvailable. Caller must hold the lock.
+     *
+     * @return true if any position was added
+     */
+    private boolean addPublishedIDs() {
+      boolean added = false;
+      Long position;
+      while ((position = publishedIDs.poll()) != null) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Adding position " + position + " to available IDs. Region: " + regionName);
+        }
+        idsAvailable.add(position);
+        added = true;
+      }
+      if (added) {
+        notifyPeekAndTakeThreads();
+      }
+      return added;
+    }
+
+    /**
+     * Adds the positions published while the lock was held, if no other thread has taken it since.
+     */
+    private void addPublishedIDsAfterUnlock() {
+      while (!publishedIDs.isEmpty() && lock.tryLock()) {
+        try {
+          addPublishedIDs();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+
+    /**
+     * Waits on blockCond unless positions were published since the caller checked idsAvailable.
+     * Caller must hold the lock.
+     */
+    void awaitData() throws InterruptedException {
+      dataWaiters.incrementAndGet();
+      try {
+        if (!addPublishedIDs()) {
+          blockCond.await(StoppableCondition.TIME_TO_WAIT);
+        }
+      } finally {
+        dataWaiters.decrementAndGet();
+      }
+    }
+
     /**
      * Identical to the acquireReadLock as there is only one type of Lock object in this class.
      */
     @Override
     void acquireWriteLock() {
       lock.lock();
+      addPublishedIDs();
     }
 
     /**
@@ -2387,6 +2504,7 @@ public class HARegionQueue implements RegionQueue {
     @Override
     void acquireReadLock() {
       lock.lock();
+      addPublishedIDs();
     }
 
     /**
@@ -2414,7 +2532,7 @@ public class HARegionQueue implements RegionQueue {
         region.getCache().getCancelCriterion().checkCancelInProgress(null);
         boolean interrupted = Thread.currentThread().isInterrupted();
         try {
-          blockCond.await(StoppableCondition.TIME_TO_WAIT);
+          awaitData();
         } catch (InterruptedException ie) {
           interrupted = true;
           region.getCache().getCancelCriterion().checkCancelInProgress(ie);
@@ -2447,6 +2565,7 @@ public class HARegionQueue implements RegionQueue {
     @Override
     void releaseReadLock() {
       lock.unlock();
+      addPublishedIDsAfterUnlock();
     }
 
     /**
@@ -2459,6 +2578,7 @@ public class HARegionQueue implements RegionQueue {
     @Override
     void releaseWriteLock() {
       lock.unlock();
+      addPublishedIDsAfterUnlock();
     }
 
   }
@@ -2492,7 +2612,7 @@ public class HARegionQueue implements RegionQueue {
       region.getCache().getCancelCriterion().checkCancelInProgress(null);
       boolean interrupted = Thread.currentThread().isInterrupted();
       try {
-        blockCond.await(StoppableCondition.TIME_TO_WAIT);
+        awaitData();
       } catch (InterruptedException ie) {
         interrupted = true;
         region.getCache().getCancelCriterion().checkCancelInProgress(ie);
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.geode.internal.cache.BucketAdvisor;
+import org.apache.geode.internal.cache.BucketOperationRates;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.PartitionedRegionDataStore;
+import org.apache.geode.internal.serialization.DataSerializableFixedID;
+import org.apache.geode.internal.serialization.DeserializationContext;
+import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.serialization.SerializationContext;
+import org.apache.geode.util.internal.GeodeGlossary;
+
+/**
+ * A load probe which calculates the load of a pr from the operation rates and the size of its
+ * buckets, so that rebalancing spreads hot buckets rather than just bytes.
+ * <p>
+ * The load of a bucket is its write rate, which is the same on every copy, plus one operation per
+ * second for every {@link #BYTES_PER_OPERATION} bytes it holds. The primary load of a bucket is
+ * its read and write rate, since the primary serves the reads and distributes the writes, so
+ * moving primaries spreads the write load across the members.
+ * <p>
+ * Select it with the ResourceManager.PR_LOAD_PROBE_CLASS system property; it is then used by both
+ * manual rebalances and the AutoBalancer.
+ *
+ * @since Geode 1.15
+ */
+public class OperationRateLoadProbe implements LoadProbe, DataSerializableFixedID {
+  public static final float MIN_LOAD = 1;
+
+  /**
+   * The number of bytes held by a bucket that weigh as much as one operation per second.
+   */
+  public static final long BYTES_PER_OPERATION =
+      Long.getLong(GeodeGlossary.GEMFIRE_PREFIX + "OperationRateLoadProbe.BYTES_PER_OPERATION",
+          1024 * 1024);
+
+  @Override
+  public PRLoad getLoad(PartitionedRegion pr) {
+    PartitionedRegionDataStore ds = pr.getDataStore();
+    PRLoad prLoad = new PRLoad(pr.getTotalNumberOfBuckets(), pr.getLocalMaxMemory());
+
+    for (Integer bidInt : ds.getAllLocalBucketIds()) {
+      int bid = bidInt;
+      float readRate = 0;
+      float writeRate = 0;
+      BucketRegion bucket = ds.getLocalBucketById(bid);
+      if (bucket != null) {
+        BucketOperationRates rates = bucket.getOperationRates();
+        rates.sample();
+        readRate = rates.getReadRate();
+        writeRate = rates.getWriteRate();
+      }
+      float sizeLoad = (float) ds.getBucketSize(bid) / BYTES_PER_OPERATION;
+      float load = Math.max(MIN_LOAD, writeRate + sizeLoad);
+
+      BucketAdvisor bucketAdvisor = pr.getRegionAdvisor().getBucket(bid).getBucketAdvisor();
+      // Wait for a primary to exist for this bucket, because
+      // it might be this member.
+      bucketAdvisor.getPrimary();
+      boolean isPrimary = bucketAdvisor.isPrimary();
+      prLoad.addBucket(bid, load, isPrimary ? Math.max(MIN_LOAD, readRate + writeRate) : 0);
+    }
+
+    return prLoad;
+  }
+
+  @Override
+  public void fromData(DataInput in,
+      DeserializationContext context) throws IOException, ClassNotFoundException {}
+
+  @Override
+  public void toData(DataOutput out,
+      SerializationContext context) throws IOException {}
+
+  @Override
+  public int getDSFID() {
+    return OPERATION_RATE_LOAD_PROBE;
+  }
+
+  @Override
+  public KnownVersion[] getSerializationVersions() {
+    return null;
+  }
+}
@@ -31,7 +31,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Semaphore;
-import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -62,6 +61,7 @@ import org.apache.geode.internal.cache.EntryEventImpl;
 import org.apache.geode.internal.cache.EntrySnapshot;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.FindVersionTagOperation;
+import org.apache.geode.internal.cache.InterestPattern;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.LocalRegion;
@@ -1122,19 +1122,26 @@ public abstract class BaseCommand implements Command {
 
     if (region != null) {
 
-      Pattern keyPattern = null;
+      InterestPattern keyPattern = null;
+      Collection<?> keys = null;
       if (regex != null) {
-        keyPattern = Pattern.compile(regex);
+        keyPattern = InterestPattern.compile(regex);
+        if (keyPattern.getExactKey() != null) {
+          keys = region.getKeysWithInterest(InterestType.KEY, keyPattern.getExactKey(), true);
+        }
+      }
+      if (keys == null) {
+        keys = region.keySet(true);
       }
 
-      for (Object key : region.keySet(true)) {
+      for (Object key : keys) {
         VersionTagHolder versionHolder = createVersionTagHolder();
         if (keyPattern != null) {
           if (!(key instanceof String)) {
             // key is not a String, cannot apply regex to this entry
             continue;
           }
-          if (!keyPattern.matcher((String) key).matches()) {
+          if (!keyPattern.matches((String) key)) {
             // key does not match the regex, this entry should not be
             // returned.
             continue;
@@ -1322,13 +1329,18 @@ public abstract class BaseCommand implements Command {
     List<Object> keyList = new ArrayList<>(MAXIMUM_CHUNK_SIZE);
     // Handle the regex pattern
     if (region != null) {
-      Pattern keyPattern = Pattern.compile(regex);
-      for (Object entryKey : region.keySet(sendTombstonesInRIResults(policy))) {
+      InterestPattern keyPattern = InterestPattern.compile(regex);
+      boolean allowTombstones = sendTombstonesInRIResults(policy);
+      // an expression matching a single key does not need a scan of the region
+      Collection<?> keys = keyPattern.getExactKey() != null
+          ? region.getKeysWithInterest(InterestType.KEY, keyPattern.getExactKey(), allowTombstones)
+          : region.keySet(allowTombstones);
+      for (Object entryKey : keys) {
         if (!(entryKey instanceof String)) {
           // key is not a String, cannot apply regex to this entry
           continue;
         }
-        if (!keyPattern.matcher((String) entryKey).matches()) {
+        if (!keyPattern.matches((String) entryKey)) {
           // key does not match the regex, this entry should not be returned.
           continue;
         }
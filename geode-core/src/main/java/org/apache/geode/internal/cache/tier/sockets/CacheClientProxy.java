@@ -261,6 +261,15 @@ public class CacheClientProxy implements ClientSession {
   protected static final boolean NOTIFY_REGION_ON_INTEREST =
       Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "updateAccessTimeOnClientInterest");
 
+  /**
+   * The most messages the queue of a disconnected durable client may hold. Once it holds more, the
+   * proxy is terminated as if the durable client timeout had expired, so that a client staying
+   * away for long does not fill the memory and overflow disk of the server. 0 means no limit.
+   */
+  @MutableForTesting
+  static int durableQueueMaximumMessages = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "CacheClientProxy.DURABLE_QUEUE_MAXIMUM_MESSAGES", 0);
+
   /**
    * The AcceptorImpl identifier to which the proxy is connected.
    */
@@ -1566,6 +1575,7 @@ public class CacheClientProxy implements ClientSession {
     if (clientMessage.needsNoAuthorizationCheck() || postDeliverAuthCheckPassed(clientMessage)) {
       if (_messageDispatcher != null) {
         _messageDispatcher.enqueueMessage(conflatable);
+        checkDurableQueueLimit();
       } else {
         _statistics.incMessagesFailedQueued();
 
@@ -1851,11 +1861,67 @@ public class CacheClientProxy implements ClientSession {
     return subject;
   }
 
+  /**
+   * Terminates the proxy of a disconnected durable client whose queue holds more than
+   * {@link #durableQueueMaximumMessages} messages, by expiring it right away.
+   */
+  void checkDurableQueueLimit() {
+    if (durableQueueMaximumMessages <= 0 || !isPaused()) {
+      return;
+    }
+    int queueSize = getQueueSize();
+    if (queueSize <= durableQueueMaximumMessages) {
+      return;
+    }
+    // without a pending expiration the client has reconnected or the proxy is already expiring
+    SystemTimerTask task = _durableExpirationTask.get();
+    if (task == null) {
+      return;
+    }
+    SystemTimerTask immediateTask = createDurableExpirationTask();
+    // the swap fails if the client reconnected meanwhile, cancelling the pending expiration
+    if (_durableExpirationTask.compareAndSet(task, immediateTask)) {
+      logger.warn(
+          "{}: The queue of the disconnected durable client holds {} messages, more than the {} allowed, so the client is being timed out.",
+          this, queueSize, durableQueueMaximumMessages);
+      if (task.cancel()) {
+        _cache.purgeCCPTimer();
+      }
+      scheduleDurableExpirationTask(immediateTask, 0L);
+    }
+  }
+
   protected void scheduleDurableExpirationTask() {
-    SystemTimer.SystemTimerTask task = new SystemTimer.SystemTimerTask() {
+    SystemTimerTask task = createDurableExpirationTask();
+    if (_durableExpirationTask.compareAndSet(null, task)) {
+      scheduleDurableExpirationTask(task, getDurableTimeout() * 1000L);
+    }
+  }
+
+  @VisibleForTesting
+  void scheduleDurableExpirationTask(SystemTimerTask task, long delay) {
+    try {
+      _cache.getCCPTimer().schedule(task, delay);
+    } catch (IllegalStateException e) {
+      if (!task.isCancelled()) {
+        throw e;
+      }
+      // the client reconnected, cancelling the task before it was scheduled
+    }
+  }
+
+  /**
+   * Creates a task that terminates this proxy if it is still the pending expiration task when it
+   * runs, and not one cancelled by the client reconnecting or replaced by an immediate expiration.
+   */
+  @VisibleForTesting
+  SystemTimerTask createDurableExpirationTask() {
+    return new SystemTimer.SystemTimerTask() {
       @Override
       public void run2() {
-        _durableExpirationTask.compareAndSet(this, null);
+        if (!_durableExpirationTask.compareAndSet(this, null)) {
+          return;
+        }
         logger.warn("{} : The expiration task has fired, so this proxy is being terminated.",
             CacheClientProxy.this);
         // Remove the proxy from the CacheClientNofier's registry
@@ -1892,9 +1958,6 @@ public class CacheClientProxy implements ClientSession {
       }
 
     };
-    if (_durableExpirationTask.compareAndSet(null, task)) {
-      _cache.getCCPTimer().schedule(task, getDurableTimeout() * 1000L);
-    }
   }
 
   protected void cancelDurableExpirationTask(boolean logMessage) {
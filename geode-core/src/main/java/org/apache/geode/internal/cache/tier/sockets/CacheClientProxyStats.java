@@ -65,6 +65,16 @@ public class CacheClientProxyStats implements MessageStats {
   private static final String MESSAGES_BEING_QUEUED_IN_PROGRESS = "messagesBeingQueuedInProgress";
   /** Name of the messages queueing time statistic */
   private static final String MESSAGES_BEING_QUEUED_TIME = "messagesBeingQueuedTime";
+  /** Name of the message batches sent statistic */
+  private static final String MESSAGE_BATCHES_SENT = "messageBatchesSent";
+  /** Name of the messages sent in batches statistic */
+  private static final String MESSAGES_SENT_IN_BATCHES = "messagesSentInBatches";
+  /** Name of the durable queue replays statistic */
+  private static final String DURABLE_QUEUE_REPLAYS = "durableQueueReplays";
+  /** Name of the durable queue replayed messages statistic */
+  private static final String DURABLE_QUEUE_REPLAYED_MESSAGES = "durableQueueReplayedMessages";
+  /** Name of the durable queue replay time statistic */
+  private static final String DURABLE_QUEUE_REPLAY_TIME = "durableQueueReplayTime";
 
   /** Id of the messages received statistic */
   private static final int _messagesReceivedId;
@@ -94,6 +104,16 @@ public class CacheClientProxyStats implements MessageStats {
   private static final int _messagesBeingQueuedInProgressId;
   /** Id of the messages queueing time statistic */
   private static final int _messagesBeingQueuedTimeId;
+  /** Id of the message batches sent statistic */
+  private static final int _messageBatchesSentId;
+  /** Id of the messages sent in batches statistic */
+  private static final int _messagesSentInBatchesId;
+  /** Id of the durable queue replays statistic */
+  private static final int _durableQueueReplaysId;
+  /** Id of the durable queue replayed messages statistic */
+  private static final int _durableQueueReplayedMessagesId;
+  /** Id of the durable queue replay time statistic */
+  private static final int _durableQueueReplayTimeId;
 
 
   /*
@@ -146,6 +166,20 @@ public class CacheClientProxyStats implements MessageStats {
             "threads"),
         f.createLongCounter(MESSAGES_BEING_QUEUED_TIME,
             "Total time spent while message is put in queue.", "nanoseconds"),
+        f.createLongCounter(MESSAGE_BATCHES_SENT,
+            "Number of batches of client messages written to the socket with a single flush.",
+            "operations"),
+        f.createLongCounter(MESSAGES_SENT_IN_BATCHES,
+            "Number of client messages sent in batches.", "operations"),
+        f.createLongCounter(DURABLE_QUEUE_REPLAYS,
+            "Number of times a durable client reconnected to messages queued while it was away.",
+            "operations"),
+        f.createLongCounter(DURABLE_QUEUE_REPLAYED_MESSAGES,
+            "Number of messages queued while a durable client was away that have been sent to it after it reconnected.",
+            "operations"),
+        f.createLongCounter(DURABLE_QUEUE_REPLAY_TIME,
+            "Total time spent sending the messages queued while a durable client was away, from its reconnection.",
+            "nanoseconds"),
     });
 
     // Initialize id fields
@@ -163,6 +197,11 @@ public class CacheClientProxyStats implements MessageStats {
     _sentBytesId = _type.nameToId("sentBytes");
     _messagesBeingQueuedInProgressId = _type.nameToId(MESSAGES_BEING_QUEUED_IN_PROGRESS);
     _messagesBeingQueuedTimeId = _type.nameToId(MESSAGES_BEING_QUEUED_TIME);
+    _messageBatchesSentId = _type.nameToId(MESSAGE_BATCHES_SENT);
+    _messagesSentInBatchesId = _type.nameToId(MESSAGES_SENT_IN_BATCHES);
+    _durableQueueReplaysId = _type.nameToId(DURABLE_QUEUE_REPLAYS);
+    _durableQueueReplayedMessagesId = _type.nameToId(DURABLE_QUEUE_REPLAYED_MESSAGES);
+    _durableQueueReplayTimeId = _type.nameToId(DURABLE_QUEUE_REPLAY_TIME);
 
   }
 
@@ -292,6 +331,33 @@ public class CacheClientProxyStats implements MessageStats {
     return _stats.getInt(_cqCountId);
   }
 
+  /**
+   * Returns the current value of the "messageBatchesSent" stat.
+   *
+   * @return the current value of the "messageBatchesSent" stat
+   */
+  public long getMessageBatchesSent() {
+    return _stats.getLong(_messageBatchesSentId);
+  }
+
+  /**
+   * Returns the current value of the "messagesSentInBatches" stat.
+   *
+   * @return the current value of the "messagesSentInBatches" stat
+   */
+  public long getMessagesSentInBatches() {
+    return _stats.getLong(_messagesSentInBatchesId);
+  }
+
+  /**
+   * Returns the current value of the "durableQueueReplayedMessages" stat.
+   *
+   * @return the current value of the "durableQueueReplayedMessages" stat
+   */
+  public long getDurableQueueReplayedMessages() {
+    return _stats.getLong(_durableQueueReplayedMessagesId);
+  }
+
   /**
    * Returns the current value of the "_messagesBeingQueuedInProgress" stat.
    *
@@ -409,6 +475,38 @@ public class CacheClientProxyStats implements MessageStats {
     _stats.incLong(_messageProcessingTimeId, elapsed);
   }
 
+  /**
+   * Increments the "messagesProcessed", "messageProcessingTime", "messageBatchesSent" and
+   * "messagesSentInBatches" stats.
+   *
+   * @param start The start of the batch (which is decremented from the current time to determine
+   *        the message processing time).
+   * @param messages The number of messages sent in the batch
+   */
+  public void endBatch(long start, int messages) {
+    long ts = DistributionStats.getStatTime();
+
+    _stats.incInt(_messagesProcessedId, messages);
+    _stats.incLong(_messageProcessingTimeId, ts - start);
+    _stats.incLong(_messageBatchesSentId, 1);
+    _stats.incLong(_messagesSentInBatchesId, messages);
+  }
+
+  /**
+   * Increments the "durableQueueReplays", "durableQueueReplayedMessages" and
+   * "durableQueueReplayTime" stats.
+   *
+   * @param start The reconnection of the durable client
+   * @param messages The number of messages that were queued while the client was away
+   */
+  public void endDurableQueueReplay(long start, int messages) {
+    long ts = DistributionStats.getStatTime();
+
+    _stats.incLong(_durableQueueReplaysId, 1);
+    _stats.incLong(_durableQueueReplayedMessagesId, messages);
+    _stats.incLong(_durableQueueReplayTimeId, ts - start);
+  }
+
   /**
    * Increments the "deltaMessagesSent" stats.
    */
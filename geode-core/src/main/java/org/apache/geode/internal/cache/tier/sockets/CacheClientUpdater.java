@@ -22,11 +22,13 @@ import java.net.ConnectException;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import javax.net.ssl.SSLException;
 
@@ -40,6 +42,7 @@ import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsType;
 import org.apache.geode.StatisticsTypeFactory;
 import org.apache.geode.annotations.Immutable;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.annotations.internal.MutableForTesting;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.cache.InterestResultPolicy;
@@ -214,6 +217,26 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
   private static final long MAX_CACHE_WAIT =
       Long.getLong(GeodeGlossary.GEMFIRE_PREFIX + "CacheClientUpdater.MAX_WAIT", 120); // seconds
 
+  /**
+   * The number of threads applying the entry events received from the server, or 0 to apply them
+   * on the updater thread. The events of a key are applied in order by the same thread. Not used by
+   * durable clients.
+   */
+  private static final int EVENT_WORKERS =
+      Integer.getInteger(GeodeGlossary.GEMFIRE_PREFIX + "CacheClientUpdater.EVENT_WORKERS", 0);
+
+  /**
+   * The number of events waiting for each event worker beyond which the updater stops reading from
+   * the server.
+   */
+  private static final int EVENT_WORKER_QUEUE_SIZE = Integer.getInteger(
+      GeodeGlossary.GEMFIRE_PREFIX + "CacheClientUpdater.EVENT_WORKER_QUEUE_SIZE", 1000);
+
+  /**
+   * Applies the entry events if {@link #EVENT_WORKERS} is set, otherwise null
+   */
+  private ClientEventWorkers eventWorkers;
+
   /**
    * Return true if cache appears
    *
@@ -848,6 +871,10 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
                   callbackArgument,
                   qManager.getState().getProcessedMarker() || !isDurableClient, eventId,
                   versionTag);
+              if (versionTag != null) {
+                region.getCachePerfStats().endServerInvalidate(
+                    region.cacheTimeMillis() - versionTag.getVersionTimeStamp());
+              }
             } catch (ConcurrentCacheModificationException ignore) {
               // allow CQs to be processed
             }
@@ -1561,6 +1588,10 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
 
     try {
       Message clientMessage = initializeMessage();
+      if (EVENT_WORKERS > 0 && !isDurableClient) {
+        eventWorkers =
+            new ClientEventWorkers(getName(), EVENT_WORKERS, EVENT_WORKER_QUEUE_SIZE, stats);
+      }
 
       if (quitting()) {
         if (isDebugEnabled) {
@@ -1643,6 +1674,14 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
                 eventId.expensiveToString());
           }
 
+          if (eventWorkers != null
+              && queueForEventWorker(eventWorkers, clientMessage, isDeltaSent,
+                  this::applyEntryEvent)) {
+            // the worker owns the message, read the next one into a new one
+            clientMessage = initializeMessage();
+            continue;
+          }
+
           isOpCompleted = true;
 
           // Process the message
@@ -1718,6 +1757,13 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
             logger.debug("InterruptedIOException");
           }
 
+        } catch (InterruptedException ignore) {
+          // interrupted waiting for the event workers
+          continueProcessing.set(false);
+          if (isDebugEnabled) {
+            logger.debug("InterruptedException");
+          }
+
         } catch (IOException e) {
           // Either the server went away, or we caught a closing condition.
           if (!quitting()) {
@@ -1760,6 +1806,9 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
       if (isDebugEnabled) {
         logger.debug("has stopped and cleaning the helper ..");
       }
+      if (eventWorkers != null) {
+        eventWorkers.close();
+      }
       close(); // added to fix some race conditions associated with 38382
       // this will make sure that if this thread dies without starting QueueMgr then it will start..
       // 1. above we ignore InterruptedIOException and this thread dies without informing QueueMgr
@@ -1768,6 +1817,69 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
     }
   }
 
+  /**
+   * Queues an entry event that is not a delta for the event worker of its key. A delta is applied
+   * by the updater, which records its event id only once it has been applied. The other messages
+   * are processed by the updater once the events received before them are applied.
+   *
+   * @return true if the message was queued for a worker, which then owns it
+   */
+  @VisibleForTesting
+  static boolean queueForEventWorker(ClientEventWorkers workers, Message clientMessage,
+      boolean isDeltaSent, Consumer<Message> applier) throws InterruptedException {
+    if (isEntryEvent(clientMessage) && !isDeltaSent) {
+      workers.execute(getKeyHash(clientMessage), () -> applier.accept(clientMessage));
+      return true;
+    }
+    workers.drain();
+    return false;
+  }
+
+  @VisibleForTesting
+  static boolean isEntryEvent(Message clientMessage) {
+    switch (clientMessage.getMessageType()) {
+      case MessageType.LOCAL_CREATE:
+      case MessageType.LOCAL_UPDATE:
+      case MessageType.LOCAL_INVALIDATE:
+      case MessageType.LOCAL_DESTROY:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Hashes the serialized region name and key, the first two parts of an entry event
+   */
+  @VisibleForTesting
+  static int getKeyHash(Message clientMessage) {
+    return 31 * Arrays.hashCode(clientMessage.getPart(0).getSerializedForm())
+        + Arrays.hashCode(clientMessage.getPart(1).getSerializedForm());
+  }
+
+  /**
+   * Applies an entry event on an event worker
+   */
+  private void applyEntryEvent(Message clientMessage) {
+    try {
+      switch (clientMessage.getMessageType()) {
+        case MessageType.LOCAL_CREATE:
+        case MessageType.LOCAL_UPDATE:
+          handleUpdate(clientMessage);
+          break;
+        case MessageType.LOCAL_INVALIDATE:
+          handleInvalidate(clientMessage);
+          break;
+        default:
+          handleDestroy(clientMessage);
+          break;
+      }
+    } finally {
+      // the message is not cleared since it shares the comm buffer of the updater
+      stats.decMessagesBeingReceived(clientMessage.getPayloadLength());
+    }
+  }
+
   private void handleAuthenticate() {
     // if client is in multi-user mode, the CacheClientUpdater (at this point)
     // can't differentiate which user this message is intended to. so throw exception for now
@@ -1843,8 +1955,8 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
   }
 
   /**
-   * Stats for a CacheClientUpdater. Currently the only thing measured are incoming bytes on the
-   * wire
+   * Stats for a CacheClientUpdater. Measures incoming bytes on the wire and the entry events
+   * applied by the event workers
    *
    * @since GemFire 5.7
    */
@@ -1855,6 +1967,9 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
     private static final int messagesBeingReceivedId;
     private static final int messageBytesBeingReceivedId;
     private static final int receivedBytesId;
+    private static final int eventsQueuedForWorkersId;
+    private static final int workerEventsId;
+    private static final int workerEventLagTimeId;
 
     static {
       StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
@@ -1867,8 +1982,19 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
                   "messages"),
               f.createLongGauge("messageBytesBeingReceived",
                   "Current number of bytes consumed by messages being received or processed.",
-                  "bytes"),});
+                  "bytes"),
+              f.createLongGauge("eventsQueuedForWorkers",
+                  "Current number of entry events waiting to be applied by the event workers.",
+                  "operations"),
+              f.createLongCounter("workerEvents",
+                  "Total number of entry events applied by the event workers.", "operations"),
+              f.createLongCounter("workerEventLagTime",
+                  "Total time entry events waited between their reception and their application by an event worker.",
+                  "nanoseconds"),});
       receivedBytesId = type.nameToId("receivedBytes");
+      eventsQueuedForWorkersId = type.nameToId("eventsQueuedForWorkers");
+      workerEventsId = type.nameToId("workerEvents");
+      workerEventLagTimeId = type.nameToId("workerEventLagTime");
       messagesBeingReceivedId = type.nameToId("messagesBeingReceived");
       messageBytesBeingReceivedId = type.nameToId("messageBytesBeingReceived");
     }
@@ -1877,8 +2003,8 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
     private final Statistics stats;
 
     CCUStats(DistributedSystem ids, ServerLocation location) {
-      // no need for atomic since only a single thread will be writing these
-      stats = ids.createStatistics(type, "CacheClientUpdater-" + location);
+      // atomic since the event workers update these along with the updater thread
+      stats = ids.createAtomicStatistics(type, "CacheClientUpdater-" + location);
     }
 
     public void close() {
@@ -1911,6 +2037,21 @@ public class CacheClientUpdater extends LoggingThread implements ClientUpdater,
       }
     }
 
+    void incEventsQueuedForWorkers(long delta) {
+      stats.incLong(eventsQueuedForWorkersId, delta);
+    }
+
+    /**
+     * Records that an event worker starts applying an event.
+     *
+     * @param queuedTime the time (ns) the event was queued for the worker
+     */
+    void startWorkerEvent(long queuedTime) {
+      stats.incLong(eventsQueuedForWorkersId, -1);
+      stats.incLong(workerEventsId, 1);
+      stats.incLong(workerEventLagTimeId, startTime() - queuedTime);
+    }
+
     /**
      * Returns the current time (ns).
      *
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.SystemFailure;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientUpdater.CCUStats;
+import org.apache.geode.logging.internal.executors.LoggingThread;
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * The threads applying the entry events received by a {@link CacheClientUpdater}, so that a slow
+ * listener on one key does not hold up the events of the other keys. The events of a key are
+ * always applied by the same worker, in the order they were received.
+ */
+class ClientEventWorkers {
+  private static final Logger logger = LogService.getLogger();
+
+  /** Queued after the last event of a worker to stop it */
+  private static final QueuedEvent STOP = new QueuedEvent(null, 0);
+
+  /** How often a thread waiting for room in a queue checks whether its worker has failed */
+  private static final long FAILURE_CHECK_INTERVAL_MILLIS = 100;
+
+  private final BlockingQueue<QueuedEvent>[] queues;
+
+  private final Thread[] threads;
+
+  private final CCUStats stats;
+
+  /** The number of events queued or being applied */
+  private final AtomicInteger pendingEvents = new AtomicInteger();
+
+  private final Object drainLock = new Object();
+
+  /** The error that stopped a worker, after which the queued events are never all applied */
+  private volatile Throwable failure;
+
+  @SuppressWarnings("unchecked")
+  ClientEventWorkers(String name, int workers, int queueSize, CCUStats stats) {
+    this.stats = stats;
+    queues = new BlockingQueue[workers];
+    threads = new Thread[workers];
+    for (int i = 0; i < workers; i++) {
+      BlockingQueue<QueuedEvent> queue = new ArrayBlockingQueue<>(queueSize);
+      queues[i] = queue;
+      threads[i] = new LoggingThread(name + " Event Worker " + i, () -> work(queue));
+      threads[i].start();
+    }
+  }
+
+  /**
+   * Queues the event for the worker of its key, waiting for room in the worker's queue.
+   *
+   * @param keyHash the hash of the region and key of the event
+   */
+  void execute(int keyHash, Runnable event) throws InterruptedException {
+    checkFailure();
+    BlockingQueue<QueuedEvent> queue = queues[Math.floorMod(keyHash, queues.length)];
+    pendingEvents.incrementAndGet();
+    stats.incEventsQueuedForWorkers(1);
+    try {
+      QueuedEvent queuedEvent = new QueuedEvent(event, stats.startTime());
+      while (!queue.offer(queuedEvent, FAILURE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        checkFailure();
+      }
+    } catch (InterruptedException | RuntimeException e) {
+      stats.incEventsQueuedForWorkers(-1);
+      eventDone();
+      throw e;
+    }
+  }
+
+  /**
+   * Waits until all the queued events have been applied.
+   */
+  void drain() throws InterruptedException {
+    synchronized (drainLock) {
+      while (pendingEvents.get() > 0) {
+        checkFailure();
+        drainLock.wait();
+      }
+    }
+  }
+
+  /**
+   * @throws IllegalStateException if a worker was stopped by an error, so that the updater fails
+   *         over instead of waiting for events that are never applied
+   */
+  private void checkFailure() {
+    Throwable failure = this.failure;
+    if (failure != null) {
+      throw new IllegalStateException("An event worker was stopped by an error", failure);
+    }
+  }
+
+  /**
+   * Stops the workers once they have applied the events queued so far, and waits for them to
+   * finish. The ids of those events are already recorded as received, so they would not be sent
+   * again, and the updater taking over after a failover must not apply its events before them.
+   * Events applied while the cache is closing fail right away, and the events queued for a worker
+   * stopped by an error are dropped.
+   */
+  void close() {
+    boolean interrupted = false;
+    for (int i = 0; i < queues.length; i++) {
+      while (threads[i].isAlive()) {
+        try {
+          if (queues[i].offer(STOP, FAILURE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            break;
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    for (Thread thread : threads) {
+      while (thread.isAlive()) {
+        try {
+          thread.join();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void work(BlockingQueue<QueuedEvent> queue) {
+    try {
+      while (true) {
+        QueuedEvent queuedEvent = queue.take();
+        if (queuedEvent == STOP) {
+          return;
+        }
+        stats.startWorkerEvent(queuedEvent.queuedTime);
+        try {
+          queuedEvent.event.run();
+        } catch (CancelException ignore) {
+          // the cache is closing
+        } catch (VirtualMachineError err) {
+          SystemFailure.initiateFailure(err);
+          failure = err;
+          synchronized (drainLock) {
+            drainLock.notifyAll();
+          }
+          // If this ever returns, rethrow the error. We're poisoned
+          // now, so don't let this thread continue.
+          throw err;
+        } catch (Throwable t) {
+          SystemFailure.checkFailure();
+          logger.warn("{}: Caught the following exception applying an event: {}",
+              Thread.currentThread().getName(), t, t);
+        } finally {
+          eventDone();
+        }
+      }
+    } catch (InterruptedException ignore) {
+      // the thread is stopped
+    }
+  }
+
+  private void eventDone() {
+    if (pendingEvents.decrementAndGet() == 0) {
+      synchronized (drainLock) {
+        drainLock.notifyAll();
+      }
+    }
+  }
+
+  private static class QueuedEvent {
+    private final Runnable event;
+    private final long queuedTime;
+
+    private QueuedEvent(Runnable event, long queuedTime) {
+      this.event = event;
+      this.queuedTime = queuedTime;
+    }
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.geode.InternalGemFireError;
 import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
 import org.apache.geode.cache.util.ObjectSizer;
+import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.Sendable;
 import org.apache.geode.internal.cache.CachedDeserializableFactory;
@@ -48,6 +49,7 @@ import org.apache.geode.internal.serialization.DeserializationContext;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.serialization.SerializationContext;
 import org.apache.geode.internal.size.Sizeable;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 
 /**
@@ -103,6 +105,13 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
   private boolean _shouldConflate = false;
 
+  /**
+   * The parts that are the same for every client of a version, serialized by the first dispatcher
+   * sending this message to a client of that version and shared by the others. The map is
+   * replaced, never modified, when the parts for another version are added.
+   */
+  private transient volatile Map<KnownVersion, SerializedParts> serializedParts;
+
   /**
    * To determine if this client message is part of InterestList.
    */
@@ -380,6 +389,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
     Message message;
     ClientProxyMembershipID proxyId = proxy.getProxyID();
+    SerializedParts parts = getSerializedParts(proxy, clientVersion);
     // Add CQ info.
     int cqMsgParts = 0;
     boolean clientHasCq = _hasCqs && (getCqs(proxyId) != null);
@@ -399,21 +409,21 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message = getMessage(7 + cqMsgParts, clientVersion);
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
         message.addStringPart(_regionName, true);
-        message.addStringOrObjPart(_keyOfInterest);
+        addKeyPart(message, parts);
       } else {
         // Notify by subscription - send the value
         message = getMessage(9 + cqMsgParts, clientVersion);
         if (isCreate()) {
           message.setMessageType(MessageType.LOCAL_CREATE);
           message.addStringPart(_regionName, true);
-          message.addStringOrObjPart(_keyOfInterest);
+          addKeyPart(message, parts);
           message.addObjPart(Boolean.FALSE); // NO delta
           // Add the value (which has already been serialized)
           message.addRawPart(latestValue, (_valueIsObject == 0x01));
         } else {
           message.setMessageType(MessageType.LOCAL_UPDATE);
           message.addStringPart(_regionName, true);
-          message.addStringOrObjPart(_keyOfInterest);
+          addKeyPart(message, parts);
 
           if (deltaBytes != null && !conflation && !proxy.isMarkerEnqueued()
               && !proxy.getRegionsWithEmptyDataPolicy().containsKey(_regionName)) {
@@ -434,11 +444,8 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         }
       }
 
-      message.addObjPart(_callbackArgument);
-      if (versionTag != null) {
-        versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
-      }
-      message.addObjPart(versionTag);
+      message.addRawPart(parts.callbackArgument, parts.callbackArgumentIsObject);
+      message.addRawPart(parts.versionTag, parts.versionTag != null);
       message.addObjPart(isClientInterested(proxyId));
       message.addObjPart(clientHasCq);
 
@@ -461,9 +468,9 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
       }
       message.addStringPart(_regionName, true);
-      message.addStringOrObjPart(_keyOfInterest);
-      message.addObjPart(_callbackArgument);
-      message.addObjPart(versionTag);
+      addKeyPart(message, parts);
+      message.addRawPart(parts.callbackArgument, parts.callbackArgumentIsObject);
+      message.addRawPart(parts.versionTag, parts.versionTag != null);
       message.addObjPart(isClientInterested(proxyId));
       message.addObjPart(clientHasCq);
 
@@ -479,7 +486,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.LOCAL_DESTROY_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      message.addRawPart(parts.callbackArgument, parts.callbackArgumentIsObject);
       message.addObjPart(clientHasCq);
 
       if (clientHasCq) {
@@ -489,7 +496,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.CLEAR_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      message.addRawPart(parts.callbackArgument, parts.callbackArgumentIsObject);
       message.addObjPart(clientHasCq);
 
       if (clientHasCq) {
@@ -499,7 +506,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.INVALIDATE_REGION);
       message.addStringPart(_regionName, true);
-      message.addObjPart(_callbackArgument);
+      message.addRawPart(parts.callbackArgument, parts.callbackArgumentIsObject);
 
       // Add CQ status.
       message.addObjPart(clientHasCq);
@@ -514,10 +521,109 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     message.setTransactionId(0);
     // Add the EventId since 5.1 (used to prevent duplicate events
     // received on the client side after a failover)
-    message.addObjPart(_eventIdentifier);
+    message.addRawPart(parts.eventIdentifier, parts.eventIdentifier != null);
     return message;
   }
 
+  private void addKeyPart(Message message, SerializedParts parts) {
+    message.addRawPart(parts.key, parts.keyIsObject);
+  }
+
+  private SerializedParts getSerializedParts(CacheClientProxy proxy, KnownVersion clientVersion)
+      throws IOException {
+    Map<KnownVersion, SerializedParts> cachedParts = serializedParts;
+    SerializedParts parts = cachedParts == null ? null : cachedParts.get(clientVersion);
+    if (parts == null) {
+      if (versionTag != null) {
+        versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
+      }
+      parts = new SerializedParts(clientVersion, _keyOfInterest, _callbackArgument, versionTag,
+          _eventIdentifier);
+      addSerializedParts(parts);
+    }
+    return parts;
+  }
+
+  private synchronized void addSerializedParts(SerializedParts parts) {
+    Map<KnownVersion, SerializedParts> cachedParts =
+        serializedParts == null ? new HashMap<>(4) : new HashMap<>(serializedParts);
+    cachedParts.put(parts.version, parts);
+    serializedParts = cachedParts;
+  }
+
+  /**
+   * The key, callback argument, version tag and event id serialized for one client version, the
+   * same way {@link Message#addStringOrObjPart(Object)} and {@link Message#addObjPart(Object)}
+   * serialize them.
+   */
+  private static class SerializedParts {
+    private final KnownVersion version;
+    private final byte[] key;
+    private final boolean keyIsObject;
+    private final byte[] callbackArgument;
+    private final boolean callbackArgumentIsObject;
+    private final byte[] versionTag;
+    private final byte[] eventIdentifier;
+
+    SerializedParts(KnownVersion version, Object key, Object callbackArgument,
+        VersionTag<?> versionTag, EventID eventIdentifier) throws IOException {
+      this.version = version;
+      if (key == null || key instanceof String) {
+        this.key = serializeString((String) key);
+        keyIsObject = false;
+      } else {
+        this.key = serialize(key);
+        keyIsObject = true;
+      }
+      if (callbackArgument instanceof byte[]) {
+        this.callbackArgument = (byte[]) callbackArgument;
+        callbackArgumentIsObject = false;
+      } else {
+        this.callbackArgument = serialize(callbackArgument);
+        callbackArgumentIsObject = callbackArgument != null;
+      }
+      this.versionTag = serialize(versionTag);
+      this.eventIdentifier = serialize(eventIdentifier);
+    }
+
+    /**
+     * The memory taken by these parts and their map entry. A callback argument that was already a
+     * byte array is the message's own and is not counted again.
+     */
+    int getSizeInBytes() {
+      // the parts: 6 references and 2 booleans, the map entry: 3 references and a hash
+      int size = 2 * Sizeable.PER_OBJECT_OVERHEAD + 26 + 16;
+      size += sizeOf(key);
+      if (callbackArgumentIsObject) {
+        size += sizeOf(callbackArgument);
+      }
+      size += sizeOf(versionTag);
+      size += sizeOf(eventIdentifier);
+      return size;
+    }
+
+    private static int sizeOf(byte[] bytes) {
+      return bytes == null ? 0 : CachedDeserializableFactory.calcMemSize(bytes);
+    }
+
+    private static byte[] serializeString(String value) {
+      if (value == null) {
+        return null;
+      }
+      try (HeapDataOutputStream hdos = new HeapDataOutputStream(value)) {
+        return hdos.toByteArray();
+      }
+    }
+
+    private byte[] serialize(Object value) throws IOException {
+      if (value == null) {
+        return null;
+      }
+      return BlobHelper.serializeToBlob(value,
+          version.equals(KnownVersion.CURRENT) ? null : version);
+    }
+  }
+
   private static final ThreadLocal<Map<Integer, Message>> CACHED_MESSAGES =
       ThreadLocal.withInitial(HashMap::new);
 
@@ -651,6 +757,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
   public void setEventIdentifier(EventID eventId) {
     if (_eventIdentifier == null) {
       _eventIdentifier = eventId;
+      serializedParts = null;
     }
   }
 
@@ -901,6 +1008,14 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
     // The sizeOf call gets the size of the input callback argument.
     size += sizeOf(getOriginalCallbackArgument());
+
+    // The parts serialized for the versions of the clients it was sent to
+    Map<KnownVersion, SerializedParts> cachedParts = serializedParts;
+    if (cachedParts != null) {
+      for (SerializedParts parts : cachedParts.values()) {
+        size += parts.getSizeInBytes();
+      }
+    }
     return size;
   }
 
@@ -31,13 +31,18 @@ import org.apache.logging.log4j.Logger;
 import org.apache.geode.SerializationException;
 import org.apache.geode.annotations.Immutable;
 import org.apache.geode.annotations.internal.MakeNotStatic;
+import org.apache.geode.distributed.internal.DistributionManager;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.PooledDirectDataOutputStream;
 import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.net.BufferPool;
 import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.offheap.annotations.Unretained;
 import org.apache.geode.internal.serialization.KnownVersion;
+import org.apache.geode.internal.tcp.Connection;
 import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.logging.internal.log4j.api.LogService;
 import org.apache.geode.util.internal.GeodeGlossary;
@@ -106,6 +111,20 @@ public class Message {
 
   private static final int DEFAULT_CHUNK_SIZE = 1024;
 
+  public static final String DIRECT_PART_BUFFERS_PROPERTY =
+      GeodeGlossary.GEMFIRE_PREFIX + "Message.DIRECT_PART_BUFFERS";
+
+  /**
+   * If true, serialized parts that outgrow their initial heap buffer continue in direct buffers
+   * from {@link #getPartBufferPool()}. When the message is sent over a socket channel those parts
+   * are written together with the comm buffer in a gathering write instead of being copied into it.
+   */
+  private static final boolean directPartBuffers =
+      Boolean.getBoolean(DIRECT_PART_BUFFERS_PROPERTY);
+
+  @MakeNotStatic
+  private static volatile PartBufferPool partBufferPool;
+
   @Immutable
   private static final byte[] TRUE = defineTrue();
   @Immutable
@@ -171,6 +190,13 @@ public class Message {
 
   private KnownVersion version;
 
+  /**
+   * The pool of direct part buffers used by this message, looked up when its first part is
+   * serialized
+   */
+  private BufferPool partBuffers;
+  private boolean partBuffersResolved;
+
   /**
    * Creates a new message with the given number of parts
    */
@@ -370,6 +396,50 @@ public class Message {
     }
   }
 
+  /**
+   * The returned stream is closed by {@link Part#clear()}, which returns any pooled buffers.
+   */
+  private HeapDataOutputStream newPartOutputStream(KnownVersion v, boolean doNotCopy) {
+    if (directPartBuffers && !partBuffersResolved) {
+      partBuffers = getPartBufferPool();
+      partBuffersResolved = true;
+    }
+    if (partBuffers != null) {
+      return new PooledDirectDataOutputStream(partBuffers, chunkSize, Connection.SMALL_BUFFER_SIZE,
+          v, doNotCopy);
+    }
+    return new HeapDataOutputStream(chunkSize, v, doNotCopy);
+  }
+
+  /**
+   * @return the pool of direct part buffers, whose buffers are counted in the stats of the
+   *         distribution manager of the current distributed system, or null if there is none
+   */
+  private static BufferPool getPartBufferPool() {
+    InternalDistributedSystem system = InternalDistributedSystem.getAnyInstance();
+    DistributionManager dm = system == null ? null : system.getDistributionManager();
+    if (dm == null) {
+      return null;
+    }
+    PartBufferPool current = partBufferPool;
+    if (current == null || current.dm != dm) {
+      // the first message, or the member reconnected
+      current = new PartBufferPool(dm, new BufferPool(dm.getStats()));
+      partBufferPool = current;
+    }
+    return current.pool;
+  }
+
+  private static class PartBufferPool {
+    private final DistributionManager dm;
+    private final BufferPool pool;
+
+    private PartBufferPool(DistributionManager dm, BufferPool pool) {
+      this.dm = dm;
+      this.pool = pool;
+    }
+  }
+
   private void serializeAndAddPartNoCopying(Object o) {
     KnownVersion v = version;
     if (version.equals(KnownVersion.CURRENT)) {
@@ -378,11 +448,15 @@ public class Message {
 
     // Create the HDOS with a flag telling it that it can keep any byte[] or ByteBuffers/ByteSources
     // passed to it. Do NOT close the HeapDataOutputStream!
-    HeapDataOutputStream hdos = new HeapDataOutputStream(chunkSize, v, true);
+    HeapDataOutputStream hdos = newPartOutputStream(v, true);
     try {
       BlobHelper.serializeTo(o, hdos);
     } catch (IOException ex) {
+      hdos.close();
       throw new SerializationException("failed serializing object", ex);
+    } catch (RuntimeException | Error ex) {
+      hdos.close();
+      throw ex;
     }
     messageModified = true;
     Part part = partsList[currentPart];
@@ -401,11 +475,15 @@ public class Message {
     }
 
     // do NOT close the HeapDataOutputStream
-    HeapDataOutputStream hdos = new HeapDataOutputStream(chunkSize, v);
+    HeapDataOutputStream hdos = newPartOutputStream(v, false);
     try {
       BlobHelper.serializeTo(o, hdos);
     } catch (IOException ex) {
+      hdos.close();
       throw new SerializationException("failed serializing object", ex);
+    } catch (RuntimeException | Error ex) {
+      hdos.close();
+      throw ex;
     }
     messageModified = true;
     Part part = partsList[currentPart];
@@ -561,6 +639,15 @@ public class Message {
    * Sends this message out on its socket.
    */
   void sendBytes(boolean clearMessage) throws IOException {
+    sendBytes(clearMessage, true);
+  }
+
+  /**
+   * Sends this message out on its socket. If {@code flush} is false the message is appended to
+   * what is pending in the comm buffer and its tail may be left there, to be written out by a later
+   * message or by {@link #flush()}.
+   */
+  void sendBytes(boolean clearMessage, boolean flush) throws IOException {
     if (serverConnection != null) {
       // Keep track of the fact that we are making progress.
       serverConnection.updateProcessingMessage();
@@ -606,7 +693,11 @@ public class Message {
               + ") exceeds gemfire.client.max-message-size setting (" + maxMessageSize + ")");
         }
 
-        commBuffer.clear();
+        if (flush) {
+          commBuffer.clear();
+        } else if (commBuffer.remaining() < FIXED_LENGTH) {
+          flushBuffer();
+        }
         packHeaderInfoForSending(msgLen, securityPart != null);
         for (int i = 0; i < partsToTransmit; i++) {
           Part part = i == numberOfParts ? securityPart : partsList[i];
@@ -620,6 +711,12 @@ public class Message {
           commBuffer.put(part.getTypeCode());
           if (partLen <= commBuffer.remaining()) {
             part.writeTo(commBuffer);
+          } else if (socketChannel != null && part.isGatheringWritable()) {
+            // the part goes out in the same write as what is pending in the commBuffer
+            if (messageStats != null) {
+              messageStats.incSentBytes(commBuffer.position() + partLen);
+            }
+            part.writeTo(socketChannel, commBuffer);
           } else {
             flushBuffer();
             if (socketChannel != null) {
@@ -632,21 +729,48 @@ public class Message {
             }
           }
         }
-        if (commBuffer.position() != 0) {
-          flushBuffer();
+        if (flush) {
+          flushPending();
         }
         messageModified = false;
-        if (socketChannel == null) {
-          outputStream.flush();
-        }
       }
     } finally {
       if (clearMessage) {
         clearParts();
+      } else {
+        // the message is kept to be sent again, so it must not hold on to pooled buffers
+        for (Part part : partsList) {
+          part.releasePooledBuffers();
+        }
       }
     }
   }
 
+  /**
+   * Writes out what messages sent without flushing left in the comm buffer.
+   */
+  void flush() throws IOException {
+    if (socket == null) {
+      throw new IOException("Dead Connection");
+    }
+    final ByteBuffer commBuffer = getCommBuffer();
+    if (commBuffer == null) {
+      throw new IOException("No buffer");
+    }
+    synchronized (commBuffer) {
+      flushPending();
+    }
+  }
+
+  private void flushPending() throws IOException {
+    if (getCommBuffer().position() != 0) {
+      flushBuffer();
+    }
+    if (socketChannel == null) {
+      outputStream.flush();
+    }
+  }
+
   void flushBuffer() throws IOException {
     final ByteBuffer cb = getCommBuffer();
     if (socketChannel != null) {
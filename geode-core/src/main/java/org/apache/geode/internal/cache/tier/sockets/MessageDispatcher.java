@@ -16,6 +16,7 @@ package org.apache.geode.internal.cache.tier.sockets;
 
 import static org.apache.geode.internal.cache.tier.sockets.ClientReAuthenticateMessage.RE_AUTHENTICATION_START_VERSION;
 import static org.apache.geode.internal.lang.SystemPropertyHelper.RE_AUTHENTICATE_WAIT_TIME;
+import static org.apache.geode.internal.lang.SystemPropertyHelper.SUBSCRIPTION_DISPATCH_BATCH_SIZE;
 import static org.apache.geode.util.internal.UncheckedUtils.uncheckedCast;
 
 import java.io.IOException;
@@ -128,6 +129,20 @@ public class MessageDispatcher extends LoggingThread {
   private final ReadWriteLock socketLock = new ReentrantReadWriteLock();
 
   private final Lock socketWriteLock = socketLock.writeLock();
+
+  /**
+   * The last message of the batch being dispatched, which is flushed once the whole batch has been
+   * written. Guarded by {@link #socketWriteLock}.
+   */
+  private Message unflushedMessage;
+
+  /**
+   * The messages queued while the durable client was away that are still to be sent since it
+   * reconnected, and when it reconnected. Only used by the dispatcher thread.
+   */
+  private int replayBacklog;
+  private int replayMessages;
+  private long replayStart;
   // /**
   // * A boolean verifying whether a warning has already been issued if the
   // * message queue has reached its capacity.
@@ -372,6 +387,7 @@ public class MessageDispatcher extends LoggingThread {
     }
 
     ClientMessage clientMessage = null;
+    int batchSize = getBatchSize();
 
     while (!isStopped()) {
       // SystemFailure.checkFailure(); DM's stopper does this
@@ -398,8 +414,26 @@ public class MessageDispatcher extends LoggingThread {
             }
           }
           waitForResumption();
+          startReplay();
         }
 
+        if (waitForReAuthenticationStartTime == -1 && batchSize > 1) {
+          // take whatever accumulated while the previous batch was written, without waiting
+          List<ClientMessage> batch;
+          try {
+            batch = uncheckedCast(_messageQueue.peek(batchSize, -1));
+          } catch (RegionDestroyedException skipped) {
+            break;
+          }
+          if (!batch.isEmpty()) {
+            getStatistics().setQueueSize(_messageQueue.size());
+            if (isStopped()) {
+              break;
+            }
+            dispatchBatch(batch);
+            continue;
+          }
+        }
         // if message is not delivered due to authentication expiation, continue to try to
         // deliver the same message. Always retrieve a new message from the queue if we are not
         // waiting for the re-auth to happen.
@@ -427,6 +461,7 @@ public class MessageDispatcher extends LoggingThread {
           if (dispatchMessage(clientMessage)) {
             getStatistics().endMessage(start);
             _messageQueue.remove();
+            replayed(1);
             if (clientMessage instanceof ClientMarkerMessageImpl) {
               getProxy().setMarkerEnqueued(false);
             }
@@ -437,6 +472,7 @@ public class MessageDispatcher extends LoggingThread {
           // behave as if the message is dispatched, remove from the queue
           logger.warn("skip delivering message: " + clientMessage, notAuthorized);
           _messageQueue.remove();
+          replayed(1);
           clientMessage = null;
         } catch (AuthenticationExpiredException expired) {
           exceptionOccurred = handleAuthenticationExpiredException(expired);
@@ -529,6 +565,107 @@ public class MessageDispatcher extends LoggingThread {
     }
   }
 
+  /**
+   * Batches are only taken from non-durable queues without integrated security, since a durable
+   * queue tracks what is peeked one message at a time and a re-authentication retries the single
+   * message that failed.
+   */
+  private int getBatchSize() {
+    if (getProxy().isDurable() || getCache().getSecurityService().isIntegratedSecurity()) {
+      return 1;
+    }
+    long batchSize = getSystemProperty(SUBSCRIPTION_DISPATCH_BATCH_SIZE, 1);
+    return (int) Math.max(1, Math.min(batchSize, Integer.MAX_VALUE));
+  }
+
+  private void startReplay() {
+    replayBacklog = _messageQueue.size();
+    replayMessages = replayBacklog;
+    replayStart = getStatistics().startTime();
+  }
+
+  /**
+   * Counts messages removed from the backlog of a reconnected durable client, whether sent or
+   * skipped, which is replayed once as many messages as it held have been removed.
+   */
+  private void replayed(int messages) {
+    if (replayBacklog > 0) {
+      replayBacklog -= messages;
+      if (replayBacklog <= 0) {
+        replayBacklog = 0;
+        getStatistics().endDurableQueueReplay(replayStart, replayMessages);
+      }
+    }
+  }
+
+  /**
+   * Writes the messages of a batch to the socket with a single flush, then removes them all from
+   * the queue. If a message fails before any of it is written, the messages ahead of it are still
+   * flushed and removed, and it is peeked again with the rest of the batch. If it fails once part
+   * of it may have been written, nothing more is flushed and the proxy is closed.
+   */
+  private void dispatchBatch(List<ClientMessage> batch) throws IOException, InterruptedException {
+    long start = getStatistics().startTime();
+    int dispatched = 0;
+    int done = 0;
+    boolean isPaused = false;
+    boolean markerDispatched = false;
+    Exception failure = null;
+    socketWriteLock.lock();
+    try {
+      for (ClientMessage clientMessage : batch) {
+        try {
+          if (!dispatchMessage(clientMessage, false)) {
+            isPaused = true;
+            break;
+          }
+          dispatched++;
+          if (clientMessage instanceof ClientMarkerMessageImpl) {
+            markerDispatched = true;
+          }
+        } catch (NotAuthorizedException notAuthorized) {
+          // behave as if the message is dispatched, it is removed with the batch
+          logger.warn("skip delivering message: " + clientMessage, notAuthorized);
+        } catch (MessageTooLargeException e) {
+          // nothing of it was written, it is removed with the batch
+          logger.warn("Message too large to send to client: {}, {}", clientMessage,
+              e.getMessage());
+        } catch (PartiallyWrittenMessageException e) {
+          throw e;
+        } catch (IOException | RuntimeException e) {
+          failure = e;
+          break;
+        }
+        done++;
+      }
+      if (unflushedMessage != null) {
+        unflushedMessage.flush();
+      }
+    } finally {
+      unflushedMessage = null;
+      socketWriteLock.unlock();
+    }
+    if (isPaused) {
+      return;
+    }
+    getStatistics().endBatch(start, dispatched);
+    if (failure == null) {
+      _messageQueue.remove();
+      replayed(batch.size());
+    } else {
+      _messageQueue.removePeeked(done);
+      replayed(done);
+    }
+    if (markerDispatched) {
+      getProxy().setMarkerEnqueued(false);
+    }
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    } else if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+  }
+
   private boolean handleAuthenticationExpiredException(AuthenticationExpiredException expired)
       throws InterruptedException {
     if (unregisterUnsupportedClient(expired)) {
@@ -690,6 +827,10 @@ public class MessageDispatcher extends LoggingThread {
    *
    */
   protected boolean dispatchMessage(ClientMessage clientMessage) throws IOException {
+    return dispatchMessage(clientMessage, true);
+  }
+
+  private boolean dispatchMessage(ClientMessage clientMessage, boolean flush) throws IOException {
     boolean isDispatched = false;
     if (logger.isTraceEnabled(LogMarker.BRIDGE_SERVER_VERBOSE)) {
       logger.trace(LogMarker.BRIDGE_SERVER_VERBOSE, "Dispatching {}", clientMessage);
@@ -744,7 +885,7 @@ public class MessageDispatcher extends LoggingThread {
     }
 
     if (!_proxy.isPaused()) {
-      sendMessage(message);
+      sendMessage(message, flush);
 
       if (logger.isTraceEnabled()) {
         logger.trace("{}: Dispatched {}", this, clientMessage);
@@ -772,13 +913,28 @@ public class MessageDispatcher extends LoggingThread {
 
   @VisibleForTesting
   protected void sendMessage(Message message) throws IOException {
+    sendMessage(message, true);
+  }
+
+  private void sendMessage(Message message, boolean flush) throws IOException {
     if (message == null) {
       return;
     }
     socketWriteLock.lock();
     try {
       message.setComms(getSocket(), getCommBuffer(), getStatistics());
-      message.send();
+      try {
+        message.sendBytes(true, flush);
+      } catch (MessageTooLargeException e) {
+        // thrown before anything is written
+        throw e;
+      } catch (IOException | RuntimeException e) {
+        if (flush) {
+          throw e;
+        }
+        throw new PartiallyWrittenMessageException(e);
+      }
+      unflushedMessage = flush ? null : message;
       getProxy().resetPingCounter();
     } finally {
       socketWriteLock.unlock();
@@ -920,4 +1076,16 @@ public class MessageDispatcher extends LoggingThread {
     }
     _messageQueue.initializeTransients();
   }
+
+  /**
+   * Thrown when writing a message of a batch fails after part of it may have been written, which
+   * leaves the stream to the client unusable.
+   */
+  private static class PartiallyWrittenMessageException extends IOException {
+    private static final long serialVersionUID = 0L;
+
+    PartiallyWrittenMessageException(Exception cause) {
+      super(cause.getMessage(), cause);
+    }
+  }
 }
@@ -26,6 +26,7 @@ import org.apache.geode.annotations.Immutable;
 import org.apache.geode.annotations.internal.MakeNotStatic;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.PooledDirectDataOutputStream;
 import org.apache.geode.internal.offheap.AddressableMemoryManager;
 import org.apache.geode.internal.offheap.StoredObject;
 import org.apache.geode.internal.serialization.DSCODE;
@@ -441,10 +442,32 @@ public class Part {
     }
   }
 
+  /**
+   * If this part is held in buffers acquired from a pool, copies it to the heap and returns those
+   * buffers to the pool.
+   */
+  public void releasePooledBuffers() {
+    if (part instanceof PooledDirectDataOutputStream) {
+      PooledDirectDataOutputStream os = (PooledDirectDataOutputStream) part;
+      part = os.toByteArray();
+      os.close();
+    }
+  }
+
+  /**
+   * Returns true if this part can be written to a socket channel together with whatever is still
+   * pending in the commBuffer, in which case {@link #writeTo(SocketChannel, ByteBuffer)} does not
+   * require the commBuffer to be flushed first.
+   */
+  public boolean isGatheringWritable() {
+    return part instanceof PooledDirectDataOutputStream;
+  }
+
   /**
    * Write the contents of this part to the specified socket channel using the specified byte
    * buffer. This is only called for parts that will not fit into the commBuffer so they need to be
-   * written directly to the socket. Precondition: buf contains nothing that needs to be sent
+   * written directly to the socket. Precondition: buf contains nothing that needs to be sent,
+   * unless this part {@link #isGatheringWritable()}
    */
   public void writeTo(SocketChannel sc, ByteBuffer buf) throws IOException {
     if (getLength() > 0) {
@@ -49,6 +49,7 @@ import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.TXStateProxy;
 import org.apache.geode.internal.cache.execute.AbstractExecution;
+import org.apache.geode.internal.cache.execute.FunctionConcurrencyLimiter;
 import org.apache.geode.internal.cache.execute.FunctionContextImpl;
 import org.apache.geode.internal.cache.execute.InternalFunctionExecutionService;
 import org.apache.geode.internal.cache.execute.InternalFunctionExecutionServiceImpl;
@@ -394,7 +395,7 @@ public class ExecuteFunction70 extends BaseCommand {
     if (fn.hasResult()) {
       long startExecution = stats.startFunctionExecution(fn.hasResult());
       try {
-        fn.execute(cx);
+        FunctionConcurrencyLimiter.execute(fn, cx);
         if (sender.isOkayToSendResult() && !sender.isLastResultReceived() && fn.hasResult()) {
           throw new FunctionException(
               String.format("The function, %s, did not send last result", fn.getId()));
@@ -423,7 +424,7 @@ public class ExecuteFunction70 extends BaseCommand {
                   "Function invoked within transactional context, but hasResults() is false; ordering of transactional operations cannot be guaranteed.  This message is only issued once by a server.");
             }
           }
-          fn.execute(cx);
+          FunctionConcurrencyLimiter.execute(fn, cx);
           stats.endFunctionExecution(startExecution, fn.hasResult());
         } catch (InternalFunctionInvocationTargetException e) {
           // TRAC #44709: InternalFunctionInvocationTargetException should not be logged
@@ -113,6 +113,13 @@ public class SystemPropertyHelper {
    */
   public static final String RE_AUTHENTICATE_WAIT_TIME = "reauthenticate.wait.time";
 
+  /**
+   * The most messages a client subscription queue dispatcher writes to the client socket before
+   * flushing it. The dispatcher takes whatever is waiting in the queue up to this many messages, so
+   * batches only form when the client falls behind. The default of 1 flushes every message.
+   */
+  public static final String SUBSCRIPTION_DISPATCH_BATCH_SIZE = "subscription.dispatch.batch.size";
+
   /**
    * As of Geode 1.4.0, a region set operation will be in a transaction even if it is the first
    * operation in the transaction.
@@ -38,6 +38,7 @@ import org.apache.geode.internal.ByteBufferWriter;
 import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.ObjToByteArraySerializer;
+import org.apache.geode.internal.PooledDirectDataOutputStream;
 import org.apache.geode.internal.net.BufferPool;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.serialization.StaticSerialization;
@@ -107,7 +108,11 @@ public class MsgStreamer extends OutputStream
   protected void release() {
     MsgIdGenerator.release(msgId);
     buffer.clear();
-    overflowBuf = null;
+    if (overflowBuf != null) {
+      // return its pooled buffers
+      overflowBuf.close();
+      overflowBuf = null;
+    }
     bufferPool.releaseSenderBuffer(buffer);
   }
 
@@ -286,11 +291,20 @@ public class MsgStreamer extends OutputStream
     }
   }
 
+  /**
+   * The overflow buffer grows in buffers from our pool, which are returned once its contents have
+   * been sent or discarded.
+   */
+  private HeapDataOutputStream newOverflowBuf() {
+    int chunkSize = buffer.capacity() - Connection.MSG_HEADER_BYTES;
+    return new PooledDirectDataOutputStream(bufferPool, chunkSize, chunkSize,
+        KnownVersion.CURRENT, false);
+  }
+
   public void realFlush(boolean lastFlushForMessage) {
     if (isOverflowMode()) {
       if (overflowBuf == null) {
-        overflowBuf = new HeapDataOutputStream(
-            buffer.capacity() - Connection.MSG_HEADER_BYTES, KnownVersion.CURRENT);
+        overflowBuf = newOverflowBuf();
       }
       return;
     }
@@ -914,8 +928,7 @@ public class MsgStreamer extends OutputStream
       int remainingSpace = buffer.capacity() - buffer.position();
       if (remainingSpace < 5) {
         // we don't even have room to write the length field so just create the overflowBuf
-        overflowBuf = new HeapDataOutputStream(
-            buffer.capacity() - Connection.MSG_HEADER_BYTES, KnownVersion.CURRENT);
+        overflowBuf = newOverflowBuf();
         overflowBuf.writeAsSerializedByteArray(v);
         return;
       }
@@ -944,13 +957,21 @@ public class MsgStreamer extends OutputStream
       disableOverflowMode();
       finished = true;
       if (overBuf != null && !isOverflowMode()) {
-        overBuf.sendTo((ByteBufferWriter) this);
+        try {
+          overBuf.sendTo((ByteBufferWriter) this);
+        } finally {
+          overBuf.close();
+        }
       }
     } finally {
       if (!finished) {
         // reset buffer and act as if we did nothing
         buffer.position(lengthPos);
+        HeapDataOutputStream discarded = overflowBuf;
         disableOverflowMode();
+        if (discarded != null && overflowBuf == null) {
+          discarded.close();
+        }
       }
     }
   }
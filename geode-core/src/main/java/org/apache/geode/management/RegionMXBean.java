@@ -447,4 +447,29 @@ public interface RegionMXBean {
    */
   int getLocalMaxMemory();
 
+  /**
+   * Returns the keys of the Region that this member operated on most often recently, most
+   * frequent first, as "key=count" where count is the estimated number of recent operations. For a
+   * PartitionedRegion only the operations served by the buckets hosted by this member are counted.
+   *
+   * @return the keys this member operated on most often recently
+   * @since Geode 1.15
+   */
+  default String[] listHotKeys() {
+    return new String[0];
+  }
+
+  /**
+   * Returns the ids of the buckets hosted by this member that were operated on most often
+   * recently, most frequent first, as "bucketId=count" where count is the estimated number of
+   * recent operations. This attribute is applicable for PartitionedRegion only. For other regions
+   * it will be empty.
+   *
+   * @return the ids of the buckets operated on most often recently
+   * @since Geode 1.15
+   */
+  default String[] listHotBuckets() {
+    return new String[0];
+  }
+
 }
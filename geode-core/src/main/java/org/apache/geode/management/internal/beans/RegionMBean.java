@@ -70,6 +70,16 @@ public class RegionMBean<K, V> extends NotificationBroadcasterSupport implements
     return bridge.listSubRegionPaths(recursive);
   }
 
+  @Override
+  public String[] listHotKeys() {
+    return bridge.listHotKeys();
+  }
+
+  @Override
+  public String[] listHotBuckets() {
+    return bridge.listHotBuckets();
+  }
+
   @Override
   public long getCacheListenerCallsAvgLatency() {
     return bridge.getCacheListenerCallsAvgLatency();
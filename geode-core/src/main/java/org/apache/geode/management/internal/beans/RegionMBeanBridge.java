@@ -14,6 +14,7 @@
  */
 package org.apache.geode.management.internal.beans;
 
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -27,6 +28,7 @@ import org.apache.geode.internal.cache.DirectoryHolder;
 import org.apache.geode.internal.cache.DiskRegionStats;
 import org.apache.geode.internal.cache.DiskStoreImpl;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.HeavyHitterSketch;
 import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
@@ -51,6 +53,8 @@ import org.apache.geode.management.internal.beans.stats.StatsRate;
  */
 public class RegionMBeanBridge<K, V> {
 
+  private static final int HOT_ITEM_COUNT = 10;
+
   private EvictionAttributesData evictionAttributesData;
 
   private MembershipAttributesData membershipAttributesData;
@@ -236,6 +240,28 @@ public class RegionMBeanBridge<K, V> {
     return subregionPaths.toArray(new String[0]);
   }
 
+  public String[] listHotKeys() {
+    if (!(region instanceof LocalRegion)) {
+      return ManagementConstants.NO_DATA_STRING;
+    }
+    return toStrings(((LocalRegion) region).getHotKeys(HOT_ITEM_COUNT));
+  }
+
+  public String[] listHotBuckets() {
+    if (!(region instanceof PartitionedRegion)) {
+      return ManagementConstants.NO_DATA_STRING;
+    }
+    return toStrings(((PartitionedRegion) region).getHotBuckets(HOT_ITEM_COUNT));
+  }
+
+  private static String[] toStrings(List<? extends HeavyHitterSketch.HeavyHitter<?>> hotItems) {
+    String[] result = new String[hotItems.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = hotItems.get(i).toString();
+    }
+    return result;
+  }
+
   public RegionMBeanBridge(CachePerfStats cachePerfStats) {
     regionStats = cachePerfStats;
 
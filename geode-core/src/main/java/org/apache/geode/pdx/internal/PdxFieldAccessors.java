@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import org.apache.geode.InternalGemFireException;
+
+/**
+ * The position arithmetic for every field of a {@link PdxType}, computed once per type from the
+ * relative offsets and variable length field offset indexes set up by
+ * {@link PdxType#initialize(PdxWriterImpl)}.
+ * <p>
+ * A field position is always one of:
+ * <ul>
+ * <li>{@link #ABSOLUTE}: a fixed position from the start of the blob</li>
+ * <li>{@link #FROM_VLF_OFFSET}: the value of an entry in the blob's offset table plus a delta</li>
+ * <li>{@link #FROM_VLF_TABLE}: the start of the blob's offset table plus a (negative) delta</li>
+ * </ul>
+ * so a {@link PdxReaderImpl} only has to decode at most one offset table entry per field, which it
+ * can also cache for the lifetime of the blob.
+ *
+ * @since Geode 1.15
+ */
+class PdxFieldAccessors {
+
+  static final byte ABSOLUTE = 0;
+  static final byte FROM_VLF_OFFSET = 1;
+  static final byte FROM_VLF_TABLE = 2;
+  static final byte INVALID = 3;
+
+  private final PdxField[] fields;
+  private final byte[] kinds;
+  private final int[] deltas;
+  private final int[] vlfOffsetIndexes;
+
+  PdxFieldAccessors(PdxType type) {
+    int fieldCount = type.getFieldCount();
+    fields = new PdxField[fieldCount];
+    kinds = new byte[fieldCount];
+    deltas = new int[fieldCount];
+    vlfOffsetIndexes = new int[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      PdxField field = type.getPdxFieldByIndex(i);
+      fields[i] = field;
+      compile(i, field);
+    }
+  }
+
+  private void compile(int i, PdxField field) {
+    int idx0 = field.getRelativeOffset();
+    int idx1 = field.getVlfOffsetIndex();
+    vlfOffsetIndexes[i] = idx1;
+    deltas[i] = idx0;
+    if (field.isVariableLengthType()) {
+      if (idx1 != -1) {
+        kinds[i] = FROM_VLF_OFFSET;
+        deltas[i] = 0;
+      } else {
+        kinds[i] = ABSOLUTE;
+      }
+    } else {
+      if (idx0 >= 0) {
+        kinds[i] = ABSOLUTE;
+      } else if (idx1 > 0) {
+        kinds[i] = FROM_VLF_OFFSET;
+      } else if (idx1 == -1) {
+        kinds[i] = FROM_VLF_TABLE;
+      } else {
+        kinds[i] = INVALID;
+      }
+    }
+  }
+
+  /**
+   * @return true if the given field is the one these accessors were compiled for; fields from
+   *         another type (or default fields) must have their position computed the slow way.
+   */
+  boolean isCompiledFor(PdxField field) {
+    int idx = field.getFieldIndex();
+    return idx >= 0 && idx < fields.length && fields[idx] == field;
+  }
+
+  byte getKind(int fieldIndex) {
+    return kinds[fieldIndex];
+  }
+
+  int getDelta(int fieldIndex) {
+    return deltas[fieldIndex];
+  }
+
+  int getVlfOffsetIndex(int fieldIndex) {
+    return vlfOffsetIndexes[fieldIndex];
+  }
+
+  InternalGemFireException invalidPosition(int fieldIndex) {
+    return new InternalGemFireException(
+        "idx0=" + deltas[fieldIndex] + " idx1=" + vlfOffsetIndexes[fieldIndex]);
+  }
+}
@@ -54,6 +54,14 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   private final PdxType blobType;
   private final PdxInputStream dis;
   private transient PdxUnreadData readUnreadFieldsCalled;
+  /**
+   * Lazily decoded variable length field offsets of this blob. Slot 0 holds the position of the
+   * offset table itself and slot i the value of offset table entry i. For types with
+   * {@link PdxType#getCompactOffsets() compact offsets} all slots are decoded together. Values are
+   * stored plus one so that zero means "not yet decoded". Concurrent readers may race to fill a
+   * slot but they always store the same value.
+   */
+  private transient int[] decodedOffsets;
 
   protected PdxReaderImpl(PdxReaderImpl copy) {
     blobType = copy.blobType;
@@ -631,6 +639,23 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
    * @return the offset to the variable length field
    */
   private int getOffset(int idx) {
+    if (blobType.getCompactOffsets()) {
+      return getCompactOffset(idx);
+    }
+    int[] cache = getDecodedOffsets();
+    if (idx < cache.length) {
+      int cached = cache[idx];
+      if (cached != 0) {
+        return cached - 1;
+      }
+      int result = decodeOffset(idx);
+      cache[idx] = result + 1;
+      return result;
+    }
+    return decodeOffset(idx);
+  }
+
+  private int decodeOffset(int idx) {
     int size = dis.size();
     if (size <= MAX_UNSIGNED_BYTE) {
       return dis.readByte(size - idx * DataSize.BYTE_SIZE) & MAX_UNSIGNED_BYTE;
@@ -641,11 +666,73 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     }
   }
 
+  private int[] getDecodedOffsets() {
+    int[] result = decodedOffsets;
+    if (result == null) {
+      result = new int[blobType.getVariableLengthFieldCount() + 1];
+      decodedOffsets = result;
+    }
+    return result;
+  }
+
+  /**
+   * Compact offsets can only be decoded sequentially from the end of the blob so they are all
+   * decoded together the first time any of them is needed.
+   *
+   * @param idx 0 for the position of the offset table, otherwise the offset table entry
+   */
+  private int getCompactOffset(int idx) {
+    int[] cache = getDecodedOffsets();
+    int cached = cache[idx];
+    if (cached == 0) {
+      decodeCompactOffsets(cache);
+      cached = cache[idx];
+    }
+    return cached - 1;
+  }
+
+  private void decodeCompactOffsets(int[] cache) {
+    int pos = dis.size();
+    for (int idx = 1; idx < cache.length; idx++) {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = dis.readByte(--pos);
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      cache[idx] = value + 1;
+    }
+    cache[0] = pos + 1;
+  }
+
   private int getPositionForField(PdxField ft) {
     return getAbsolutePosition(ft);
   }
 
   private int getAbsolutePosition(PdxField ft) {
+    PdxFieldAccessors accessors = blobType.getFieldAccessors();
+    if (!accessors.isCompiledFor(ft)) {
+      return computeAbsolutePosition(ft);
+    }
+    int idx = ft.getFieldIndex();
+    switch (accessors.getKind(idx)) {
+      case PdxFieldAccessors.ABSOLUTE:
+        return accessors.getDelta(idx);
+      case PdxFieldAccessors.FROM_VLF_OFFSET:
+        return getOffset(accessors.getVlfOffsetIndex(idx)) + accessors.getDelta(idx);
+      case PdxFieldAccessors.FROM_VLF_TABLE:
+        return getOffsetToVlfTable() + accessors.getDelta(idx);
+      default:
+        throw accessors.invalidPosition(idx);
+    }
+  }
+
+  /**
+   * Computes the position of a field that is not one of the fields of this blob's type.
+   */
+  private int computeAbsolutePosition(PdxField ft) {
     int pos = 0;
     int idx0 = ft.getRelativeOffset();
     int idx1 = ft.getVlfOffsetIndex();
@@ -675,7 +762,17 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   private int getOffsetToVlfTable() {
-    return dis.size() - blobType.getVariableLengthFieldCount() * getSizeOfOffset();
+    if (blobType.getCompactOffsets()) {
+      return getCompactOffset(0);
+    }
+    int[] cache = getDecodedOffsets();
+    int cached = cache[0];
+    if (cached != 0) {
+      return cached - 1;
+    }
+    int result = dis.size() - blobType.getVariableLengthFieldCount() * getSizeOfOffset();
+    cache[0] = result + 1;
+    return result;
   }
 
   @Override
@@ -911,6 +1008,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   protected void basicSetBuffer(ByteBuffer bb) {
+    decodedOffsets = null;
     dis.setBuffer(bb);
   }
 
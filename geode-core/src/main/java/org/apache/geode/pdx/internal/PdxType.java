@@ -36,6 +36,7 @@ import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.serialization.StaticSerialization;
 import org.apache.geode.pdx.PdxFieldAlreadyExistsException;
 import org.apache.geode.pdx.internal.AutoSerializableManager.AutoClassInfo;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 public class PdxType implements DataSerializable {
 
@@ -53,6 +54,21 @@ public class PdxType implements DataSerializable {
    */
   private boolean hasDeletedField;
 
+  /**
+   * If true then the variable length field offsets of blobs of this type are written as compact
+   * varints instead of fixed width offsets. Since older members do not know about this encoding it
+   * should only be enabled after every member and client has been upgraded.
+   *
+   * @since Geode 1.15
+   */
+  private boolean compactOffsets;
+
+  /**
+   * New types use compact offsets if this property is set.
+   */
+  static final boolean COMPACT_OFFSETS_DEFAULT =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "pdx.compactOffsets");
+
   /**
    * A count of the total number of variable length field offsets.
    */
@@ -62,6 +78,7 @@ public class PdxType implements DataSerializable {
 
   private final transient Map<String, PdxField> fieldsMap = new HashMap<>();
   private transient volatile SortedSet<PdxField> sortedIdentityFields;
+  private transient volatile PdxFieldAccessors fieldAccessors;
 
   public PdxType() {
     // for deserialization
@@ -70,6 +87,7 @@ public class PdxType implements DataSerializable {
   public PdxType(String name, boolean expectDomainClass) {
     className = name;
     noDomainClass = !expectDomainClass;
+    compactOffsets = COMPACT_OFFSETS_DEFAULT;
     swizzleGemFireClassNames();
   }
 
@@ -77,6 +95,7 @@ public class PdxType implements DataSerializable {
     typeId = copy.typeId;
     className = copy.className;
     noDomainClass = copy.noDomainClass;
+    compactOffsets = copy.compactOffsets;
     vlfCount = copy.vlfCount;
     for (PdxField ft : copy.fields) {
       addField(ft);
@@ -85,6 +104,7 @@ public class PdxType implements DataSerializable {
 
   private static final byte NO_DOMAIN_CLASS_BIT = 1;
   private static final byte HAS_DELETED_FIELD_BIT = 2;
+  private static final byte COMPACT_OFFSETS_BIT = 4;
 
   private void swizzleGemFireClassNames() {
     OldClientSupportService svc = InternalDataSerializer.getOldClientSupportService();
@@ -101,6 +121,7 @@ public class PdxType implements DataSerializable {
       byte bits = in.readByte();
       noDomainClass = (bits & NO_DOMAIN_CLASS_BIT) != 0;
       hasDeletedField = (bits & HAS_DELETED_FIELD_BIT) != 0;
+      compactOffsets = (bits & COMPACT_OFFSETS_BIT) != 0;
     }
 
     typeId = in.readInt();
@@ -123,6 +144,7 @@ public class PdxType implements DataSerializable {
       // 8.1 and after we write a byte whose bits are:
       // 1: noDomainClass
       // 2: hasDeletedField
+      // 4: compactOffsets
       byte bits = 0;
       if (noDomainClass) {
         bits |= NO_DOMAIN_CLASS_BIT;
@@ -139,6 +161,9 @@ public class PdxType implements DataSerializable {
         if (hasDeletedField) {
           bits |= HAS_DELETED_FIELD_BIT;
         }
+        if (compactOffsets) {
+          bits |= COMPACT_OFFSETS_BIT;
+        }
       }
       out.writeByte(bits);
     }
@@ -187,6 +212,9 @@ public class PdxType implements DataSerializable {
     if (noDomainClass != otherVT.noDomainClass) {
       return false;
     }
+    if (compactOffsets != otherVT.compactOffsets) {
+      return false;
+    }
     if (otherVT.fields.size() != fields.size() || otherVT.vlfCount != vlfCount) {
       return false;
     }
@@ -266,6 +294,7 @@ public class PdxType implements DataSerializable {
           "The field \"" + ft.getFieldName() + "\" already exists.");
     }
     fields.add(ft);
+    fieldAccessors = null;
   }
 
   public void initialize(PdxWriterImpl writer) {
@@ -308,6 +337,7 @@ public class PdxType implements DataSerializable {
       }
     }
     // no longer mark identity fields implicitly. Fixes bug 42976.
+    fieldAccessors = null;
 
     // System.out.println("Printing the position array:");
     // for (int i = 0; i < this.positionArray.length; i++) {
@@ -332,6 +362,18 @@ public class PdxType implements DataSerializable {
     return fields.get(index);
   }
 
+  /**
+   * Returns the precomputed field position arithmetic for this type, creating it on first use.
+   */
+  PdxFieldAccessors getFieldAccessors() {
+    PdxFieldAccessors result = fieldAccessors;
+    if (result == null) {
+      result = new PdxFieldAccessors(this);
+      fieldAccessors = result;
+    }
+    return result;
+  }
+
   public int getFieldCount() {
     return fields.size();
   }
@@ -500,4 +542,12 @@ public class PdxType implements DataSerializable {
   public void setHasDeletedField(boolean b) {
     hasDeletedField = b;
   }
+
+  public boolean getCompactOffsets() {
+    return compactOffsets;
+  }
+
+  void setCompactOffsets(boolean b) {
+    compactOffsets = b;
+  }
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.geode.InternalGemFireException;
+
+/**
+ * A group of {@link PdxType}s that concurrent threads asked {@link PeerTypeRegistration} to define.
+ * The first thread to add a type is the leader: it registers every type in the batch under a
+ * single acquisition of the pdx distributed lock and a single transaction, then releases the other
+ * threads, which only wait for their id.
+ *
+ * @since Geode 1.15
+ */
+class PdxTypeRegistrationBatch {
+
+  private final List<PdxType> types = new ArrayList<>();
+  private final Map<PdxType, Integer> ids = new HashMap<>();
+  private final CountDownLatch completed = new CountDownLatch(1);
+  private volatile Throwable failure;
+
+  /**
+   * Adds a type to this batch. Must only be called while the batch is still open, which is
+   * guarded by the caller.
+   */
+  void add(PdxType type) {
+    types.add(type);
+  }
+
+  /**
+   * @return the types of this batch; must only be called by the leader after the batch is closed
+   */
+  List<PdxType> getTypes() {
+    return Collections.unmodifiableList(types);
+  }
+
+  int size() {
+    return types.size();
+  }
+
+  /**
+   * Records the id assigned to a type of this batch. Equal types share the same id.
+   */
+  void setId(PdxType type, int id) {
+    synchronized (ids) {
+      ids.put(type, id);
+    }
+  }
+
+  Integer getId(PdxType type) {
+    synchronized (ids) {
+      return ids.get(type);
+    }
+  }
+
+  void complete() {
+    completed.countDown();
+  }
+
+  /**
+   * Releases the threads waiting for their id, which then throw the cause.
+   *
+   * @param cause a {@link RuntimeException} or an {@link Error}
+   */
+  void fail(Throwable cause) {
+    failure = cause;
+    completed.countDown();
+  }
+
+  /**
+   * Waits for the leader to register this batch and returns the id of the given type.
+   */
+  int awaitId(PdxType type) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        try {
+          completed.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    Throwable cause = failure;
+    if (cause instanceof RuntimeException) {
+      throw (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    Integer id = getId(type);
+    if (id == null) {
+      throw new InternalGemFireException("No pdx type id was assigned to " + type);
+    }
+    return id;
+  }
+}
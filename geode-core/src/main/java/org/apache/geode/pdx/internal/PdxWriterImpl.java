@@ -595,6 +595,11 @@ public class PdxWriterImpl implements PdxWriter {
    * Must be invoked only after {@link PdxSerializable#toData(PdxWriter)}
    */
   private void appendOffsets() {
+    PdxType type = definingNewPdxType() ? newType : existingType;
+    if (type != null && type.getCompactOffsets()) {
+      appendCompactOffsets();
+      return;
+    }
     int fieldDataSize = getCurrentOffset();
     // Take the list of offsets and append it in reverse order.
     byte sizeOfOffset = getSizeOfOffset(vlfCount, fieldDataSize);
@@ -615,6 +620,35 @@ public class PdxWriterImpl implements PdxWriter {
     }
   }
 
+  /**
+   * Appends the offsets, in reverse order, as varints that can be decoded backwards from the end of
+   * the blob. See {@link PdxType#getCompactOffsets()}.
+   */
+  private void appendCompactOffsets() {
+    for (int i = (vlfCount - 1); i >= 0; i--) {
+      writeCompactOffset(os, vlfOffsets[i]);
+    }
+  }
+
+  /**
+   * Writes an offset as a varint whose least significant group is written last. Every group but the
+   * most significant one has its high bit set, so a reader walking backwards from the end of the
+   * blob knows when the offset is complete.
+   */
+  static void writeCompactOffset(PdxOutputStream os, int offset) {
+    int groups = 1;
+    for (int v = offset >>> 7; v != 0; v >>>= 7) {
+      groups++;
+    }
+    for (int g = groups - 1; g >= 0; g--) {
+      int b = (offset >>> (7 * g)) & 0x7F;
+      if (g < groups - 1) {
+        b |= 0x80;
+      }
+      os.writeByte(b);
+    }
+  }
+
   /**
    * This is required while writing the byte stream.
    *
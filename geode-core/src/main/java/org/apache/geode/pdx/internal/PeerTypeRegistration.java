@@ -19,9 +19,11 @@ import static org.apache.geode.cache.Region.SEPARATOR;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -58,6 +60,7 @@ import org.apache.geode.logging.internal.log4j.api.LogService;
 import org.apache.geode.pdx.JSONFormatter;
 import org.apache.geode.pdx.PdxInitializationException;
 import org.apache.geode.pdx.PdxRegistryMismatchException;
+import org.apache.geode.util.internal.GeodeGlossary;
 
 public class PeerTypeRegistration implements TypeRegistration {
   private static final Logger logger = LogService.getLogger();
@@ -75,6 +78,21 @@ public class PeerTypeRegistration implements TypeRegistration {
   private static final int PLACE_HOLDER_FOR_DS_ID = 0xFF000000;
   private static final int MAX_TYPE_ID = 0xFFFFFF;
 
+  /**
+   * If true, concurrent {@link #defineType(PdxType)} calls are grouped so that all the types that
+   * arrive while one registration holds the pdx distributed lock are registered together, with one
+   * lock acquisition and one transaction.
+   */
+  private static final boolean BATCH_TYPE_REGISTRATION =
+      Boolean.getBoolean(GeodeGlossary.GEMFIRE_PREFIX + "pdx.batchTypeRegistration");
+
+  /**
+   * How long, in milliseconds, the thread leading a registration batch waits for other types to
+   * join before it requests the pdx distributed lock. Only used if batching is enabled.
+   */
+  private static final long BATCH_WINDOW_MILLIS =
+      Long.getLong(GeodeGlossary.GEMFIRE_PREFIX + "pdx.batchTypeRegistrationWindowMillis", 0);
+
   private final TypeRegistrationStatistics statistics;
 
   private final int typeIdPrefix;
@@ -96,8 +114,23 @@ public class PeerTypeRegistration implements TypeRegistration {
 
   private volatile boolean typeRegistryInUse = false;
 
+  private final boolean batchTypeRegistration;
+
+  private final Object batchLock = new Object();
+
+  /**
+   * The batch new types are currently added to; guarded by {@link #batchLock}.
+   */
+  private PdxTypeRegistrationBatch openBatch;
+
   public PeerTypeRegistration(final InternalCache cache) {
+    this(cache, BATCH_TYPE_REGISTRATION);
+  }
+
+  @VisibleForTesting
+  PeerTypeRegistration(final InternalCache cache, final boolean batchTypeRegistration) {
     this.cache = cache;
+    this.batchTypeRegistration = batchTypeRegistration;
 
     final InternalDistributedSystem internalDistributedSystem =
         cache.getInternalDistributedSystem();
@@ -235,6 +268,13 @@ public class PeerTypeRegistration implements TypeRegistration {
   }
 
   private int allocateTypeId(PdxType newType) {
+    return allocateTypeId(newType, Collections.emptyMap());
+  }
+
+  /**
+   * @param pending ids allocated but not yet put in the region
+   */
+  private int allocateTypeId(PdxType newType, Map<Object, Object> pending) {
     TXStateProxy currentState = suspendTX();
     Region<Object, Object> r = getIdToType();
 
@@ -243,7 +283,7 @@ public class PeerTypeRegistration implements TypeRegistration {
 
     try {
       int maxTry = MAX_TYPE_ID;
-      while (r.get(newTypeId) != null) {
+      while (pending.containsKey(newTypeId) || r.get(newTypeId) != null) {
         maxTry--;
         if (maxTry == 0) {
           throw new InternalGemFireError(
@@ -351,6 +391,19 @@ public class PeerTypeRegistration implements TypeRegistration {
     if (existingId != null) {
       return existingId;
     }
+    long start = statistics.startTypeRegistration();
+    try {
+      if (batchTypeRegistration) {
+        return defineTypeInBatch(newType);
+      }
+      return defineSingleType(newType);
+    } finally {
+      statistics.endTypeRegistration(start);
+    }
+  }
+
+  private int defineSingleType(PdxType newType) {
+    Integer existingId;
     lock();
     try {
       if (shouldReload()) {
@@ -376,6 +429,88 @@ public class PeerTypeRegistration implements TypeRegistration {
     }
   }
 
+  /**
+   * Adds the type to the open batch. If there is no open batch this thread opens one and registers
+   * it once it owns the pdx lock, so every type added while it waited for the lock is registered
+   * with it.
+   */
+  private int defineTypeInBatch(PdxType newType) {
+    PdxTypeRegistrationBatch batch;
+    boolean leader = false;
+    synchronized (batchLock) {
+      batch = openBatch;
+      if (batch == null) {
+        batch = new PdxTypeRegistrationBatch();
+        openBatch = batch;
+        leader = true;
+      }
+      batch.add(newType);
+    }
+    if (leader) {
+      registerBatch(batch);
+    }
+    return batch.awaitId(newType);
+  }
+
+  private void registerBatch(PdxTypeRegistrationBatch batch) {
+    try {
+      if (BATCH_WINDOW_MILLIS > 0) {
+        try {
+          Thread.sleep(BATCH_WINDOW_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      lock();
+      try {
+        synchronized (batchLock) {
+          // close the batch; types defined from now on go to the next one
+          if (openBatch == batch) {
+            openBatch = null;
+          }
+        }
+        if (shouldReload()) {
+          buildReverseMapsFromRegion();
+        }
+        reverseMap.flushPendingReverseMap();
+
+        Map<Object, Object> newTypes = new LinkedHashMap<>();
+        for (PdxType type : batch.getTypes()) {
+          Integer id = batch.getId(type);
+          if (id == null) {
+            id = reverseMap.getIdFromReverseMap(type);
+          }
+          if (id == null) {
+            id = allocateTypeId(type, newTypes);
+            type.setTypeId(id);
+            newTypes.put(id, type);
+          } else {
+            type.setTypeId(id);
+          }
+          batch.setId(type, id);
+        }
+        if (!newTypes.isEmpty()) {
+          updateRegion(region -> region.putAll(newTypes));
+          statistics.typesCreated(newTypes.size());
+        }
+        statistics.typeBatchRegistered();
+      } finally {
+        // flush the reverse map for the member that introduced these new PdxTypes
+        reverseMap.flushPendingReverseMap();
+        unlock();
+      }
+      batch.complete();
+    } catch (RuntimeException | Error e) {
+      // the other threads of the batch must be released whatever went wrong
+      synchronized (batchLock) {
+        if (openBatch == batch) {
+          openBatch = null;
+        }
+      }
+      batch.fail(e);
+    }
+  }
+
   private void updateIdToTypeRegion(PdxType newType) {
     updateRegion(newType.getTypeId(), newType);
     statistics.typeCreated();
@@ -387,6 +522,10 @@ public class PeerTypeRegistration implements TypeRegistration {
   }
 
   private void updateRegion(Object k, Object v) {
+    updateRegion(region -> region.put(k, v));
+  }
+
+  private void updateRegion(Consumer<Region<Object, Object>> update) {
     Region<Object, Object> r = getIdToType();
     InternalCache cache = (InternalCache) r.getRegionService();
 
@@ -404,7 +543,7 @@ public class PeerTypeRegistration implements TypeRegistration {
       while (true) {
         txManager.begin();
         try {
-          r.put(k, v);
+          update.accept(r);
           txManager.commit();
           return;
         } catch (TransactionException e) {
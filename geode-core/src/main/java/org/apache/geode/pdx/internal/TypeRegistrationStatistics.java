@@ -26,12 +26,18 @@ class TypeRegistrationStatistics {
   static final String ENUM_DEFINED = "enumDefined";
   static final String ENUM_CREATED = "enumCreated";
   static final String SIZE = "size";
+  static final String TYPE_REGISTRATIONS_IN_PROGRESS = "typeRegistrationsInProgress";
+  static final String TYPE_REGISTRATION_TIME = "typeRegistrationTime";
+  static final String TYPE_BATCHES_REGISTERED = "typeBatchesRegistered";
 
   private final TypeRegistration typeRegistration;
   private final int typeDefinedId;
   private final int typeCreatedId;
   private final int enumDefinedId;
   private final int enumCreatedId;
+  private final int typeRegistrationsInProgressId;
+  private final int typeRegistrationTimeId;
+  private final int typeBatchesRegisteredId;
   private final Statistics statistics;
 
   TypeRegistrationStatistics(final StatisticsFactory statisticsFactory,
@@ -50,13 +56,25 @@ class TypeRegistrationStatistics {
                 statisticsFactory.createLongCounter(ENUM_CREATED, "Number of PDX enums created.",
                     "ops"),
                 statisticsFactory.createLongGauge(SIZE, "Size of PDX type and enum registry.",
-                    "entries")
+                    "entries"),
+                statisticsFactory.createLongGauge(TYPE_REGISTRATIONS_IN_PROGRESS,
+                    "Number of threads currently waiting for a new PDX type to be registered.",
+                    "operations"),
+                statisticsFactory.createLongCounter(TYPE_REGISTRATION_TIME,
+                    "Total time spent waiting for new PDX types to be registered.",
+                    "nanoseconds"),
+                statisticsFactory.createLongCounter(TYPE_BATCHES_REGISTERED,
+                    "Number of batches of PDX types registered with a single distributed operation.",
+                    "operations")
             });
 
     typeDefinedId = statisticsType.nameToId(TYPE_DEFINED);
     typeCreatedId = statisticsType.nameToId(TYPE_CREATED);
     enumDefinedId = statisticsType.nameToId(ENUM_DEFINED);
     enumCreatedId = statisticsType.nameToId(ENUM_CREATED);
+    typeRegistrationsInProgressId = statisticsType.nameToId(TYPE_REGISTRATIONS_IN_PROGRESS);
+    typeRegistrationTimeId = statisticsType.nameToId(TYPE_REGISTRATION_TIME);
+    typeBatchesRegisteredId = statisticsType.nameToId(TYPE_BATCHES_REGISTERED);
 
     statistics = statisticsFactory.createAtomicStatistics(statisticsType,
         typeRegistration.getClass().getSimpleName());
@@ -74,6 +92,24 @@ class TypeRegistrationStatistics {
     statistics.incLong(typeCreatedId, 1);
   }
 
+  void typesCreated(int count) {
+    statistics.incLong(typeCreatedId, count);
+  }
+
+  long startTypeRegistration() {
+    statistics.incLong(typeRegistrationsInProgressId, 1);
+    return System.nanoTime();
+  }
+
+  void endTypeRegistration(long start) {
+    statistics.incLong(typeRegistrationsInProgressId, -1);
+    statistics.incLong(typeRegistrationTimeId, System.nanoTime() - start);
+  }
+
+  void typeBatchRegistered() {
+    statistics.incLong(typeBatchesRegisteredId, 1);
+  }
+
   void enumDefined() {
     statistics.incLong(enumDefinedId, 1);
   }
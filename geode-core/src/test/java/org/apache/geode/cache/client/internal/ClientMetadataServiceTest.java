@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.BucketServerLocation66;
+
+public class ClientMetadataServiceTest {
+
+  private static final String REGION_PATH = "/region";
+
+  private final Region<?, ?> region = mock(Region.class);
+  private final ServerLocation primary = new ServerLocation("localhost", 1);
+  private final ServerLocation secondary = new ServerLocation("localhost", 2);
+
+  @Test
+  public void primaryReadPreferenceReadsFromThePrimary() {
+    ClientMetadataService cms = createService(ReadPreference.PRIMARY);
+
+    for (int i = 0; i < 20; i++) {
+      assertThat(getReadLocation(cms)).isEqualTo(primary);
+    }
+    assertThat(cms.isPrimaryRequiredForBulkReads()).isTrue();
+  }
+
+  @Test
+  public void leastLoadedReadPreferenceAvoidsServersWithReadsInProgress() {
+    ClientMetadataService cms = createService(ReadPreference.LEAST_LOADED);
+
+    cms.readStarted(primary);
+    assertThat(getReadLocation(cms)).isEqualTo(secondary);
+
+    cms.readStarted(secondary);
+    cms.readStarted(secondary);
+    assertThat(getReadLocation(cms)).isEqualTo(primary);
+
+    cms.readEnded(secondary);
+    cms.readEnded(secondary);
+    assertThat(cms.getReadsInProgress(secondary)).isZero();
+    assertThat(cms.isPrimaryRequiredForBulkReads()).isFalse();
+  }
+
+  @Test
+  public void writesAlwaysGoToThePrimary() {
+    ClientMetadataService cms = createService(ReadPreference.LEAST_LOADED);
+    cms.readStarted(primary);
+
+    assertThat(cms.getBucketServerLocation(region, Operation.UPDATE, 0, null, null))
+        .isEqualTo(primary);
+  }
+
+  @Test
+  public void bulkReadsUseThePrimariesWithoutAReadPreference() {
+    assertThat(createService(null).isPrimaryRequiredForBulkReads()).isTrue();
+    assertThat(createService(ReadPreference.ANY).isPrimaryRequiredForBulkReads()).isFalse();
+  }
+
+  private ServerLocation getReadLocation(ClientMetadataService cms) {
+    return cms.getBucketServerLocation(region, Operation.GET, 0, null, null);
+  }
+
+  private ClientMetadataService createService(ReadPreference readPreference) {
+    when(region.getFullPath()).thenReturn(REGION_PATH);
+    ClientMetadataService cms = new ClientMetadataService(mock(Cache.class), readPreference);
+    ClientPartitionAdvisor advisor = new ClientPartitionAdvisor(1, null, null, null);
+    advisor.updateBucketServerLocations(0, Arrays.asList(
+        new BucketServerLocation66(0, primary.getPort(), primary.getHostName(), true, (byte) 1,
+            new String[0]),
+        new BucketServerLocation66(0, secondary.getPort(), secondary.getHostName(), false,
+            (byte) 1, new String[0])),
+        cms);
+    cms.getClientPRMetadata_TEST_ONLY().put(REGION_PATH, advisor);
+    return cms;
+  }
+}
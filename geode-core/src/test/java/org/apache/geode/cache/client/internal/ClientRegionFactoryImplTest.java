@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.ExpirationAction;
+import org.apache.geode.cache.InterestResultPolicy;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.Scope;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.client.Pool;
+
+@SuppressWarnings("unchecked")
+public class ClientRegionFactoryImplTest {
+
+  private InternalClientCache cache;
+  private Region<Object, Object> region;
+  private Pool pool;
+
+  @Before
+  public void setUp() {
+    cache = mock(InternalClientCache.class);
+    region = mock(Region.class);
+    pool = mock(Pool.class);
+    when(cache.getRegionAttributes(ClientRegionShortcut.CACHING_PROXY.toString()))
+        .thenReturn(regionAttributes(DataPolicy.NORMAL));
+    when(cache.getRegionAttributes(ClientRegionShortcut.PROXY.toString()))
+        .thenReturn(regionAttributes(DataPolicy.EMPTY));
+    when(cache.basicCreateRegion(eq("region"), any())).thenReturn(region);
+    RegionAttributes<Object, Object> createdAttributes = mock(RegionAttributes.class);
+    when(createdAttributes.getPoolName()).thenReturn("pool");
+    when(region.getAttributes()).thenReturn(createdAttributes);
+  }
+
+  @Test
+  public void nearCacheEvictsAndExpiresEntries() {
+    ClientRegionFactoryImpl<Object, Object> factory =
+        spy(new ClientRegionFactoryImpl<>(cache, ClientRegionShortcut.CACHING_PROXY));
+    doReturn(pool).when(factory).findPool("pool");
+
+    factory.setNearCache(100, 30).create("region");
+
+    ArgumentCaptor<RegionAttributes<Object, Object>> attributes =
+        ArgumentCaptor.forClass(RegionAttributes.class);
+    verify(cache).basicCreateRegion(eq("region"), attributes.capture());
+    assertThat(attributes.getValue().getEvictionAttributes().getAlgorithm())
+        .isEqualTo(EvictionAlgorithm.LRU_ENTRY);
+    assertThat(attributes.getValue().getEvictionAttributes().getMaximum()).isEqualTo(100);
+    assertThat(attributes.getValue().getEvictionAttributes().getAction())
+        .isEqualTo(EvictionAction.LOCAL_DESTROY);
+    assertThat(attributes.getValue().getEntryTimeToLive().getTimeout()).isEqualTo(30);
+    assertThat(attributes.getValue().getEntryTimeToLive().getAction())
+        .isEqualTo(ExpirationAction.LOCAL_DESTROY);
+    assertThat(attributes.getValue().getStatisticsEnabled()).isTrue();
+  }
+
+  @Test
+  public void nearCacheRegistersInterestInAllKeysWithoutValuesIfSubscriptionsAreEnabled() {
+    ClientRegionFactoryImpl<Object, Object> factory =
+        spy(new ClientRegionFactoryImpl<>(cache, ClientRegionShortcut.CACHING_PROXY));
+    doReturn(pool).when(factory).findPool("pool");
+    when(pool.getSubscriptionEnabled()).thenReturn(true);
+
+    factory.setNearCache(100, 30).create("region");
+
+    verify(region).registerInterestForAllKeys(InterestResultPolicy.NONE, false, false);
+  }
+
+  @Test
+  public void nearCacheDoesNotRegisterInterestIfSubscriptionsAreDisabled() {
+    ClientRegionFactoryImpl<Object, Object> factory =
+        spy(new ClientRegionFactoryImpl<>(cache, ClientRegionShortcut.CACHING_PROXY));
+    doReturn(pool).when(factory).findPool("pool");
+    when(pool.getSubscriptionEnabled()).thenReturn(false);
+
+    factory.setNearCache(100, 30).create("region");
+
+    verify(region, never()).registerInterestForAllKeys(any(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void regionThatIsNotANearCacheDoesNotRegisterInterest() {
+    ClientRegionFactoryImpl<Object, Object> factory =
+        spy(new ClientRegionFactoryImpl<>(cache, ClientRegionShortcut.CACHING_PROXY));
+
+    factory.create("region");
+
+    verify(factory, never()).findPool(anyString());
+    verify(region, never()).registerInterestForAllKeys(any(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void nearCacheIsRejectedForADataPolicyWithoutStorage() {
+    ClientRegionFactoryImpl<Object, Object> factory =
+        new ClientRegionFactoryImpl<>(cache, ClientRegionShortcut.PROXY);
+
+    assertThatThrownBy(() -> factory.setNearCache(100, 30))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining(DataPolicy.EMPTY.toString());
+  }
+
+  private static RegionAttributes<Object, Object> regionAttributes(DataPolicy dataPolicy) {
+    AttributesFactory<Object, Object> attributesFactory = new AttributesFactory<>();
+    attributesFactory.setScope(Scope.LOCAL);
+    attributesFactory.setDataPolicy(dataPolicy);
+    attributesFactory.setPoolName("pool");
+    return attributesFactory.create();
+  }
+}
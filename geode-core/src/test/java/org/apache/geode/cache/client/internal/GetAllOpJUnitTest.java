@@ -51,6 +51,7 @@ public class GetAllOpJUnitTest {
     when(region.getCache()).thenReturn(cache);
     ClientMetadataService cms = mock(ClientMetadataService.class);
     when(cache.getClientMetadataService()).thenReturn(cms);
+    when(cms.isPrimaryRequiredForBulkReads()).thenReturn(true);
 
     keys = new ArrayList<>();
     for (int i = 1; i <= 10; i++) {
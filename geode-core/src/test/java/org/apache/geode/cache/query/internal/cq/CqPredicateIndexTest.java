@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.QCompiler;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.internal.TypeRegistry;
+
+public class CqPredicateIndexTest {
+
+  private ExecutionContext context;
+
+  @Before
+  public void setUp() {
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getPdxRegistry()).thenReturn(mock(TypeRegistry.class));
+    context = mock(ExecutionContext.class);
+    when(context.getCache()).thenReturn(cache);
+  }
+
+  @Test
+  public void equalityRulesOutCqsComparingWithOtherValues() {
+    ServerCQ active = cq("SELECT * FROM /portfolios p WHERE p.status = 'active'");
+    ServerCQ inactive = cq("SELECT * FROM /portfolios WHERE status = 'inactive'");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(active, inactive));
+
+    CqPredicateIndex.Candidates candidates = index.getCandidates(value(1, "active", 0));
+
+    assertThat(candidates.contains(active)).isTrue();
+    assertThat(candidates.contains(inactive)).isFalse();
+  }
+
+  @Test
+  public void rangesRuleOutCqsWhoseBoundIsNotMet() {
+    ServerCQ above = cq("SELECT * FROM /portfolios p WHERE p.id > 10");
+    ServerCQ atMost = cq("SELECT * FROM /portfolios p WHERE p.id <= 5");
+    ServerCQ reversed = cq("SELECT * FROM /portfolios p WHERE 7 < p.id");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(above, atMost, reversed));
+
+    CqPredicateIndex.Candidates candidates = index.getCandidates(value(8, "active", 0));
+
+    assertThat(candidates.contains(above)).isFalse();
+    assertThat(candidates.contains(atMost)).isFalse();
+    assertThat(candidates.contains(reversed)).isTrue();
+  }
+
+  @Test
+  public void numbersOfDifferentTypesAreCompared() {
+    ServerCQ cq = cq("SELECT * FROM /portfolios p WHERE p.price = 5");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(cq));
+
+    assertThat(index.getCandidates(value(1, "active", 5.0)).contains(cq)).isTrue();
+    assertThat(index.getCandidates(value(1, "active", 5.5)).contains(cq)).isFalse();
+  }
+
+  @Test
+  public void conjunctionIsIndexedByItsEquality() {
+    ServerCQ cq = cq("SELECT * FROM /portfolios p WHERE p.id > 100 AND p.status = 'active'");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(cq));
+
+    assertThat(index.getCandidates(value(1, "active", 0)).contains(cq)).isTrue();
+    assertThat(index.getCandidates(value(200, "inactive", 0)).contains(cq)).isFalse();
+  }
+
+  @Test
+  public void cqsWithoutIndexableComparisonAreAlwaysCandidates() {
+    ServerCQ disjunction =
+        cq("SELECT * FROM /portfolios p WHERE p.status = 'active' OR p.status = 'new'");
+    ServerCQ notEqual = cq("SELECT * FROM /portfolios p WHERE p.status <> 'inactive'");
+    ServerCQ like = cq("SELECT * FROM /portfolios p WHERE p.status LIKE 'act%'");
+    ServerCQ noWhere = cq("SELECT * FROM /portfolios p");
+    CqPredicateIndex index =
+        new CqPredicateIndex(Arrays.asList(disjunction, notEqual, like, noWhere));
+
+    CqPredicateIndex.Candidates candidates = index.getCandidates(value(1, "inactive", 0));
+
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(candidates.contains(disjunction)).isTrue();
+    assertThat(candidates.contains(notEqual)).isTrue();
+    assertThat(candidates.contains(like)).isTrue();
+    assertThat(candidates.contains(noWhere)).isTrue();
+  }
+
+  @Test
+  public void cqsAreCandidatesWhenTheAttributeCannotBeCompared() {
+    ServerCQ otherType = cq("SELECT * FROM /portfolios p WHERE p.status > 5");
+    ServerCQ missing = cq("SELECT * FROM /portfolios p WHERE p.missing = 5");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(otherType, missing));
+
+    CqPredicateIndex.Candidates candidates = index.getCandidates(value(1, "active", 0));
+
+    assertThat(candidates.contains(otherType)).isTrue();
+    assertThat(candidates.contains(missing)).isTrue();
+  }
+
+  @Test
+  public void cqsMissingFromTheIndexAreCandidates() {
+    ServerCQ indexed = cq("SELECT * FROM /portfolios p WHERE p.status = 'inactive'");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(indexed));
+    ServerCQ added = cq("SELECT * FROM /portfolios p WHERE p.status = 'inactive'");
+
+    CqPredicateIndex.Candidates candidates = index.getCandidates(value(1, "active", 0));
+
+    assertThat(candidates.contains(indexed)).isFalse();
+    assertThat(candidates.contains(added)).isTrue();
+  }
+
+  private CqPredicateIndex.IndexedValue value(int id, String status, double price) {
+    return new CqPredicateIndex.IndexedValue(new Portfolio(id, status, price), context);
+  }
+
+  private static ServerCQ cq(String queryString) {
+    CompiledSelect select = (CompiledSelect) new QCompiler().compileQuery(queryString);
+    DefaultQuery query = mock(DefaultQuery.class);
+    when(query.getSimpleSelect()).thenReturn(select);
+    ServerCQ cq = mock(ServerCQ.class);
+    when(cq.getQuery()).thenReturn(query);
+    return cq;
+  }
+
+  public static class Portfolio {
+    public final int id;
+    public final String status;
+    public final double price;
+
+    Portfolio(int id, String status, double price) {
+      this.id = id;
+      this.status = status;
+      this.price = price;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class VirtualThreadExecutorTest {
+
+  @Test
+  public void notSupportedIfTheThreadFactoryCannotBeCreated() {
+    assertThat(VirtualThreadExecutor.canCreateVirtualThreads(() -> {
+      throw new IllegalStateException("preview features are not enabled");
+    })).isFalse();
+  }
+
+  @Test
+  public void notSupportedIfTheThreadFactoryCannotCreateThreads() {
+    assertThat(VirtualThreadExecutor.canCreateVirtualThreads(() -> runnable -> {
+      throw new UnsupportedOperationException("preview features are not enabled");
+    })).isFalse();
+  }
+
+  @Test
+  public void supportedIfAThreadCanBeCreated() {
+    assertThat(VirtualThreadExecutor.canCreateVirtualThreads(() -> Thread::new)).isTrue();
+  }
+
+  @Test
+  public void platformThreadIsNotVirtual() {
+    assertThat(VirtualThreadExecutor.isVirtual(Thread.currentThread())).isFalse();
+  }
+
+  @Test
+  public void executorRunsTasksOnVirtualThreadsOnlyIfSupported() throws Exception {
+    if (!VirtualThreadExecutor.isSupported()) {
+      assertThatThrownBy(() -> new VirtualThreadExecutor("test", null, null, null, null))
+          .isInstanceOf(IllegalStateException.class);
+      return;
+    }
+    VirtualThreadExecutor executor = new VirtualThreadExecutor("test", null, null, null, null);
+    try {
+      CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+      executor.execute(
+          () -> virtual.complete(VirtualThreadExecutor.isVirtual(Thread.currentThread())));
+      assertThat(virtual.get(1, TimeUnit.MINUTES)).isTrue();
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.net.BufferPool;
+import org.apache.geode.test.junit.categories.SerializationTest;
+
+@Category({SerializationTest.class})
+public class PooledDirectDataOutputStreamTest {
+
+  private final BufferPool bufferPool = mock(BufferPool.class);
+
+  @Before
+  public void setUp() {
+    when(bufferPool.acquireDirectSenderBuffer(anyInt()))
+        .thenAnswer(invocation -> ByteBuffer.allocateDirect(invocation.getArgument(0)));
+  }
+
+  @Test
+  public void smallContentsDoNotUseThePool() {
+    PooledDirectDataOutputStream stream =
+        new PooledDirectDataOutputStream(bufferPool, 16, 64, null, false);
+    stream.write(new byte[10], 0, 10);
+
+    assertThat(stream.getPooledChunkCount()).isZero();
+    stream.close();
+    verify(bufferPool, never()).releaseSenderBuffer(any());
+  }
+
+  @Test
+  public void growsInPooledChunksAndReleasesThemOnClose() {
+    PooledDirectDataOutputStream stream =
+        new PooledDirectDataOutputStream(bufferPool, 16, 64, null, false);
+    byte[] bytes = bytes(200);
+    stream.write(bytes, 0, bytes.length);
+
+    assertThat(stream.getPooledChunkCount()).isGreaterThan(0);
+    assertThat(stream.toByteArray()).isEqualTo(bytes);
+
+    int pooledChunks = stream.getPooledChunkCount();
+    stream.close();
+    verify(bufferPool, times(pooledChunks)).releaseSenderBuffer(any());
+    assertThat(stream.getPooledChunkCount()).isZero();
+
+    stream.close();
+    verify(bufferPool, times(pooledChunks)).releaseSenderBuffer(any());
+  }
+
+  @Test
+  public void sendToChannelGathersPendingBytesWithContents() throws IOException {
+    PooledDirectDataOutputStream stream =
+        new PooledDirectDataOutputStream(bufferPool, 16, 64, null, false);
+    byte[] bytes = bytes(200);
+    stream.write(bytes, 0, bytes.length);
+    ByteBuffer out = ByteBuffer.allocate(32);
+    out.put((byte) -1).put((byte) -2);
+    SocketChannel channel = mock(SocketChannel.class);
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    when(channel.write(any(ByteBuffer[].class))).thenAnswer(invocation -> {
+      long count = 0;
+      for (ByteBuffer bb : (ByteBuffer[]) invocation.getArgument(0)) {
+        while (bb.hasRemaining()) {
+          written.write(bb.get());
+          count++;
+        }
+      }
+      return count;
+    });
+
+    stream.sendTo(channel, out);
+
+    byte[] expected = new byte[bytes.length + 2];
+    expected[0] = -1;
+    expected[1] = -2;
+    System.arraycopy(bytes, 0, expected, 2, bytes.length);
+    assertThat(written.toByteArray()).isEqualTo(expected);
+    assertThat(out.position()).isZero();
+    assertThat(stream.size()).isZero();
+
+    stream.rewind();
+    assertThat(stream.size()).isEqualTo(bytes.length);
+  }
+
+  private static byte[] bytes(int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) i;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class BucketOperationRatesTest {
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+  private final BucketOperationRates rates = new BucketOperationRates(clock::get);
+
+  @Test
+  public void ratesAreZeroBeforeFirstSample() {
+    rates.recordRead();
+    rates.recordWrite();
+
+    assertThat(rates.getReadRate()).isZero();
+    assertThat(rates.getWriteRate()).isZero();
+  }
+
+  @Test
+  public void sampleComputesRatesPerSecond() {
+    record(20, 10);
+    advanceMillis(2000);
+
+    rates.sample();
+
+    assertThat(rates.getReadRate()).isEqualTo(10f);
+    assertThat(rates.getWriteRate()).isEqualTo(5f);
+  }
+
+  @Test
+  public void sampleOnlyCountsOperationsSinceThePreviousSample() {
+    record(20, 10);
+    advanceMillis(2000);
+    rates.sample();
+
+    record(4, 0);
+    advanceMillis(2000);
+    rates.sample();
+
+    assertThat(rates.getReadRate()).isEqualTo(2f);
+    assertThat(rates.getWriteRate()).isZero();
+  }
+
+  @Test
+  public void samplesCloserThanTheMinimumIntervalKeepThePreviousRates() {
+    record(20, 10);
+    advanceMillis(2000);
+    rates.sample();
+
+    record(1000, 1000);
+    advanceMillis(BucketOperationRates.MIN_SAMPLE_INTERVAL_MILLIS / 2);
+    rates.sample();
+
+    assertThat(rates.getReadRate()).isEqualTo(10f);
+    assertThat(rates.getWriteRate()).isEqualTo(5f);
+  }
+
+  private void record(int reads, int writes) {
+    for (int i = 0; i < reads; i++) {
+      rates.recordRead();
+    }
+    for (int i = 0; i < writes; i++) {
+      rates.recordWrite();
+    }
+  }
+
+  private void advanceMillis(long millis) {
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+}
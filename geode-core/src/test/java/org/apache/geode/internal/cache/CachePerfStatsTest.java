@@ -43,6 +43,7 @@ import static org.apache.geode.internal.cache.CachePerfStats.loadsCompletedId;
 import static org.apache.geode.internal.cache.CachePerfStats.missesId;
 import static org.apache.geode.internal.cache.CachePerfStats.netloadsCompletedId;
 import static org.apache.geode.internal.cache.CachePerfStats.netsearchesCompletedId;
+import static org.apache.geode.internal.cache.CachePerfStats.parallelGetInitialImagesCompletedId;
 import static org.apache.geode.internal.cache.CachePerfStats.previouslySeenEventsId;
 import static org.apache.geode.internal.cache.CachePerfStats.putAllsId;
 import static org.apache.geode.internal.cache.CachePerfStats.putTimeId;
@@ -50,6 +51,8 @@ import static org.apache.geode.internal.cache.CachePerfStats.putsId;
 import static org.apache.geode.internal.cache.CachePerfStats.queryExecutionsId;
 import static org.apache.geode.internal.cache.CachePerfStats.removeAllsId;
 import static org.apache.geode.internal.cache.CachePerfStats.retriesId;
+import static org.apache.geode.internal.cache.CachePerfStats.serverInvalidateLagId;
+import static org.apache.geode.internal.cache.CachePerfStats.serverInvalidatesId;
 import static org.apache.geode.internal.cache.CachePerfStats.txCommitChangesId;
 import static org.apache.geode.internal.cache.CachePerfStats.txCommitsId;
 import static org.apache.geode.internal.cache.CachePerfStats.txFailureChangesId;
@@ -654,6 +657,14 @@ public class CachePerfStatsTest {
     assertThat(statistics.getLong(deltaGetInitialImagesCompletedId)).isEqualTo(1);
   }
 
+  @Test
+  public void incParallelGIICompletedIncrementsParallelGetInitialImagesCompleted() {
+    cachePerfStats.incParallelGIICompleted();
+
+    assertThat(statistics.getLong(parallelGetInitialImagesCompletedId)).isEqualTo(1);
+    assertThat(cachePerfStats.getParallelGetInitialImagesCompleted()).isEqualTo(1);
+  }
+
   /**
    * Characterization test: {@code deltaGetInitialImagesCompleted} currently wraps to negative from
    * max integer value.
@@ -1249,4 +1260,13 @@ public class CachePerfStatsTest {
 
     assertThat(statistics.getLong(previouslySeenEventsId)).isEqualTo(1L);
   }
+
+  @Test
+  public void endServerInvalidateIncrementsServerInvalidatesAndLag() {
+    cachePerfStats.endServerInvalidate(5L);
+    cachePerfStats.endServerInvalidate(-2L);
+
+    assertThat(statistics.getLong(serverInvalidatesId)).isEqualTo(2L);
+    assertThat(statistics.getLong(serverInvalidateLagId)).isEqualTo(5L);
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class DiskStoreImplDeferredSyncWritesTest {
+
+  private final DiskStoreImpl diskStore = mock(DiskStoreImpl.class, CALLS_REAL_METHODS);
+  private final DiskStoreImpl otherDiskStore = mock(DiskStoreImpl.class, CALLS_REAL_METHODS);
+
+  @After
+  public void tearDown() {
+    diskStore.endDeferredSyncWrites();
+  }
+
+  @Test
+  public void onlyWritesToTheDeferringDiskStoreAreDeferred() {
+    Oplog oplog = mock(Oplog.class);
+
+    assertThat(diskStore.deferSyncWrite(oplog)).isFalse();
+
+    diskStore.beginDeferredSyncWrites();
+
+    assertThat(diskStore.deferSyncWrite(oplog)).isTrue();
+    assertThat(otherDiskStore.deferSyncWrite(oplog)).isFalse();
+  }
+
+  @Test
+  public void endSyncsEveryOplogWrittenOnce() {
+    Oplog switchedOplog = mock(Oplog.class);
+    Oplog currentOplog = mock(Oplog.class);
+    Oplog unwrittenOplog = mock(Oplog.class);
+    diskStore.beginDeferredSyncWrites();
+    diskStore.deferSyncWrite(switchedOplog);
+    diskStore.deferSyncWrite(switchedOplog);
+    diskStore.deferSyncWrite(currentOplog);
+
+    diskStore.endDeferredSyncWrites();
+
+    verify(switchedOplog, times(1)).flushAll();
+    verify(currentOplog, times(1)).flushAll();
+    verify(unwrittenOplog, never()).flushAll();
+    assertThat(diskStore.deferSyncWrite(currentOplog)).isFalse();
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.CacheException;
+import org.apache.geode.cache.EntryNotFoundException;
+import org.apache.geode.cache.ExpirationAttributes;
+
+public class ExpirationWheelTest {
+
+  private static final long TICK_MILLIS = 10;
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+  private final ExpirationWheelStats stats = mock(ExpirationWheelStats.class);
+  private final ExpirationWheel wheel = new ExpirationWheel(TICK_MILLIS, stats, clock::get);
+
+  @Test
+  public void taskRunsOnceItsDeadlineHasPassed() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    wheel.schedule(task, 25);
+    assertThat(wheel.size()).isEqualTo(1);
+
+    advanceMillis(20);
+    assertThat(task.runs).isEqualTo(0);
+
+    advanceMillis(10);
+    assertThat(task.runs).isEqualTo(1);
+    assertThat(wheel.size()).isZero();
+
+    advanceMillis(1000);
+    assertThat(task.runs).isEqualTo(1);
+  }
+
+  @Test
+  public void taskOnHigherLevelIsCascadedAndRunsOnTime() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    long delay = TICK_MILLIS * (ExpirationWheel.WHEEL_SIZE * 3 + 5);
+    wheel.schedule(task, delay);
+
+    advanceMillis(delay - TICK_MILLIS);
+    assertThat(task.runs).isEqualTo(0);
+
+    advanceMillis(TICK_MILLIS);
+    assertThat(task.runs).isEqualTo(1);
+  }
+
+  @Test
+  public void cancelledTaskDoesNotRun() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    wheel.schedule(task, 25);
+
+    assertThat(task.cancel()).isTrue();
+    assertThat(task.cancel()).isFalse();
+    advanceMillis(100);
+
+    assertThat(task.runs).isEqualTo(0);
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  public void cancelAfterRunReturnsFalse() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    wheel.schedule(task, 5);
+    advanceMillis(10);
+
+    assertThat(task.cancel()).isFalse();
+  }
+
+  @Test
+  public void taskCannotBeScheduledTwice() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    wheel.schedule(task, 25);
+
+    assertThatThrownBy(() -> wheel.schedule(task, 25)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void cancelledTaskCannotBeScheduled() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    task.cancel();
+
+    assertThatThrownBy(() -> wheel.schedule(task, 25)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void purgeDropsCancelledTasksBeforeTheyAreDue() {
+    CountingExpiryTask cancelled = new CountingExpiryTask();
+    CountingExpiryTask scheduled = new CountingExpiryTask();
+    wheel.schedule(cancelled, 10_000);
+    wheel.schedule(scheduled, 10_000);
+    advanceMillis(0);
+    cancelled.cancel();
+
+    wheel.purge();
+    advanceMillis(0);
+
+    assertThat(wheel.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void recordsExpiryLag() {
+    CountingExpiryTask task = new CountingExpiryTask();
+    wheel.schedule(task, 10);
+
+    advanceMillis(50);
+
+    verify(stats).endExpiry(TimeUnit.MILLISECONDS.toNanos(40));
+  }
+
+  private void advanceMillis(long millis) {
+    wheel.advance(clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis)));
+  }
+
+  private static class CountingExpiryTask extends ExpiryTask {
+    private int runs;
+
+    CountingExpiryTask() {
+      super(null);
+    }
+
+    @Override
+    public void run() {
+      runs++;
+    }
+
+    @Override
+    protected ExpirationAttributes getIdleAttributes() {
+      return null;
+    }
+
+    @Override
+    protected ExpirationAttributes getTTLAttributes() {
+      return null;
+    }
+
+    @Override
+    protected void basicPerformTimeout(boolean isPending) throws CacheException {}
+
+    @Override
+    protected void reschedule() throws CacheException {}
+
+    @Override
+    protected long getLastModifiedTime() throws EntryNotFoundException {
+      return 0;
+    }
+
+    @Override
+    protected long getLastAccessedTime() throws EntryNotFoundException {
+      return 0;
+    }
+
+    @Override
+    protected boolean invalidate() throws CacheException {
+      return false;
+    }
+
+    @Override
+    protected boolean destroy(boolean isPending) throws CacheException {
+      return false;
+    }
+
+    @Override
+    protected boolean localInvalidate() throws EntryNotFoundException {
+      return false;
+    }
+
+    @Override
+    protected boolean localDestroy() throws CacheException {
+      return false;
+    }
+
+    @Override
+    protected void addExpiryTask() throws EntryNotFoundException {}
+
+    @Override
+    public boolean isPending() {
+      return false;
+    }
+
+    @Override
+    public Object getKey() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import org.apache.geode.internal.cache.HeavyHitterSketch.HeavyHitter;
+
+public class HeavyHitterSketchTest {
+
+  private static final long DECAY_INTERVAL_MILLIS = 60000;
+
+  private final AtomicLong clock = new AtomicLong(1000);
+
+  @Test
+  public void topReturnsMostFrequentItemsFirst() {
+    HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(8, 1, DECAY_INTERVAL_MILLIS,
+        clock::get);
+    add(sketch, "a", 5);
+    add(sketch, "b", 20);
+    add(sketch, "c", 10);
+
+    List<HeavyHitter<String>> top = sketch.getTop(2);
+
+    assertThat(top).extracting(HeavyHitter::getItem).containsExactly("b", "c");
+    assertThat(top).extracting(HeavyHitter::getCount).containsExactly(20L, 10L);
+    assertThat(top).extracting(HeavyHitter::getError).containsExactly(0L, 0L);
+  }
+
+  @Test
+  public void heavyHitterSurvivesManyRareItems() {
+    HeavyHitterSketch<Integer> sketch = new HeavyHitterSketch<>(4, 1, DECAY_INTERVAL_MILLIS,
+        clock::get);
+    for (int i = 0; i < 1000; i++) {
+      sketch.add(-1);
+      sketch.add(i);
+    }
+
+    HeavyHitter<Integer> top = sketch.getTop(1).get(0);
+
+    assertThat(top.getItem()).isEqualTo(-1);
+    assertThat(top.getCount()).isGreaterThanOrEqualTo(1000);
+    assertThat(top.getCount() - top.getError()).isLessThanOrEqualTo(1000);
+  }
+
+  @Test
+  public void replacedItemInheritsTheMinimumCountAsError() {
+    HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(2, 1, DECAY_INTERVAL_MILLIS,
+        clock::get);
+    add(sketch, "a", 4);
+    add(sketch, "b", 2);
+    sketch.add("c");
+
+    assertThat(sketch.getTop(2)).extracting(HeavyHitter::toString)
+        .containsExactly("a=4", "c=3");
+    assertThat(sketch.getTop(2).get(1).getError()).isEqualTo(2);
+  }
+
+  @Test
+  public void countsAreScaledByTheSampleWeight() {
+    HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(8, 64, DECAY_INTERVAL_MILLIS,
+        clock::get);
+    add(sketch, "a", 3);
+
+    assertThat(sketch.getTop(1).get(0).getCount()).isEqualTo(192);
+  }
+
+  @Test
+  public void countsDecayOverTime() {
+    HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(8, 1, DECAY_INTERVAL_MILLIS,
+        clock::get);
+    add(sketch, "a", 10);
+    sketch.add("b");
+
+    clock.addAndGet(DECAY_INTERVAL_MILLIS);
+
+    assertThat(sketch.getTop(8)).extracting(HeavyHitter::toString).containsExactly("a=5");
+  }
+
+  private static <T> void add(HeavyHitterSketch<T> sketch, T item, int times) {
+    for (int i = 0; i < times; i++) {
+      sketch.add(item);
+    }
+  }
+}
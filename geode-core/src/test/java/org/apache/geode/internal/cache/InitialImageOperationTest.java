@@ -17,6 +17,7 @@ package org.apache.geode.internal.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -24,11 +25,14 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.Scope;
@@ -125,4 +129,81 @@ public class InitialImageOperationTest {
 
     verify(versionTag).replaceNullIDs(member);
   }
+
+  @Test
+  public void processChunkDefersDiskSyncsToTheEndOfTheChunkForBulkDiskWrites()
+      throws IOException, ClassNotFoundException {
+    when(distributedRegion.getImageState()).thenReturn(mock(ImageState.class));
+    when(distributedRegion.getCachePerfStats()).thenReturn(mock(CachePerfStats.class));
+    DiskRegion diskRegion = mock(DiskRegion.class);
+    DiskStoreImpl diskStore = mock(DiskStoreImpl.class);
+    when(diskRegion.isBackup()).thenReturn(true);
+    when(diskRegion.getDiskStore()).thenReturn(diskStore);
+    when(distributedRegion.getDiskRegion()).thenReturn(diskRegion);
+    InitialImageOperation operation =
+        new InitialImageOperation(distributedRegion, mock(RegionMap.class));
+
+    InitialImageOperation.BULK_DISK_WRITES = true;
+    try {
+      assertThat(operation.processChunk(new ArrayList<>(), lostMember)).isTrue();
+    } finally {
+      InitialImageOperation.BULK_DISK_WRITES = false;
+    }
+
+    InOrder inOrder = inOrder(diskStore);
+    inOrder.verify(diskStore).beginDeferredSyncWrites();
+    inOrder.verify(diskStore).endDeferredSyncWrites();
+  }
+
+  @Test
+  public void unsegmentedRequestIncludesEveryKey() throws IOException {
+    assertThat(message.isInSegment("key")).isTrue();
+    assertThat(message.isInSegment(42L)).isTrue();
+  }
+
+  @Test
+  public void segmentsSplitTheKeySpaceWithoutOverlap() throws IOException {
+    InternalDistributedMember provider = mock(InternalDistributedMember.class);
+    int segmentCount = 3;
+    List<InitialImageOperation.RequestImageMessage> segments = new ArrayList<>();
+    for (int segment = 0; segment < segmentCount; segment++) {
+      segments.add(message.copyForSegment(provider, segment, segmentCount));
+    }
+
+    for (Object key : Arrays.asList("a", "b", "c", 1, -7, 12L, new TestKey(5), new TestKey(-9))) {
+      int matches = 0;
+      for (InitialImageOperation.RequestImageMessage segment : segments) {
+        if (segment.isInSegment(key)) {
+          matches++;
+        }
+      }
+      assertThat(matches).as("segments containing %s", key).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void segmentRequestCopiesTheLostMember() throws IOException {
+    InternalDistributedMember lostMember = mock(InternalDistributedMember.class);
+    VersionSource lostMemberVersionID = mock(VersionSource.class);
+    message.regionPath = "regionPath";
+    message.lostMemberID = lostMember;
+    message.lostMemberVersionID = lostMemberVersionID;
+
+    InitialImageOperation.RequestImageMessage copy =
+        message.copyForSegment(mock(InternalDistributedMember.class), 1, 2);
+
+    assertThat(copy.regionPath).isEqualTo("regionPath");
+    assertThat(copy.lostMemberID).isSameAs(lostMember);
+    assertThat(copy.lostMemberVersionID).isSameAs(lostMemberVersionID);
+    assertThat(copy.isInSegment("key")).isNotEqualTo(
+        message.copyForSegment(mock(InternalDistributedMember.class), 0, 2).isInSegment("key"));
+  }
+
+  private static class TestKey implements Serializable {
+    private final int id;
+
+    TestKey(int id) {
+      this.id = id;
+    }
+  }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class InterestPatternIndexTest {
+
+  private final Map<Object, Map<Object, Pattern>> patterns = new HashMap<>();
+
+  @Test
+  public void literalExpressionsAreRecognized() {
+    assertThat(InterestPattern.compile("Key-1").getExactKey()).isEqualTo("Key-1");
+    assertThat(InterestPattern.compile("a\\.b").getExactKey()).isEqualTo("a.b");
+    assertThat(InterestPattern.compile("Key-.*").getPrefix()).isEqualTo("Key-");
+    assertThat(InterestPattern.compile("Key-.*").getExactKey()).isNull();
+    assertThat(InterestPattern.compile("Key\\d").getExactKey()).isNull();
+    assertThat(InterestPattern.compile("Key\\..*").getPrefix()).isEqualTo("Key.");
+    assertThat(InterestPattern.compile("Key\\.*").getPrefix()).isNull();
+    assertThat(InterestPattern.compile("Key.*1").getPrefix()).isNull();
+    assertThat(InterestPattern.compile("Ke[y].*").getPrefix()).isNull();
+  }
+
+  @Test
+  public void literalExpressionsMatchLikeTheRegularExpression() {
+    String[] regexes = {"Key-1", "Key-.*", ".*", "a\\.b", "Key-1\\..*"};
+    String[] keys = {"Key-1", "Key-12", "Key-", "Key", "a.b", "axb", "Key-1\nx", "Key-1. ",
+        "Key-1.x", ""};
+    for (String regex : regexes) {
+      InterestPattern pattern = InterestPattern.compile(regex);
+      for (String key : keys) {
+        assertThat(pattern.matches(key)).as("%s matches %s", regex, key)
+            .isEqualTo(Pattern.matches(regex, key));
+      }
+    }
+  }
+
+  @Test
+  public void findsClientsOfAllKindsOfExpressionsInOnePass() {
+    addPattern(1L, "Key-1");
+    addPattern(2L, "Key-.*");
+    addPattern(3L, "K.*");
+    addPattern(4L, "Key-[0-9]+");
+    addPattern(5L, "Other.*");
+    addPattern(5L, "Key-12");
+
+    InterestPatternIndex index = new InterestPatternIndex(patterns, 0);
+
+    assertThat(index.getMatchingClients("Key-1")).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    assertThat(index.getMatchingClients("Key-12")).containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+    assertThat(index.getMatchingClients("Key-x")).containsExactlyInAnyOrder(2L, 3L);
+    assertThat(index.getMatchingClients("Key")).containsExactly(3L);
+    assertThat(index.getMatchingClients("Key-1\n")).isEmpty();
+    assertThat(index.getMatchingClients("None")).isEmpty();
+  }
+
+  private void addPattern(Object clientID, String regex) {
+    patterns.computeIfAbsent(clientID, k -> new HashMap<>()).put(regex, Pattern.compile(regex));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.apache.geode.util.internal.UncheckedUtils.uncheckedCast;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.ResultSender;
+import org.apache.geode.internal.cache.execute.InternalRegionFunctionContext;
+
+public class PRScanFunctionTest {
+
+  private final InternalRegionFunctionContext context = mock(InternalRegionFunctionContext.class);
+  private final ResultSender<Object> resultSender = uncheckedCast(mock(ResultSender.class));
+  private final PartitionedRegion region = mock(PartitionedRegion.class);
+  private final PartitionedRegionDataStore dataStore = mock(PartitionedRegionDataStore.class);
+  private final LocalDataSet localData = mock(LocalDataSet.class);
+  private final List<List<Object>> sentChunks = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    when(context.getDataSet()).thenReturn(region);
+    when(context.getLocalDataSet(region)).thenReturn(localData);
+    when(context.getResultSender()).thenReturn(resultSender);
+    when(region.getDataStore()).thenReturn(dataStore);
+    when(localData.getBucketSet()).thenReturn(new LinkedHashSet<>(asList(1, 2)));
+    mockBucket(1, entry("a", 1), entry("b", 2));
+    mockBucket(2, entry("c", 3));
+    doAnswer(invocation -> sentChunks.add(new ArrayList<>(invocation.getArgument(0))))
+        .when(resultSender).sendResult(any());
+    doAnswer(invocation -> sentChunks.add(new ArrayList<>(invocation.getArgument(0))))
+        .when(resultSender).lastResult(any());
+  }
+
+  @Test
+  public void sendsProjectionOfEntriesAcceptedByFilter() {
+    PRScanFunction.ScanFilter filter = (key, value) -> (Integer) value >= 2;
+    PRScanFunction.ScanProjection<String> projection = (key, value) -> key + "=" + value;
+    when(context.getArguments()).thenReturn(new Object[] {filter, projection, 10});
+
+    new PRScanFunction().execute(context);
+
+    assertThat(sentChunks).containsExactly(asList("b=2", "c=3"));
+  }
+
+  @Test
+  public void sendsAllEntriesInChunksWithoutFilter() {
+    PRScanFunction.ScanProjection<Object> projection = (key, value) -> key;
+    when(context.getArguments()).thenReturn(new Object[] {null, projection, 2});
+
+    new PRScanFunction().execute(context);
+
+    assertThat(sentChunks).containsExactly(asList("a", "b"), singletonList("c"));
+  }
+
+  private void mockBucket(int bucketId, Region.Entry<?, ?>... entries) {
+    BucketRegion bucket = mock(BucketRegion.class);
+    when(bucket.entrySet()).thenReturn(new LinkedHashSet<>(asList(entries)));
+    when(dataStore.getLocalBucketById(bucketId)).thenReturn(bucket);
+  }
+
+  private static Region.Entry<?, ?> entry(Object key, Object value) {
+    Region.Entry<Object, Object> entry = uncheckedCast(mock(Region.Entry.class));
+    when(entry.getKey()).thenReturn(key);
+    when(entry.getValue()).thenReturn(value);
+    return entry;
+  }
+}
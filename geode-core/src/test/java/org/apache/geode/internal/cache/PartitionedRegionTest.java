@@ -14,6 +14,7 @@
  */
 package org.apache.geode.internal.cache;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueImpl.getSenderIdFromAsyncEventQueueId;
 import static org.apache.geode.internal.cache.PartitionedRegionHelper.PR_ROOT_REGION_NAME;
@@ -27,23 +28,30 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.quality.Strictness.STRICT_STUBS;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import junitparams.Parameters;
 import junitparams.naming.TestCaseName;
@@ -82,6 +90,7 @@ import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
 import org.apache.geode.internal.cache.control.InternalResourceManager;
+import org.apache.geode.internal.cache.partitioned.FetchBulkEntriesMessage.FetchBulkEntriesResponse;
 import org.apache.geode.internal.cache.partitioned.colocation.ColocationLoggerFactory;
 import org.apache.geode.test.junit.runners.GeodeParamsRunner;
 
@@ -773,6 +782,140 @@ public class PartitionedRegionTest {
     assertThat(exceptionsMap.get(indexName)).isEqualTo(runtimeException);
   }
 
+  @Test
+  public void remoteBucketsAreFetchedTogetherAndAppendedInTheOrderTheyWereRequested()
+      throws Exception {
+    PartitionedRegion spyPartitionedRegion = spy(partitionedRegion);
+    List<Object> appendedKeys = recordAppendedKeys(spyPartitionedRegion);
+    Semaphore permits = new Semaphore(10);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger mostInFlight = new AtomicInteger();
+    List<Integer> failures = new ArrayList<>();
+
+    spyPartitionedRegion.fetchRemoteBuckets(nodeToBuckets(asList(1, 2), asList(3, 4)),
+        (node, bucketId) -> {
+          mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          return bucketResponse(bucketId, inFlight);
+        }, failures::add, "keyList", null, null, 3, permits);
+
+    assertThat(appendedKeys).containsExactly("key1", "key2", "key3", "key4");
+    assertThat(mostInFlight.get()).isEqualTo(3);
+    assertThat(failures).isEmpty();
+    assertThat(permits.availablePermits()).isEqualTo(10);
+  }
+
+  @Test
+  public void remoteBucketsAreFetchedOneAtATimeWithoutPermits() throws Exception {
+    PartitionedRegion spyPartitionedRegion = spy(partitionedRegion);
+    List<Object> appendedKeys = recordAppendedKeys(spyPartitionedRegion);
+    Semaphore permits = new Semaphore(0);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger mostInFlight = new AtomicInteger();
+
+    spyPartitionedRegion.fetchRemoteBuckets(nodeToBuckets(asList(1, 2), asList(3)),
+        (node, bucketId) -> {
+          mostInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          return bucketResponse(bucketId, inFlight);
+        }, bucketId -> {
+        }, "keyList", null, null, 3, permits);
+
+    assertThat(appendedKeys).containsExactly("key1", "key2", "key3");
+    assertThat(mostInFlight.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void permitIsReleasedWhenAFetchCannotBeSent() throws Exception {
+    PartitionedRegion spyPartitionedRegion = spy(partitionedRegion);
+    List<Object> appendedKeys = recordAppendedKeys(spyPartitionedRegion);
+    Semaphore permits = new Semaphore(10);
+    List<Integer> failures = new ArrayList<>();
+
+    spyPartitionedRegion.fetchRemoteBuckets(nodeToBuckets(asList(1, 2, 3)),
+        (node, bucketId) -> {
+          if (bucketId == 2) {
+            throw new ForceReattemptException("test");
+          }
+          return bucketResponse(bucketId, new AtomicInteger());
+        }, failures::add, "keyList", null, null, 3, permits);
+
+    assertThat(appendedKeys).containsExactly("key1", "key3");
+    assertThat(failures).containsExactly(2);
+    assertThat(permits.availablePermits()).isEqualTo(10);
+  }
+
+  @Test
+  public void failedFetchIsReportedWhileOtherFetchesAreInFlight() throws Exception {
+    PartitionedRegion spyPartitionedRegion = spy(partitionedRegion);
+    List<Object> appendedKeys = recordAppendedKeys(spyPartitionedRegion);
+    Semaphore permits = new Semaphore(10);
+    List<Integer> failures = new ArrayList<>();
+    FetchBulkEntriesResponse failedResponse = mock(FetchBulkEntriesResponse.class);
+    when(failedResponse.waitForEntries()).thenThrow(new ForceReattemptException("test"));
+
+    spyPartitionedRegion.fetchRemoteBuckets(nodeToBuckets(asList(1, 2), asList(3)),
+        (node, bucketId) -> bucketId == 2 ? failedResponse
+            : bucketResponse(bucketId, new AtomicInteger()),
+        failures::add, "keyList", null, null, 3, permits);
+
+    assertThat(appendedKeys).containsExactly("key1", "key3");
+    assertThat(failures).containsExactly(2);
+    assertThat(permits.availablePermits()).isEqualTo(10);
+  }
+
+  @Test
+  public void permitsOfFetchesInFlightAreReleasedWhenTheRegionIsDestroyed() throws Exception {
+    PartitionedRegion spyPartitionedRegion = spy(partitionedRegion);
+    Semaphore permits = new Semaphore(10);
+    FetchBulkEntriesResponse destroyedResponse = mock(FetchBulkEntriesResponse.class);
+    when(destroyedResponse.waitForEntries())
+        .thenThrow(new RegionDestroyedException("test", "/regionName"));
+
+    Throwable thrown = catchThrowable(() -> spyPartitionedRegion.fetchRemoteBuckets(
+        nodeToBuckets(asList(1, 2, 3)),
+        (node, bucketId) -> bucketId == 1 ? destroyedResponse
+            : mock(FetchBulkEntriesResponse.class),
+        bucketId -> {
+        }, "keyList", null, null, 3, permits));
+
+    assertThat(thrown).isInstanceOf(RegionDestroyedException.class);
+    assertThat(permits.availablePermits()).isEqualTo(10);
+    verify(spyPartitionedRegion, never()).appendRegisterInterestResponseChunk(any(), any(), any(),
+        any());
+  }
+
+  private static Map<InternalDistributedMember, List<Integer>> nodeToBuckets(
+      List<Integer>... bucketsOfNodes) {
+    Map<InternalDistributedMember, List<Integer>> nodeToBuckets = new LinkedHashMap<>();
+    for (List<Integer> buckets : bucketsOfNodes) {
+      nodeToBuckets.put(mock(InternalDistributedMember.class), buckets);
+    }
+    return nodeToBuckets;
+  }
+
+  private static FetchBulkEntriesResponse bucketResponse(int bucketId, AtomicInteger inFlight)
+      throws ForceReattemptException {
+    Map<Object, Object> values = new HashMap<>();
+    values.put("key" + bucketId, "value" + bucketId);
+    FetchBulkEntriesResponse response = mock(FetchBulkEntriesResponse.class);
+    when(response.waitForEntries()).thenAnswer(invocation -> {
+      inFlight.decrementAndGet();
+      return new BucketDump[] {new BucketDump(bucketId, null, null, values, new HashMap<>())};
+    });
+    return response;
+  }
+
+  private static List<Object> recordAppendedKeys(PartitionedRegion partitionedRegion)
+      throws Exception {
+    List<Object> appendedKeys = new ArrayList<>();
+    doAnswer(invocation -> {
+      for (Object entry : (Set<?>) invocation.getArgument(2)) {
+        appendedKeys.add(((Map.Entry<?, ?>) entry).getKey());
+      }
+      return null;
+    }).when(partitionedRegion).appendRegisterInterestResponseChunk(any(), any(), any(), any());
+    return appendedKeys;
+  }
+
   @NotNull
   private HashSet<IndexCreationData> setupIndexCreationData() {
     HashSet<IndexCreationData> indexDefinitions = new HashSet<>();
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Executor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.offheap.MemoryAllocator;
+import org.apache.geode.internal.cache.versions.VersionTag;
+
+public class RecyclingEntryEventFactoryTest {
+
+  private final LocalRegion region = mock(LocalRegion.class);
+  private final InternalCache cache = mock(InternalCache.class);
+  private final InternalDistributedMember member = mock(InternalDistributedMember.class);
+
+  @Before
+  public void setUp() {
+    InternalDistributedSystem ids = mock(InternalDistributedSystem.class);
+    when(region.getCache()).thenReturn(cache);
+    when(cache.getDistributedSystem()).thenReturn(ids);
+    when(ids.getOffHeapStore()).thenReturn(null);
+    stubKeyInfo(region);
+    RecyclingEntryEventFactory.clearThreadState();
+  }
+
+  private static void stubKeyInfo(LocalRegion region) {
+    when(region.getKeyInfo(any(), any(), any())).thenAnswer(
+        invocation -> new KeyInfo(invocation.getArgument(0), invocation.getArgument(1),
+            invocation.getArgument(2)));
+  }
+
+  @After
+  public void tearDown() {
+    RecyclingEntryEventFactory.clearThreadState();
+  }
+
+  @Test
+  public void recycledEventIsReinitializedAndReused() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(false);
+    EntryEventImpl first =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    first.setVersionTag(mock(VersionTag.class));
+    first.setPossibleDuplicate(true);
+    factory.recycle(first);
+
+    EntryEventImpl second =
+        factory.createRecyclable(region, Operation.CREATE, "key2", "value2", "arg", false, member);
+
+    assertThat(second).isSameAs(first);
+    assertThat(second.getKey()).isEqualTo("key2");
+    assertThat(second.getRawNewValue()).isEqualTo("value2");
+    assertThat(second.getRawCallbackArgument()).isEqualTo("arg");
+    assertThat(second.getOperation()).isEqualTo(Operation.CREATE);
+    assertThat(second.getVersionTag()).isNull();
+    assertThat(second.isPossibleDuplicate()).isFalse();
+    assertThat(second.getEventId()).isNull();
+  }
+
+  @Test
+  public void recycledEventDoesNotKeepItsRegionOrValuesReachable() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(false);
+    EntryEventImpl event =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", "arg", false, member);
+
+    factory.recycle(event);
+
+    assertThat(event.getRegion()).isNull();
+    assertThat(event.getRawNewValue()).isNull();
+    assertThat(event.getOperation()).isNull();
+  }
+
+  @Test
+  public void eventOfACacheWithAsynchronousListenersIsNotReused() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(false);
+    when(cache.getEventThreadPool()).thenReturn(mock(Executor.class));
+    EntryEventImpl first =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    factory.recycle(first);
+
+    EntryEventImpl second =
+        factory.createRecyclable(region, Operation.UPDATE, "key2", "value2", null, false, member);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(first.getKey()).isEqualTo("key1");
+    assertThat(first.getRawNewValue()).isEqualTo("value1");
+  }
+
+  @Test
+  public void idleEventIsNotReusedForARegionWithAnOffHeapStore() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(false);
+    EntryEventImpl first =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    factory.recycle(first);
+    LocalRegion offHeapRegion = mock(LocalRegion.class);
+    InternalCache offHeapCache = mock(InternalCache.class);
+    InternalDistributedSystem offHeapSystem = mock(InternalDistributedSystem.class);
+    when(offHeapRegion.getCache()).thenReturn(offHeapCache);
+    when(offHeapCache.getDistributedSystem()).thenReturn(offHeapSystem);
+    when(offHeapSystem.getOffHeapStore()).thenReturn(mock(MemoryAllocator.class));
+    stubKeyInfo(offHeapRegion);
+
+    EntryEventImpl offHeapEvent = factory.createRecyclable(offHeapRegion, Operation.UPDATE,
+        "key2", "value2", null, false, member);
+    EntryEventImpl heapEvent =
+        factory.createRecyclable(region, Operation.UPDATE, "key3", "value3", null, false, member);
+
+    assertThat(offHeapEvent).isNotSameAs(first);
+    assertThat(heapEvent).isSameAs(first);
+  }
+
+  @Test
+  public void transactionalEventIsNotReused() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(false);
+    when(region.getTXId()).thenReturn(mock(TXId.class));
+    EntryEventImpl first =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    factory.recycle(first);
+
+    EntryEventImpl second =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void debugModeDetectsDoubleRecycle() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(true);
+    EntryEventImpl event =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    factory.recycle(event);
+
+    assertThatThrownBy(() -> factory.recycle(event)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void debugModeDetectsEventsThatWereNeverRecycled() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(true);
+    long leakedBefore = RecyclingEntryEventFactory.getLeakedEvents();
+    EntryEventImpl outer =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    factory.createRecyclable(region, Operation.UPDATE, "key2", "value2", null, false, member);
+
+    factory.recycle(outer);
+
+    assertThat(RecyclingEntryEventFactory.getLeakedEvents()).isEqualTo(leakedBefore + 1);
+  }
+
+  @Test
+  public void debugModeAllowsNestedOperations() {
+    RecyclingEntryEventFactory factory = new RecyclingEntryEventFactory(true);
+    long leakedBefore = RecyclingEntryEventFactory.getLeakedEvents();
+    EntryEventImpl outer =
+        factory.createRecyclable(region, Operation.UPDATE, "key1", "value1", null, false, member);
+    EntryEventImpl inner =
+        factory.createRecyclable(region, Operation.UPDATE, "key2", "value2", null, false, member);
+
+    factory.recycle(inner);
+    factory.recycle(outer);
+
+    assertThat(RecyclingEntryEventFactory.getLeakedEvents()).isEqualTo(leakedBefore);
+  }
+}
@@ -153,6 +153,13 @@ public class RegionPerfStatsTest {
     verify(cachePerfStats).incPreviouslySeenEvents();
   }
 
+  @Test
+  public void endServerInvalidate_endsCachePerfStatsServerInvalidate() {
+    regionPerfStats.endServerInvalidate(3L);
+
+    verify(cachePerfStats).endServerInvalidate(3L);
+  }
+
   @Test
   public void entryCountGaugeFetchesValueFromRegionLocalSize() {
     when(region.getLocalSize()).thenReturn(3);
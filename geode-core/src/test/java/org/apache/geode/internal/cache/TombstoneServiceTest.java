@@ -14,12 +14,18 @@
  */
 package org.apache.geode.internal.cache;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -53,12 +59,19 @@ public class TombstoneServiceTest {
     entry = mock(RegionEntry.class);
     region = mock(DistributedRegion.class);
     destroyedVersion = mock(VersionTag.class);
+    when(region.getRegionPerfStats()).thenReturn(stats);
     replicateTombstoneSweeper = new TombstoneService.ReplicateTombstoneSweeper(cacheTime, stats,
         cancelCriterion, executor);
     tombstone = new TombstoneService.Tombstone(entry, region, destroyedVersion);
     tombstone.entry = entry;
   }
 
+  @After
+  public void tearDown() {
+    TombstoneService.TOMBSTONE_GC_BATCH_SIZE = TombstoneService.TOMBSTONE_GC_BATCH_SIZE_DEFAULT;
+    TombstoneService.EXPIRED_TOMBSTONE_LIMIT = TombstoneService.EXPIRED_TOMBSTONE_LIMIT_DEFAULT;
+  }
+
   @Test
   public void validateThatRemoveIsNotCalledOnTombstoneInRegionThatIsNotInitialized() {
     when(region.isInitialized()).thenReturn(false);
@@ -84,4 +97,88 @@ public class TombstoneServiceTest {
     replicateTombstoneSweeper.expireBatch();
     verify(regionMap).removeTombstone(tombstone.entry, tombstone);
   }
+
+  @Test
+  public void expiredTombstonesAreCountedInRegionStats() {
+    RegionVersionVector regionVersionVector = mock(RegionVersionVector.class);
+    when(region.isInitialized()).thenReturn(true);
+    when(region.getRegionMap()).thenReturn(regionMap);
+    when(region.getVersionVector()).thenReturn(regionVersionVector);
+    when(region.getDataPolicy()).thenReturn(DataPolicy.REPLICATE);
+
+    replicateTombstoneSweeper.expireTombstone(tombstone);
+    verify(stats).incExpiredTombstones(1);
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isEqualTo(1);
+
+    replicateTombstoneSweeper.expireBatch();
+    verify(stats).incExpiredTombstones(-1);
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isZero();
+  }
+
+  @Test
+  public void batchReapsRegionWithMostExpiredTombstonesFirst() {
+    TombstoneService.TOMBSTONE_GC_BATCH_SIZE = 2;
+    RegionMap busyRegionMap = mock(RegionMap.class);
+    DistributedRegion busyRegion = mock(DistributedRegion.class);
+    for (DistributedRegion r : new DistributedRegion[] {region, busyRegion}) {
+      when(r.isInitialized()).thenReturn(true);
+      when(r.getVersionVector()).thenReturn(mock(RegionVersionVector.class));
+      when(r.getDataPolicy()).thenReturn(DataPolicy.REPLICATE);
+      when(r.getRegionPerfStats()).thenReturn(stats);
+    }
+    when(region.getRegionMap()).thenReturn(regionMap);
+    when(busyRegion.getRegionMap()).thenReturn(busyRegionMap);
+
+    replicateTombstoneSweeper.expireTombstone(tombstone);
+    TombstoneService.Tombstone busyTombstone1 = newTombstone(busyRegion);
+    TombstoneService.Tombstone busyTombstone2 = newTombstone(busyRegion);
+    replicateTombstoneSweeper.expireTombstone(busyTombstone1);
+    replicateTombstoneSweeper.expireTombstone(busyTombstone2);
+
+    replicateTombstoneSweeper.expireBatch();
+
+    verify(busyRegionMap).removeTombstone(busyTombstone1.entry, busyTombstone1);
+    verify(busyRegionMap).removeTombstone(busyTombstone2.entry, busyTombstone2);
+    verify(regionMap, never()).removeTombstone(any(), any());
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void reapingStopsAtTheLowWaterMark() {
+    TombstoneService.EXPIRED_TOMBSTONE_LIMIT = 8;
+    TombstoneService.TOMBSTONE_GC_BATCH_SIZE = 2;
+    AtomicLong now = new AtomicLong();
+    when(cacheTime.cacheTimeMillis()).thenAnswer(invocation -> now.addAndGet(1000));
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(executor).execute(any());
+    when(region.isInitialized()).thenReturn(true);
+    when(region.getRegionMap()).thenReturn(regionMap);
+    when(region.getVersionVector()).thenReturn(mock(RegionVersionVector.class));
+    when(region.getDataPolicy()).thenReturn(DataPolicy.REPLICATE);
+
+    for (int i = 0; i < 7; i++) {
+      replicateTombstoneSweeper.expireTombstone(newTombstone(region));
+    }
+    replicateTombstoneSweeper.checkExpiredTombstoneGC();
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isEqualTo(7);
+
+    replicateTombstoneSweeper.expireTombstone(newTombstone(region));
+    for (int i = 0; i < 5; i++) {
+      replicateTombstoneSweeper.checkExpiredTombstoneGC();
+    }
+    // 8 -> 6 -> 4 -> 2, where reaping stops
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isEqualTo(2);
+
+    // a trickle of deletes below the limit does not start another batch
+    replicateTombstoneSweeper.expireTombstone(newTombstone(region));
+    replicateTombstoneSweeper.checkExpiredTombstoneGC();
+    assertThat(replicateTombstoneSweeper.getScheduledTombstoneCount()).isEqualTo(3);
+  }
+
+  private TombstoneService.Tombstone newTombstone(DistributedRegion r) {
+    RegionEntry regionEntry = mock(RegionEntry.class);
+    return new TombstoneService.Tombstone(regionEntry, r, mock(VersionTag.class));
+  }
 }
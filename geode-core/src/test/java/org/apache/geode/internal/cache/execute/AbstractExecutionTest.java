@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.cache.execute.Execution;
+import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionException;
+import org.apache.geode.cache.execute.ResultCollector;
+
+@SuppressWarnings("unchecked")
+public class AbstractExecutionTest {
+
+  private final AbstractExecution execution = mock(AbstractExecution.class, CALLS_REAL_METHODS);
+  private final Function<Object> function = mock(Function.class);
+
+  @Before
+  public void setUp() {
+    when(function.hasResult()).thenReturn(true);
+    when(function.getId()).thenReturn("function");
+  }
+
+  @Test
+  public void executeStreamingMakesTheSenderWaitWhileTheBufferIsFull() {
+    AtomicInteger sent = new AtomicInteger();
+    executesFunction(collector -> {
+      for (int i = 1; i <= 3; i++) {
+        collector.addResult(null, i);
+        sent.incrementAndGet();
+      }
+    });
+
+    StreamingResultCollector<Integer> results = execution.executeStreaming(function, 1);
+
+    await().until(() -> sent.get() == 1);
+    assertThat(sent.get()).isEqualTo(1);
+    assertThat(results.next()).isEqualTo(1);
+    await().until(() -> sent.get() == 2);
+    assertThat(results.getResult()).toIterable().containsExactly(2, 3);
+    assertThat(sent.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void executeStreamingEndsTheResultsWhenTheExecutionCompletes() {
+    executesFunction(collector -> {
+      collector.addResult(null, 1);
+      collector.addResult(null, 2);
+    });
+
+    StreamingResultCollector<Integer> results = execution.executeStreaming(function, 10);
+
+    assertThat(results.getResult()).toIterable().containsExactly(1, 2);
+    assertThat(results.hasNext()).isFalse();
+  }
+
+  @Test
+  public void executeStreamingThrowsTheFailureOfTheExecutionAfterItsResults() {
+    executesFunction(collector -> {
+      collector.addResult(null, 1);
+      throw new FunctionException("failed");
+    });
+
+    StreamingResultCollector<Integer> results = execution.executeStreaming(function, 10);
+
+    assertThat(results.next()).isEqualTo(1);
+    assertThatThrownBy(results::hasNext).isInstanceOf(FunctionException.class)
+        .hasMessage("failed");
+  }
+
+  @Test
+  public void executeStreamingWrapsAFailureThatIsNotAFunctionException() {
+    IllegalStateException failure = new IllegalStateException("failed");
+    executesFunction(collector -> {
+      throw failure;
+    });
+
+    StreamingResultCollector<Integer> results = execution.executeStreaming(function, 10);
+
+    assertThatThrownBy(results::hasNext).isInstanceOf(FunctionException.class)
+        .hasCause(failure);
+  }
+
+  @Test
+  public void executeStreamingRejectsAFunctionWithoutResults() {
+    when(function.hasResult()).thenReturn(false);
+
+    assertThatThrownBy(() -> execution.executeStreaming(function, 10))
+        .isInstanceOf(FunctionException.class).hasMessageContaining("function");
+  }
+
+  /**
+   * Executes the function by handing the collector passed to withCollector to sender, on the
+   * thread that executes the function.
+   */
+  private void executesFunction(Consumer<ResultCollector<Object, ?>> sender) {
+    doAnswer(withCollector -> {
+      ResultCollector<Object, ?> collector = withCollector.getArgument(0);
+      Execution<Object, Object, ?> collectorExecution = mock(Execution.class);
+      when(collectorExecution.execute(function)).thenAnswer(execute -> {
+        sender.accept(collector);
+        return collector;
+      });
+      return collectorExecution;
+    }).when(execution).withCollector(any());
+  }
+}
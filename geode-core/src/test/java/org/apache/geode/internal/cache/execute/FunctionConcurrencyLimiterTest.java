@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.apache.geode.util.internal.UncheckedUtils.uncheckedCast;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.geode.cache.execute.Function;
+import org.apache.geode.cache.execute.FunctionContext;
+
+public class FunctionConcurrencyLimiterTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private final FunctionContext<Object> context = uncheckedCast(mock(FunctionContext.class));
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void executionWaitsWhileFunctionIsAtItsLimit() throws Exception {
+    FunctionConcurrencyLimiter limiter = new FunctionConcurrencyLimiter(1);
+    BlockingFunction function = new BlockingFunction("blocking");
+
+    Future<?> first = executor.submit(() -> limiter.run(() -> limiter.limit(function, context)));
+    await().until(() -> function.started.get() == 1);
+    Future<?> second = executor.submit(() -> limiter.run(() -> limiter.limit(function, context)));
+
+    Thread.sleep(100);
+    assertThat(function.started).hasValue(1);
+
+    function.release.countDown();
+    first.get();
+    second.get();
+    assertThat(function.started).hasValue(2);
+  }
+
+  @Test
+  public void otherFunctionsAreNotLimitedByABusyFunction() throws Exception {
+    FunctionConcurrencyLimiter limiter = new FunctionConcurrencyLimiter(1);
+    BlockingFunction busy = new BlockingFunction("busy");
+    BlockingFunction other = new BlockingFunction("other");
+    other.release.countDown();
+
+    Future<?> busyExecution =
+        executor.submit(() -> limiter.run(() -> limiter.limit(busy, context)));
+    await().until(() -> busy.started.get() == 1);
+    executor.submit(() -> limiter.run(() -> limiter.limit(other, context))).get();
+
+    assertThat(other.started).hasValue(1);
+    busy.release.countDown();
+    busyExecution.get();
+  }
+
+  @Test
+  public void nestedExecutionOfTheSameFunctionDoesNotWait() throws Exception {
+    FunctionConcurrencyLimiter limiter = new FunctionConcurrencyLimiter(1);
+    BlockingFunction function = new BlockingFunction("blocking");
+    function.release.countDown();
+    Function<Object> outer = new Function<Object>() {
+      @Override
+      public void execute(FunctionContext<Object> context) {
+        limiter.limit(function, context);
+      }
+
+      @Override
+      public String getId() {
+        return function.getId();
+      }
+    };
+
+    executor.submit(() -> limiter.run(() -> limiter.limit(outer, context)))
+        .get(1, TimeUnit.MINUTES);
+
+    assertThat(function.started).hasValue(1);
+  }
+
+  @Test
+  public void executionsOnUnlimitedThreadsDoNotWait() throws Exception {
+    FunctionConcurrencyLimiter limiter = new FunctionConcurrencyLimiter(1);
+    BlockingFunction function = new BlockingFunction("blocking");
+
+    executor.submit(() -> limiter.limit(function, context));
+    executor.submit(() -> limiter.limit(function, context));
+
+    await().until(() -> function.started.get() == 2);
+    function.release.countDown();
+  }
+
+  private static class BlockingFunction implements Function<Object> {
+    private final String id;
+    private final AtomicInteger started = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    BlockingFunction(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public void execute(FunctionContext<Object> context) {
+      started.incrementAndGet();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+  }
+}
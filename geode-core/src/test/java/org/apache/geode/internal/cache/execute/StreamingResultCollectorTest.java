@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.execute;
+
+import static org.apache.geode.test.awaitility.GeodeAwaitility.await;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.execute.FunctionException;
+
+public class StreamingResultCollectorTest {
+
+  private final StreamingResultCollector<Integer> collector = new StreamingResultCollector<>(2);
+
+  @Test
+  public void iteratesResultsInArrivalOrderUntilEndResults() {
+    collector.addResult(null, 1);
+    collector.addResult(null, 2);
+    collector.endResults();
+
+    Iterator<Integer> results = collector.getResult();
+
+    assertThat(results).toIterable().containsExactly(1, 2);
+  }
+
+  @Test
+  public void addResultWaitsForTheCallerOnceTheBufferIsFull() {
+    collector.addResult(null, 1);
+    collector.addResult(null, 2);
+
+    CompletableFuture<Void> third = CompletableFuture.runAsync(() -> collector.addResult(null, 3));
+
+    assertThat(third).isNotDone();
+    assertThat(collector.next()).isEqualTo(1);
+    await().until(third::isDone);
+    collector.endResults();
+    assertThat(collector.getResult()).toIterable().containsExactly(2, 3);
+  }
+
+  @Test
+  public void hasNextWaitsForTheNextResult() {
+    CompletableFuture<Boolean> hasNext = CompletableFuture.supplyAsync(collector::hasNext);
+
+    assertThat(hasNext).isNotDone();
+    collector.addResult(null, 1);
+
+    await().until(hasNext::isDone);
+    assertThat(hasNext.join()).isTrue();
+  }
+
+  @Test
+  public void failureIsThrownAfterTheResultsReceivedBeforeIt() {
+    collector.addResult(null, 1);
+    collector.fail(new IllegalStateException("failed"));
+
+    assertThat(collector.next()).isEqualTo(1);
+    assertThatThrownBy(collector::hasNext).isInstanceOf(FunctionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void closeReleasesWaitingSendersAndDropsLaterResults() {
+    collector.addResult(null, 1);
+    collector.addResult(null, 2);
+    CompletableFuture<Void> third = CompletableFuture.runAsync(() -> collector.addResult(null, 3));
+
+    collector.close();
+
+    await().until(third::isDone);
+    collector.addResult(null, 4);
+    assertThat(collector.hasNext()).isFalse();
+  }
+
+  @Test
+  public void clearResultsDropsBufferedResultsForARetry() {
+    collector.addResult(null, 1);
+    collector.endResults();
+
+    collector.clearResults();
+    collector.addResult(null, 2);
+    collector.endResults();
+
+    assertThat(collector.getResult()).toIterable().containsExactly(2);
+  }
+}
@@ -136,6 +136,32 @@ public class HARegionQueueTest {
     assertEquals(3, haRegionQueue.size());
   }
 
+  @Test
+  public void removePeekedRemovesTheCountersPeekedBeforeTheFirstEventThatWasNotDispatched()
+      throws Exception {
+    haRegionQueue.put(new ConflatableObject("key1", "value1", new EventID(new byte[] {1}, 1, 1),
+        false, "someRegion"));
+    haRegionQueue.put(new ConflatableObject("key2", "value2", new EventID(new byte[] {1}, 1, 2),
+        false, "someRegion"));
+    haRegionQueue.put(new ConflatableObject("key3", "value3", new EventID(new byte[] {1}, 1, 3),
+        false, "someRegion"));
+    // the first event is gone by the time the batch is peeked
+    when(haRegion.get(1L)).thenReturn(null);
+    HARegionQueue queue = spy(haRegionQueue);
+    doNothing().when(queue).remove();
+
+    try {
+      List<?> batch = queue.peek(3);
+      queue.removePeeked(1);
+
+      assertThat(batch).hasSize(2);
+      List<Long> removedIds = uncheckedCast(HARegionQueue.peekedEventsContext.get());
+      assertThat(removedIds).containsExactly(1L, 2L);
+    } finally {
+      HARegionQueue.peekedEventsContext.set(null);
+    }
+  }
+
   @Test
   public void queueShouldconflateConflatableEntries() throws Exception {
     EventID eventId1 = new EventID(new byte[] {1}, 1, 1);
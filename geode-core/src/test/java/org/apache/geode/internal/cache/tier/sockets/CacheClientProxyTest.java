@@ -20,7 +20,10 @@ package org.apache.geode.internal.cache.tier.sockets;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -32,10 +35,12 @@ import java.net.InetAddress;
 import java.net.Socket;
 
 import org.apache.shiro.subject.Subject;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.apache.geode.StatisticsFactory;
+import org.apache.geode.internal.SystemTimer.SystemTimerTask;
 import org.apache.geode.internal.cache.Conflatable;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.tier.sockets.CacheClientProxy.CacheClientProxyStatsFactory;
@@ -94,6 +99,74 @@ public class CacheClientProxyTest {
             clientUserAuths);
   }
 
+  @After
+  public void after() {
+    CacheClientProxy.durableQueueMaximumMessages = 0;
+  }
+
+  @Test
+  public void disconnectedDurableClientTimesOutWhenItsQueueExceedsTheLimit() {
+    CacheClientProxy.durableQueueMaximumMessages = 10;
+    CacheClientProxy spy = spy(proxyWithSingleUser);
+    doReturn(true).when(spy).isPaused();
+    doReturn(11).when(spy).getQueueSize();
+    doNothing().when(spy).scheduleDurableExpirationTask(any(), anyLong());
+    SystemTimerTask task = mock(SystemTimerTask.class);
+    spy._durableExpirationTask.set(task);
+
+    spy.checkDurableQueueLimit();
+
+    verify(task).cancel();
+    SystemTimerTask immediateTask = spy._durableExpirationTask.get();
+    assertThat(immediateTask).isNotNull().isNotSameAs(task);
+    verify(spy).scheduleDurableExpirationTask(immediateTask, 0L);
+  }
+
+  @Test
+  public void disconnectedDurableClientIsNotTimedOutIfItReconnectsWhileCheckingTheLimit() {
+    CacheClientProxy.durableQueueMaximumMessages = 10;
+    CacheClientProxy spy = spy(proxyWithSingleUser);
+    doReturn(true).when(spy).isPaused();
+    doReturn(11).when(spy).getQueueSize();
+    SystemTimerTask task = mock(SystemTimerTask.class);
+    spy._durableExpirationTask.set(task);
+    doAnswer(invocation -> {
+      spy.cancelDurableExpirationTask(false);
+      return invocation.callRealMethod();
+    }).when(spy).createDurableExpirationTask();
+
+    spy.checkDurableQueueLimit();
+
+    verify(task).cancel();
+    verify(spy, never()).scheduleDurableExpirationTask(any(), anyLong());
+    assertThat(spy._durableExpirationTask.get()).isNull();
+  }
+
+  @Test
+  public void expirationTaskThatIsNoLongerPendingDoesNotTerminateTheProxy() {
+    SystemTimerTask task = proxyWithSingleUser.createDurableExpirationTask();
+
+    task.run2();
+
+    verify(notifier, never()).removeClientProxy(any());
+    verify(notifier, never()).durableClientTimedOut(any());
+  }
+
+  @Test
+  public void disconnectedDurableClientIsKeptWhileItsQueueIsWithinTheLimit() {
+    CacheClientProxy.durableQueueMaximumMessages = 10;
+    CacheClientProxy spy = spy(proxyWithSingleUser);
+    doReturn(true).when(spy).isPaused();
+    doReturn(10).when(spy).getQueueSize();
+    SystemTimerTask task = mock(SystemTimerTask.class);
+    spy._durableExpirationTask.set(task);
+
+    spy.checkDurableQueueLimit();
+
+    verify(task, never()).cancel();
+    assertThat(spy._durableExpirationTask.get()).isSameAs(task);
+  }
+
   @Test
   public void noExceptionWhenGettingSubjectForCQWhenSubjectIsNotNull() {
     proxyWithSingleUser.getSubject("cq");
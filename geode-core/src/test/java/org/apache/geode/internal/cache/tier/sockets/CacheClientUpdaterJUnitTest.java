@@ -14,16 +14,23 @@
  */
 package org.apache.geode.internal.cache.tier.sockets;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
 
 import org.apache.geode.CancelCriterion;
 import org.apache.geode.cache.client.SocketFactory;
@@ -35,7 +42,9 @@ import org.apache.geode.distributed.internal.ServerLocation;
 import org.apache.geode.distributed.internal.tcpserver.ClientSocketCreator;
 import org.apache.geode.distributed.internal.tcpserver.HostAndPort;
 import org.apache.geode.internal.cache.tier.ClientSideHandshake;
+import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.net.SocketCreator;
+import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.test.junit.categories.ClientSubscriptionTest;
 
 @Category({ClientSubscriptionTest.class})
@@ -87,4 +96,83 @@ public class CacheClientUpdaterJUnitTest {
     // The endpoint should be reported as having crashed
     verify(endpointManager).serverCrashed(endpoint);
   }
+
+  @Test
+  public void onlyEntryMessagesAreEntryEvents() {
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.LOCAL_CREATE))).isTrue();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.LOCAL_UPDATE))).isTrue();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.LOCAL_INVALIDATE))).isTrue();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.LOCAL_DESTROY))).isTrue();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.LOCAL_DESTROY_REGION)))
+        .isFalse();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.CLEAR_REGION))).isFalse();
+    assertThat(CacheClientUpdater.isEntryEvent(message(MessageType.CLIENT_MARKER))).isFalse();
+  }
+
+  @Test
+  public void keyHashDependsOnTheRegionAndTheKey() {
+    int keyHash = CacheClientUpdater.getKeyHash(entryEvent("region", "key"));
+
+    assertThat(CacheClientUpdater.getKeyHash(entryEvent("region", "key"))).isEqualTo(keyHash);
+    assertThat(CacheClientUpdater.getKeyHash(entryEvent("region", "other"))).isNotEqualTo(keyHash);
+    assertThat(CacheClientUpdater.getKeyHash(entryEvent("other", "key"))).isNotEqualTo(keyHash);
+  }
+
+  @Test
+  public void entryEventIsQueuedForTheWorkerOfItsKey() throws Exception {
+    ClientEventWorkers workers = mock(ClientEventWorkers.class);
+    Message event = entryEvent("region", "key");
+    List<Message> applied = new ArrayList<>();
+
+    boolean queued = CacheClientUpdater.queueForEventWorker(workers, event, false, applied::add);
+
+    assertThat(queued).isTrue();
+    ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+    verify(workers).execute(eq(CacheClientUpdater.getKeyHash(event)), task.capture());
+    verify(workers, never()).drain();
+    task.getValue().run();
+    assertThat(applied).containsExactly(event);
+  }
+
+  @Test
+  public void deltaIsAppliedByTheUpdaterAfterTheQueuedEvents() throws Exception {
+    ClientEventWorkers workers = mock(ClientEventWorkers.class);
+    List<Message> applied = new ArrayList<>();
+
+    boolean queued = CacheClientUpdater.queueForEventWorker(workers,
+        entryEvent("region", "key"), true, applied::add);
+
+    assertThat(queued).isFalse();
+    verify(workers).drain();
+    verify(workers, never()).execute(anyInt(), any());
+    assertThat(applied).isEmpty();
+  }
+
+  @Test
+  public void otherMessagesAreProcessedByTheUpdaterAfterTheQueuedEvents() throws Exception {
+    ClientEventWorkers workers = mock(ClientEventWorkers.class);
+    List<Message> applied = new ArrayList<>();
+
+    boolean queued = CacheClientUpdater.queueForEventWorker(workers,
+        message(MessageType.CLEAR_REGION), false, applied::add);
+
+    assertThat(queued).isFalse();
+    verify(workers).drain();
+    verify(workers, never()).execute(anyInt(), any());
+    assertThat(applied).isEmpty();
+  }
+
+  private static Message message(int messageType) {
+    Message message = new Message(0, KnownVersion.CURRENT);
+    message.setMessageType(messageType);
+    return message;
+  }
+
+  private static Message entryEvent(String regionName, String key) {
+    Message message = new Message(2, KnownVersion.CURRENT);
+    message.setMessageType(MessageType.LOCAL_UPDATE);
+    message.addBytesPart(regionName.getBytes(UTF_8));
+    message.addBytesPart(key.getBytes(UTF_8));
+    return message;
+  }
 }
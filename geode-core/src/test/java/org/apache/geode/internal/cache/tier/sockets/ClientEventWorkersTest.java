@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.tier.sockets.CacheClientUpdater.CCUStats;
+import org.apache.geode.test.junit.categories.ClientSubscriptionTest;
+
+@Category({ClientSubscriptionTest.class})
+public class ClientEventWorkersTest {
+
+  private final CCUStats stats = mock(CCUStats.class);
+  private final ClientEventWorkers workers = new ClientEventWorkers("test", 4, 2, stats);
+
+  @After
+  public void tearDown() {
+    workers.close();
+  }
+
+  @Test
+  public void eventsOfAKeyAreAppliedInOrder() throws Exception {
+    List<Integer> applied = new CopyOnWriteArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int event = i;
+      workers.execute(7, () -> applied.add(event));
+    }
+
+    workers.drain();
+
+    assertThat(applied).hasSize(100).isSorted();
+    verify(stats, times(100)).startWorkerEvent(anyLong());
+  }
+
+  @Test
+  public void slowEventDoesNotHoldUpOtherKeys() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch otherApplied = new CountDownLatch(1);
+    workers.execute(0, () -> {
+      try {
+        release.await();
+      } catch (InterruptedException ignore) {
+      }
+    });
+    workers.execute(1, otherApplied::countDown);
+
+    assertThat(otherApplied.await(1, TimeUnit.MINUTES)).isTrue();
+    release.countDown();
+    workers.drain();
+  }
+
+  @Test
+  public void errorThrownApplyingAnEventDoesNotStopTheWorker() throws Exception {
+    List<Integer> applied = new CopyOnWriteArrayList<>();
+    workers.execute(0, () -> {
+      throw new AssertionError("thrown by a listener");
+    });
+    workers.execute(0, () -> applied.add(1));
+
+    workers.drain();
+
+    assertThat(applied).containsExactly(1);
+  }
+
+  @Test
+  public void closeWaitsForTheQueuedEventsToBeApplied() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> applied = new CopyOnWriteArrayList<>();
+    workers.execute(0, () -> {
+      try {
+        release.await();
+      } catch (InterruptedException ignore) {
+      }
+    });
+    workers.execute(0, () -> applied.add(1));
+    workers.execute(0, () -> applied.add(2));
+
+    CompletableFuture<Void> closed = CompletableFuture.runAsync(workers::close);
+    release.countDown();
+    closed.get(1, TimeUnit.MINUTES);
+
+    assertThat(applied).containsExactly(1, 2);
+  }
+}
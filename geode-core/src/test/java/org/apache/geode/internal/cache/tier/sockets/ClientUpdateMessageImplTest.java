@@ -34,8 +34,12 @@ import org.apache.geode.CopyHelper;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.DurableClientAttributes;
 import org.apache.geode.internal.cache.EnumListenerEvent;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalRegion;
 import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.internal.statistics.StatisticsClock;
+import org.apache.geode.internal.util.BlobHelper;
 import org.apache.geode.test.fake.Fakes;
 import org.apache.geode.test.junit.rules.ExecutorServiceRule;
 
@@ -227,4 +231,56 @@ public class ClientUpdateMessageImplTest implements Serializable {
     assertThat(clientUpdateMessageImpl.getClientCqs().get(client2)).isNull();
   }
 
+  @Test
+  public void keyAndEventIdAreSerializedOnceForClientsOfTheSameVersion() throws Exception {
+    InternalRegion region = mock(InternalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    EventID eventId = new EventID(new byte[] {1}, 1, 1);
+    ClientUpdateMessageImpl clientUpdateMessageImpl = new ClientUpdateMessageImpl(
+        EnumListenerEvent.AFTER_DESTROY, region, 7, null, (byte) 0x01, null, client1, eventId);
+    CacheClientProxy proxy1 = mock(CacheClientProxy.class);
+    when(proxy1.getVersion()).thenReturn(KnownVersion.CURRENT);
+    when(proxy1.getProxyID()).thenReturn(client1);
+    CacheClientProxy proxy2 = mock(CacheClientProxy.class);
+    when(proxy2.getVersion()).thenReturn(KnownVersion.CURRENT);
+    when(proxy2.getProxyID()).thenReturn(client2);
+
+    Message message = clientUpdateMessageImpl.getMessage(proxy1, null);
+    byte[] key = message.getPart(1).getSerializedForm();
+    byte[] eventIdBytes = message.getPart(6).getSerializedForm();
+    message = clientUpdateMessageImpl.getMessage(proxy2, null);
+
+    assertThat(key).isEqualTo(BlobHelper.serializeToBlob(7));
+    assertThat(eventIdBytes).isEqualTo(BlobHelper.serializeToBlob(eventId));
+    assertThat(message.getPart(1).getSerializedForm()).isSameAs(key);
+    assertThat(message.getPart(6).getSerializedForm()).isSameAs(eventIdBytes);
+  }
+
+  @Test
+  public void partsAreKeptForEachClientVersionAndCountedInTheSize() throws Exception {
+    InternalRegion region = mock(InternalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    EventID eventId = new EventID(new byte[] {1}, 1, 1);
+    ClientUpdateMessageImpl clientUpdateMessageImpl = new ClientUpdateMessageImpl(
+        EnumListenerEvent.AFTER_DESTROY, region, 7, null, (byte) 0x01, null, client1, eventId);
+    CacheClientProxy currentProxy = mock(CacheClientProxy.class);
+    when(currentProxy.getVersion()).thenReturn(KnownVersion.CURRENT);
+    when(currentProxy.getProxyID()).thenReturn(client1);
+    CacheClientProxy oldProxy = mock(CacheClientProxy.class);
+    when(oldProxy.getVersion()).thenReturn(KnownVersion.GEODE_1_14_0);
+    when(oldProxy.getProxyID()).thenReturn(client2);
+    int unsentSize = clientUpdateMessageImpl.getSizeInBytes();
+
+    byte[] key = clientUpdateMessageImpl.getMessage(currentProxy, null).getPart(1)
+        .getSerializedForm();
+    int sentToOneVersionSize = clientUpdateMessageImpl.getSizeInBytes();
+    clientUpdateMessageImpl.getMessage(oldProxy, null);
+    int sentToTwoVersionsSize = clientUpdateMessageImpl.getSizeInBytes();
+    Message message = clientUpdateMessageImpl.getMessage(currentProxy, null);
+
+    assertThat(message.getPart(1).getSerializedForm()).isSameAs(key);
+    assertThat(sentToOneVersionSize).isGreaterThan(unsentSize);
+    assertThat(sentToTwoVersionsSize).isGreaterThan(sentToOneVersionSize);
+    assertThat(clientUpdateMessageImpl.getSizeInBytes()).isEqualTo(sentToTwoVersionsSize);
+  }
 }
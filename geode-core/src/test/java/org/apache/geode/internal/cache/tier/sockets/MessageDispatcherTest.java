@@ -18,13 +18,16 @@
 package org.apache.geode.internal.cache.tier.sockets;
 
 import static org.apache.geode.internal.lang.SystemPropertyHelper.RE_AUTHENTICATE_WAIT_TIME;
+import static org.apache.geode.internal.lang.SystemPropertyHelper.SUBSCRIPTION_DISPATCH_BATCH_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -33,10 +36,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.shiro.subject.Subject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import org.apache.geode.CancelCriterion;
 import org.apache.geode.cache.RegionDestroyedException;
@@ -48,6 +53,7 @@ import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessageImpl.CqNa
 import org.apache.geode.internal.security.SecurityService;
 import org.apache.geode.internal.serialization.KnownVersion;
 import org.apache.geode.security.AuthenticationExpiredException;
+import org.apache.geode.security.NotAuthorizedException;
 import org.apache.geode.security.ResourcePermission;
 
 public class MessageDispatcherTest {
@@ -185,4 +191,126 @@ public class MessageDispatcherTest {
     verify(dispatcher).pauseOrUnregisterProxy(any());
     verify(dispatcher, never()).dispatchResidualMessages();
   }
+
+  @Test
+  public void batchIsWrittenWithOneFlushAndRemovedOnce() throws Exception {
+    ClientUpdateMessageImpl otherMessage = mock(ClientUpdateMessageImpl.class);
+    Message wireMessage = mock(Message.class);
+    Message otherWireMessage = mock(Message.class);
+    when(((ClientUpdateMessageImpl) message).getMessage(proxy, null)).thenReturn(wireMessage);
+    when(otherMessage.getMessage(proxy, null)).thenReturn(otherWireMessage);
+    doReturn(10L).when(dispatcher).getSystemProperty(eq(SUBSCRIPTION_DISPATCH_BATCH_SIZE),
+        anyLong());
+    doReturn(false, false, true).when(dispatcher).isStopped();
+    when(messageQueue.peek(10, -1)).thenReturn(Arrays.asList(message, otherMessage));
+
+    dispatcher.runDispatcher();
+
+    InOrder inOrder = inOrder(wireMessage, otherWireMessage, messageQueue);
+    inOrder.verify(wireMessage).sendBytes(true, false);
+    inOrder.verify(otherWireMessage).sendBytes(true, false);
+    inOrder.verify(otherWireMessage).flush();
+    inOrder.verify(messageQueue).remove();
+    verify(wireMessage, never()).flush();
+    verify(messageQueue, never()).peek();
+    verify(proxyStats).endBatch(anyLong(), eq(2));
+  }
+
+  @Test
+  public void messagesAheadOfOneThatFailsBeforeBeingWrittenAreFlushedAndRemoved()
+      throws Exception {
+    ClientUpdateMessageImpl otherMessage = mock(ClientUpdateMessageImpl.class);
+    Message wireMessage = mock(Message.class);
+    when(((ClientUpdateMessageImpl) message).getMessage(proxy, null)).thenReturn(wireMessage);
+    when(otherMessage.getMessage(proxy, null)).thenThrow(new IllegalStateException("test"));
+    doReturn(10L).when(dispatcher).getSystemProperty(eq(SUBSCRIPTION_DISPATCH_BATCH_SIZE),
+        anyLong());
+    doReturn(false, false, true).when(dispatcher).isStopped();
+    when(messageQueue.peek(10, -1)).thenReturn(Arrays.asList(message, otherMessage));
+
+    dispatcher.runDispatcher();
+
+    InOrder inOrder = inOrder(wireMessage, messageQueue);
+    inOrder.verify(wireMessage).sendBytes(true, false);
+    inOrder.verify(wireMessage).flush();
+    inOrder.verify(messageQueue).removePeeked(1);
+    verify(messageQueue, never()).remove();
+    verify(dispatcher, never()).pauseOrUnregisterProxy(any());
+  }
+
+  @Test
+  public void proxyIsClosedWhenAMessageOfABatchFailsWhileBeingWritten() throws Exception {
+    ClientUpdateMessageImpl otherMessage = mock(ClientUpdateMessageImpl.class);
+    Message wireMessage = mock(Message.class);
+    Message otherWireMessage = mock(Message.class);
+    when(((ClientUpdateMessageImpl) message).getMessage(proxy, null)).thenReturn(wireMessage);
+    when(otherMessage.getMessage(proxy, null)).thenReturn(otherWireMessage);
+    doThrow(new IOException("Broken pipe")).when(otherWireMessage).sendBytes(true, false);
+    doReturn(10L).when(dispatcher).getSystemProperty(eq(SUBSCRIPTION_DISPATCH_BATCH_SIZE),
+        anyLong());
+    doReturn(false, false, false, true).when(dispatcher).isStopped();
+    doNothing().when(dispatcher).pauseOrUnregisterProxy(any());
+    when(messageQueue.peek(10, -1)).thenReturn(Arrays.asList(message, otherMessage));
+
+    dispatcher.runDispatcher();
+
+    verify(dispatcher).pauseOrUnregisterProxy(any(IOException.class));
+    verify(wireMessage, never()).flush();
+    verify(otherWireMessage, never()).flush();
+    verify(messageQueue, never()).remove();
+    verify(messageQueue, never()).removePeeked(anyInt());
+  }
+
+  @Test
+  public void messageOfABatchThatIsTooLargeIsSkipped() throws Exception {
+    ClientUpdateMessageImpl otherMessage = mock(ClientUpdateMessageImpl.class);
+    Message wireMessage = mock(Message.class);
+    Message otherWireMessage = mock(Message.class);
+    when(((ClientUpdateMessageImpl) message).getMessage(proxy, null)).thenReturn(wireMessage);
+    when(otherMessage.getMessage(proxy, null)).thenReturn(otherWireMessage);
+    doThrow(new MessageTooLargeException("test")).when(otherWireMessage).sendBytes(true, false);
+    doReturn(10L).when(dispatcher).getSystemProperty(eq(SUBSCRIPTION_DISPATCH_BATCH_SIZE),
+        anyLong());
+    doReturn(false, false, true).when(dispatcher).isStopped();
+    when(messageQueue.peek(10, -1)).thenReturn(Arrays.asList(message, otherMessage));
+
+    dispatcher.runDispatcher();
+
+    InOrder inOrder = inOrder(wireMessage, messageQueue);
+    inOrder.verify(wireMessage).flush();
+    inOrder.verify(messageQueue).remove();
+    verify(dispatcher, never()).pauseOrUnregisterProxy(any());
+    verify(proxyStats).endBatch(anyLong(), eq(1));
+  }
+
+  @Test
+  public void replayEndsOnceTheBacklogIsRemovedIncludingSkippedMessages() throws Exception {
+    when(proxy.isDurable()).thenReturn(true);
+    when(proxy.isPaused()).thenReturn(true, false);
+    doNothing().when(dispatcher).waitForResumption();
+    when(messageQueue.size()).thenReturn(2);
+    doReturn(false, false, false, false, true).when(dispatcher).isStopped();
+    when(messageQueue.peek()).thenReturn(message);
+    doThrow(new NotAuthorizedException("test")).doReturn(true).when(dispatcher)
+        .dispatchMessage(any());
+
+    dispatcher.runDispatcher();
+
+    verify(messageQueue, times(2)).remove();
+    verify(proxyStats).endDurableQueueReplay(anyLong(), eq(2));
+  }
+
+  @Test
+  public void durableClientMessagesAreNotBatched() throws Exception {
+    when(proxy.isDurable()).thenReturn(true);
+    doReturn(10L).when(dispatcher).getSystemProperty(eq(SUBSCRIPTION_DISPATCH_BATCH_SIZE),
+        anyLong());
+    doReturn(false, false, true).when(dispatcher).isStopped();
+    when(messageQueue.peek()).thenReturn(message);
+
+    dispatcher.runDispatcher();
+
+    verify(messageQueue, never()).peek(anyInt(), anyInt());
+    verify(dispatcher).dispatchMessage(message);
+  }
 }
@@ -17,6 +17,8 @@ package org.apache.geode.internal.cache.tier.sockets;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -34,6 +36,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.PooledDirectDataOutputStream;
+import org.apache.geode.internal.net.BufferPool;
 import org.apache.geode.test.junit.categories.ClientServerTest;
 
 @Category({ClientServerTest.class})
@@ -181,4 +185,27 @@ public class PartTest {
     verify(heapDataOutputStream, times(1)).rewind();
   }
 
+  @Test
+  public void releasePooledBuffersKeepsTheContentsOnTheHeap() throws Exception {
+    BufferPool bufferPool = mock(BufferPool.class);
+    when(bufferPool.acquireDirectSenderBuffer(anyInt()))
+        .thenAnswer(invocation -> ByteBuffer.allocateDirect(invocation.getArgument(0)));
+    PooledDirectDataOutputStream stream =
+        new PooledDirectDataOutputStream(bufferPool, 16, 64, null, false);
+    byte[] bytes = new byte[200];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    stream.write(bytes, 0, bytes.length);
+    Part part = new Part();
+    part.setPartState(stream, false);
+    part.writeTo(ByteBuffer.allocate(bytes.length));
+
+    part.releasePooledBuffers();
+
+    verify(bufferPool, times(1)).releaseSenderBuffer(any());
+    assertThat(part.isGatheringWritable()).isFalse();
+    assertThat(part.getSerializedForm()).isEqualTo(bytes);
+  }
+
 }
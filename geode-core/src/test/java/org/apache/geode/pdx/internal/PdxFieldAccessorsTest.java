@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.pdx.FieldType;
+import org.apache.geode.test.junit.categories.SerializationTest;
+
+@Category(SerializationTest.class)
+public class PdxFieldAccessorsTest {
+
+  private PdxType pdxType;
+  private PdxField firstInt;
+  private PdxField firstString;
+  private PdxField secondString;
+  private PdxField lastInt;
+
+  @Before
+  public void setUp() {
+    pdxType = new PdxType("PdxFieldAccessorsTest", false);
+    firstInt = new PdxField("firstInt", 0, 0, FieldType.INT, false);
+    firstString = new PdxField("firstString", 1, 0, FieldType.STRING, false);
+    secondString = new PdxField("secondString", 2, 1, FieldType.STRING, false);
+    lastInt = new PdxField("lastInt", 3, 1, FieldType.INT, false);
+    pdxType.addField(firstInt);
+    pdxType.addField(firstString);
+    pdxType.addField(secondString);
+    pdxType.addField(lastInt);
+
+    // what PdxType.initialize would compute for these fields
+    firstInt.setRelativeOffset(0);
+    firstString.setRelativeOffset(4);
+    firstString.setVlfOffsetIndex(-1);
+    secondString.setVlfOffsetIndex(1);
+    lastInt.setRelativeOffset(-4);
+    lastInt.setVlfOffsetIndex(-1);
+  }
+
+  @Test
+  public void compilesPositionKindOfEachField() {
+    PdxFieldAccessors accessors = new PdxFieldAccessors(pdxType);
+
+    assertThat(accessors.getKind(0)).isEqualTo(PdxFieldAccessors.ABSOLUTE);
+    assertThat(accessors.getDelta(0)).isEqualTo(0);
+    assertThat(accessors.getKind(1)).isEqualTo(PdxFieldAccessors.ABSOLUTE);
+    assertThat(accessors.getDelta(1)).isEqualTo(4);
+    assertThat(accessors.getKind(2)).isEqualTo(PdxFieldAccessors.FROM_VLF_OFFSET);
+    assertThat(accessors.getVlfOffsetIndex(2)).isEqualTo(1);
+    assertThat(accessors.getDelta(2)).isEqualTo(0);
+    assertThat(accessors.getKind(3)).isEqualTo(PdxFieldAccessors.FROM_VLF_TABLE);
+    assertThat(accessors.getDelta(3)).isEqualTo(-4);
+  }
+
+  @Test
+  public void isCompiledForOnlyTheFieldsOfItsType() {
+    PdxFieldAccessors accessors = new PdxFieldAccessors(pdxType);
+
+    assertThat(accessors.isCompiledFor(lastInt)).isTrue();
+    assertThat(accessors.isCompiledFor(new PdxField(lastInt))).isFalse();
+    assertThat(accessors.isCompiledFor(new PdxField("other", 7, 0, FieldType.INT, false)))
+        .isFalse();
+  }
+
+  @Test
+  public void typeRecompilesAccessorsWhenFieldAdded() {
+    PdxFieldAccessors accessors = pdxType.getFieldAccessors();
+    assertThat(pdxType.getFieldAccessors()).isSameAs(accessors);
+
+    PdxField added = new PdxField("added", 4, 1, FieldType.LONG, false);
+    pdxType.addField(added);
+
+    assertThat(pdxType.getFieldAccessors()).isNotSameAs(accessors);
+    assertThat(pdxType.getFieldAccessors().isCompiledFor(added)).isTrue();
+  }
+
+  @Test
+  public void readerUsesAccessorsToReadFields() {
+    ByteBuffer blob = ByteBuffer.allocate(12);
+    blob.putInt(7); // firstInt
+    blob.put((byte) 1).put((byte) 2); // firstString
+    blob.put((byte) 3); // secondString
+    blob.putInt(9); // lastInt
+    blob.put((byte) 6); // offset of secondString
+    PdxReaderImpl reader = new PdxReaderImpl(pdxType, new PdxInputStream(blob.array()));
+
+    assertThat(reader.readInt(firstInt)).isEqualTo(7);
+    assertThat(reader.readInt(lastInt)).isEqualTo(9);
+    assertThat(reader.readByte(secondString)).isEqualTo((byte) 3);
+    // second read comes from the decoded offset cache
+    assertThat(reader.readByte(secondString)).isEqualTo((byte) 3);
+    assertThat(reader.readInt(lastInt)).isEqualTo(9);
+  }
+
+  @Test
+  public void readerDecodesCompactOffsets() {
+    pdxType.setCompactOffsets(true);
+    PdxOutputStream os = new PdxOutputStream();
+    os.writeInt(7); // firstInt
+    os.write(new byte[200], 0, 200); // firstString
+    os.writeByte(3); // secondString
+    os.writeInt(9); // lastInt
+    PdxWriterImpl.writeCompactOffset(os, 204); // offset of secondString
+    byte[] blob = os.toByteArray();
+    assertThat(blob).hasSize(211);
+
+    PdxReaderImpl reader = new PdxReaderImpl(pdxType, new PdxInputStream(blob));
+
+    assertThat(reader.readInt(firstInt)).isEqualTo(7);
+    assertThat(reader.readByte(secondString)).isEqualTo((byte) 3);
+    assertThat(reader.readInt(lastInt)).isEqualTo(9);
+  }
+}
@@ -387,4 +387,33 @@ public class PdxTypeTest {
     assertEquals(before.getFieldCount(), after.getFieldCount());
     assertEquals(before.getHasDeletedField(), after.getHasDeletedField());
   }
+
+  @Test
+  public void testCompactOffsetsSurviveToDataAndFromData()
+      throws IOException, ClassNotFoundException {
+    final PdxType before = new PdxType(TYPE_NAME, EXPECT_DOMAIN_CLASS);
+    before.setCompactOffsets(true);
+    before.addField(FIELD_0);
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024);
+    DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
+    before.toData(dataOutputStream);
+    dataOutputStream.close();
+
+    final PdxType after = new PdxType();
+    after.fromData(
+        new DataInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray())));
+
+    assertTrue(after.getCompactOffsets());
+    assertEquals(before, after);
+  }
+
+  @Test
+  public void testTypesWithDifferentOffsetEncodingsAreNotEqual() {
+    final PdxType compact = new PdxType(TYPE_NAME, EXPECT_DOMAIN_CLASS);
+    compact.setCompactOffsets(true);
+    final PdxType fixed = new PdxType(TYPE_NAME, EXPECT_DOMAIN_CLASS);
+    fixed.setCompactOffsets(false);
+
+    assertNotEquals(compact, fixed);
+  }
 }
@@ -36,6 +36,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.apache.geode.CancelCriterion;
+import org.apache.geode.InternalGemFireError;
 import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsType;
 import org.apache.geode.cache.DataPolicy;
@@ -201,4 +202,61 @@ public class PeerTypeRegistrationTest {
 
     verify(peerTypeRegistration, times(0)).buildReverseMapsFromRegion();
   }
+
+  @Test
+  public void batchedDefineTypeRegistersTypeWithSinglePutAll() {
+    PeerTypeRegistration peerTypeRegistration =
+        spy(new PeerTypeRegistration(internalCache, true));
+
+    DistributedLockService dlockService = mock(DistributedLockService.class);
+    doReturn(dlockService).when(peerTypeRegistration).getLockService();
+
+    when(dlockService.lock(anyString(), anyLong(), anyLong())).thenReturn(true);
+
+    when(internalCache.getDistributionManager()).thenReturn(distributionManager);
+    InternalDistributedSystem internalDistributedSystem = mock(InternalDistributedSystem.class);
+    when(distributionManager.getSystem()).thenReturn(internalDistributedSystem);
+    CancelCriterion cancelCriterion = mock(CancelCriterion.class);
+    when(distributionManager.getCancelCriterion()).thenReturn(cancelCriterion);
+
+    peerTypeRegistration.initialize();
+
+    PdxType newType = new PdxType("batchedType", true);
+    int id = peerTypeRegistration.defineType(newType);
+
+    assertThat(id).isEqualTo(newType.getTypeId());
+    verify(dlockService, times(1)).lock(anyString(), anyLong(), anyLong());
+    verify(region, times(1)).putAll(any());
+    verify(region, times(0)).put(any(), any());
+  }
+
+  @Test
+  public void batchIsFailedAndClosedWhenLeaderThrowsError() {
+    PeerTypeRegistration peerTypeRegistration =
+        spy(new PeerTypeRegistration(internalCache, true));
+
+    DistributedLockService dlockService = mock(DistributedLockService.class);
+    doReturn(dlockService).when(peerTypeRegistration).getLockService();
+
+    InternalGemFireError error = new InternalGemFireError("lock failed");
+    when(dlockService.lock(anyString(), anyLong(), anyLong())).thenThrow(error).thenReturn(true);
+
+    when(internalCache.getDistributionManager()).thenReturn(distributionManager);
+    InternalDistributedSystem internalDistributedSystem = mock(InternalDistributedSystem.class);
+    when(distributionManager.getSystem()).thenReturn(internalDistributedSystem);
+    CancelCriterion cancelCriterion = mock(CancelCriterion.class);
+    when(distributionManager.getCancelCriterion()).thenReturn(cancelCriterion);
+
+    peerTypeRegistration.initialize();
+
+    assertThatThrownBy(() -> peerTypeRegistration.defineType(new PdxType("failedType", true)))
+        .isSameAs(error);
+
+    // the failed batch was closed, so the next type opens a new one
+    PdxType newType = new PdxType("batchedType", true);
+    int id = peerTypeRegistration.defineType(newType);
+
+    assertThat(id).isEqualTo(newType.getTypeId());
+    verify(region, times(1)).putAll(any());
+  }
 }
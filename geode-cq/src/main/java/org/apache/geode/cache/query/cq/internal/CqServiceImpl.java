@@ -33,6 +33,7 @@ import org.jetbrains.annotations.Nullable;
 import org.apache.geode.InvalidDeltaException;
 import org.apache.geode.StatisticsFactory;
 import org.apache.geode.SystemFailure;
+import org.apache.geode.annotations.VisibleForTesting;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.CacheEvent;
 import org.apache.geode.cache.CacheLoaderException;
@@ -65,6 +66,7 @@ import org.apache.geode.cache.query.internal.CqStateImpl;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.ExecutionContext;
 import org.apache.geode.cache.query.internal.cq.ClientCQ;
+import org.apache.geode.cache.query.internal.cq.CqPredicateIndex;
 import org.apache.geode.cache.query.internal.cq.CqService;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
 import org.apache.geode.cache.query.internal.cq.ServerCQ;
@@ -142,6 +144,13 @@ public class CqServiceImpl implements CqService {
   // CQ identifier, also used in auto generated CQ names
   private volatile long cqId = 1;
 
+  /**
+   * The dictionaries numbering the keys of the compact CQ results caches, by region path. A
+   * dictionary is removed once the last CQ using it is closed, or when its region is destroyed.
+   */
+  private final ConcurrentHashMap<String, SharedResultKeyDictionary> resultKeyDictionaries =
+      new ConcurrentHashMap<>();
+
   /* This is to manage region to CQs map, client side book keeping. */
   private final HashMap<String, ArrayList<String>> baseRegionToCqNameMap = new HashMap<>();
 
@@ -191,6 +200,40 @@ public class CqServiceImpl implements CqService {
     return stats;
   }
 
+  /**
+   * Returns the dictionary shared by the compact results caches of the CQs on the region, counting
+   * the calling CQ as one of its users until it calls
+   * {@link #releaseResultKeyDictionary(String, ServerCQResultKeyDictionary)}.
+   */
+  ServerCQResultKeyDictionary acquireResultKeyDictionary(String regionPath) {
+    return resultKeyDictionaries.compute(regionPath, (path, shared) -> {
+      if (shared == null) {
+        shared = new SharedResultKeyDictionary();
+      }
+      shared.cqCount++;
+      return shared;
+    }).dictionary;
+  }
+
+  /**
+   * Stops counting a closed CQ as a user of the dictionary, removing the dictionary if no other CQ
+   * uses it. A dictionary already removed because its region was destroyed is left alone.
+   */
+  void releaseResultKeyDictionary(String regionPath, ServerCQResultKeyDictionary dictionary) {
+    resultKeyDictionaries.computeIfPresent(regionPath, (path, shared) -> {
+      if (shared.dictionary != dictionary) {
+        return shared;
+      }
+      return --shared.cqCount == 0 ? null : shared;
+    });
+  }
+
+  @VisibleForTesting
+  ServerCQResultKeyDictionary getResultKeyDictionary(String regionPath) {
+    SharedResultKeyDictionary shared = resultKeyDictionaries.get(regionPath);
+    return shared == null ? null : shared.dictionary;
+  }
+
   @Override
   public synchronized ClientCQ newCq(String cqName, String queryString, CqAttributes cqAttributes,
       InternalPool pool, boolean isDurable)
@@ -1255,6 +1298,12 @@ public class CqServiceImpl implements CqService {
         frInfo.setCqRoutingInfo(cf.getDistributedMember(), cqInfo);
       }
     }
+
+    if (event.getOperation().isRegionDestroy()
+        && !((LocalRegion) event.getRegion()).isUsedForPartitionedRegionBucket()) {
+      // the keys of the destroyed region are not needed by a region created with the same path
+      resultKeyDictionaries.remove(event.getRegion().getFullPath());
+    }
   }
 
   private void processEntryEvent(CacheEvent event, Profile localProfile, Profile[] profiles,
@@ -1280,6 +1329,8 @@ public class CqServiceImpl implements CqService {
 
     HashMap<String, Integer> matchedCqs = new HashMap<>();
     long executionStartTime;
+    CqPredicateIndex.IndexedValue indexedNewValue = null;
+    CqPredicateIndex.IndexedValue indexedOldValue = null;
     for (int i = -1; i < profiles.length; i++) {
       CacheProfile cf;
       if (i < 0) {
@@ -1317,6 +1368,18 @@ public class CqServiceImpl implements CqService {
 
       HashMap<Long, Integer> cqInfo = new HashMap<>();
 
+      // Rule out the CQs whose predicates cannot match the event's values.
+      CqPredicateIndex cqIndex = pf.getCqPredicateIndex();
+      CqPredicateIndex.Candidates newValueCandidates = null;
+      CqPredicateIndex.Candidates oldValueCandidates = null;
+      if (!cqIndex.isEmpty() && !cqUnfilteredEventsSet_newValue.isEmpty()) {
+        if (indexedNewValue == null) {
+          indexedNewValue = new CqPredicateIndex.IndexedValue(
+              cqUnfilteredEventsSet_newValue.iterator().next(), new ExecutionContext(null, cache));
+        }
+        newValueCandidates = cqIndex.getCandidates(indexedNewValue);
+      }
+
       for (Object o : cqs.entrySet()) {
         Map.Entry cqEntry = (Map.Entry) o;
         ServerCQImpl cQuery = (ServerCQImpl) cqEntry.getValue();
@@ -1354,7 +1417,9 @@ public class CqServiceImpl implements CqService {
           {
             try {
               // Apply query on new value.
-              if (!cqUnfilteredEventsSet_newValue.isEmpty()) {
+              if (newValueCandidates != null && !newValueCandidates.contains(cQuery)) {
+                stats.incCqQueryExecutionsSkipped();
+              } else if (!cqUnfilteredEventsSet_newValue.isEmpty()) {
                 executionStartTime = stats.startCqQueryExecution();
 
                 synchronized (cQuery) {
@@ -1398,8 +1463,20 @@ public class CqServiceImpl implements CqService {
                     }
                   }
 
+                  if (oldValueCandidates == null && !cqIndex.isEmpty()
+                      && !cqUnfilteredEventsSet_oldValue.isEmpty()) {
+                    if (indexedOldValue == null) {
+                      indexedOldValue = new CqPredicateIndex.IndexedValue(
+                          cqUnfilteredEventsSet_oldValue.iterator().next(),
+                          new ExecutionContext(null, cache));
+                    }
+                    oldValueCandidates = cqIndex.getCandidates(indexedOldValue);
+                  }
+
                   // Apply query on old value.
-                  if (!cqUnfilteredEventsSet_oldValue.isEmpty()) {
+                  if (oldValueCandidates != null && !oldValueCandidates.contains(cQuery)) {
+                    stats.incCqQueryExecutionsSkipped();
+                  } else if (!cqUnfilteredEventsSet_oldValue.isEmpty()) {
                     executionStartTime = stats.startCqQueryExecution();
 
                     synchronized (cQuery) {
@@ -1708,4 +1785,13 @@ public class CqServiceImpl implements CqService {
   public List<String> getAllDurableCqsFromServer(InternalPool pool) {
     return new ServerCQProxyImpl(pool).getAllDurableCqsFromServer();
   }
+
+  /**
+   * A dictionary shared by the CQs on a region, with the number of those CQs, which is only
+   * changed while the dictionary's entry in {@link #resultKeyDictionaries} is being computed.
+   */
+  private static class SharedResultKeyDictionary {
+    private final ServerCQResultKeyDictionary dictionary = new ServerCQResultKeyDictionary();
+    private int cqCount;
+  }
 }
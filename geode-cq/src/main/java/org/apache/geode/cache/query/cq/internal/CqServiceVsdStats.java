@@ -71,6 +71,9 @@ public class CqServiceVsdStats {
   /** Completed CQ query executions */
   private static final String CQ_QUERY_EXECUTIONS_COMPLETED = "cqQueryExecutionsCompleted";
 
+  /** CQ query executions skipped because the event could not match the CQ */
+  private static final String CQ_QUERY_EXECUTIONS_SKIPPED = "cqQueryExecutionsSkipped";
+
   /** Unique CQs, number of different CQ queries */
   private static final String UNIQUE_CQ_QUERY = "numUniqueCqQuery";
 
@@ -101,6 +104,9 @@ public class CqServiceVsdStats {
   /** Id for completed CQ query executions */
   private static final int _cqQueryExecutionsCompletedId;
 
+  /** Id for skipped CQ query executions */
+  private static final int _cqQueryExecutionsSkippedId;
+
   /** Id for unique CQs, difference in CQ queries */
   private static final int _numUniqueCqQuery;
 
@@ -123,6 +129,10 @@ public class CqServiceVsdStats {
                 "nanoseconds"),
             f.createLongCounter(CQ_QUERY_EXECUTIONS_COMPLETED, "Number of CQ Query Executions.",
                 "operations"),
+            f.createLongCounter(CQ_QUERY_EXECUTIONS_SKIPPED,
+                "Number of CQ Query Executions skipped because the predicates of the CQ could not "
+                    + "match the event.",
+                "operations"),
             f.createIntGauge(CQ_QUERY_EXECUTION_IN_PROGRESS, "CQ Query Execution In Progress.",
                 "operations"),
             f.createIntGauge(UNIQUE_CQ_QUERY, "Number of Unique CQ Querys.", "Queries"),
@@ -139,6 +149,7 @@ public class CqServiceVsdStats {
     _cqQueryExecutionTimeId = _type.nameToId(CQ_QUERY_EXECUTION_TIME);
     _cqQueryExecutionsCompletedId = _type.nameToId(CQ_QUERY_EXECUTIONS_COMPLETED);
     _cqQueryExecutionInProgressId = _type.nameToId(CQ_QUERY_EXECUTION_IN_PROGRESS);
+    _cqQueryExecutionsSkippedId = _type.nameToId(CQ_QUERY_EXECUTIONS_SKIPPED);
     _numUniqueCqQuery = _type.nameToId(UNIQUE_CQ_QUERY);
   }
 
@@ -306,6 +317,22 @@ public class CqServiceVsdStats {
     _stats.incLong(_cqQueryExecutionsCompletedId, 1);
   }
 
+  /**
+   * Increments the number of CQ Query Executions skipped because the event could not match.
+   */
+  void incCqQueryExecutionsSkipped() {
+    _stats.incLong(_cqQueryExecutionsSkippedId, 1);
+  }
+
+  /**
+   * Returns the number of CQ Query Executions skipped because the event could not match.
+   *
+   * @return long number of skipped executions.
+   */
+  public long getCqQueryExecutionsSkipped() {
+    return _stats.getLong(_cqQueryExecutionsSkippedId);
+  }
+
   /**
    * Returns the total time spent executing the CQ Queries.
    *
@@ -60,6 +60,13 @@ public class ServerCQImpl extends CqQueryImpl implements DataSerializable, Serve
    */
   private volatile ServerCQResultsCache serverCQResultsCache = NO_OP_CACHE;
 
+  /**
+   * The dictionary shared with the other CQs on the region by a compact results cache, and the
+   * path of the region, so the dictionary can be released when this CQ is closed
+   */
+  private ServerCQResultKeyDictionary resultKeyDictionary;
+  private String resultKeyDictionaryRegionPath;
+
   /** Boolean flag to see if the CQ is on Partitioned Region */
   volatile boolean isPR = false;
 
@@ -224,7 +231,15 @@ public class ServerCQImpl extends CqQueryImpl implements DataSerializable, Serve
       // re-balancing. Once this is added remove the check with PR region.
       // Only the events which are seen during event processing is
       // added to the results cache (not from the CQ Results).
-      if (isPR) {
+      if (CqServiceProvider.COMPACT_RESULT_KEYS) {
+        releaseResultKeyDictionary();
+        resultKeyDictionaryRegionPath = cqBaseRegion.getFullPath();
+        resultKeyDictionary = cqService.acquireResultKeyDictionary(resultKeyDictionaryRegionPath);
+        serverCQResultsCache = new ServerCQResultsCacheCompactImpl(resultKeyDictionary, isPR);
+        if (isPR) {
+          setCqResultsCacheInitialized();
+        }
+      } else if (isPR) {
         serverCQResultsCache = new ServerCQResultsCachePartitionRegionImpl();
         setCqResultsCacheInitialized();
       } else {
@@ -384,6 +399,7 @@ public class ServerCQImpl extends CqQueryImpl implements DataSerializable, Serve
 
       // Clean-up the CQ Results Cache.
       serverCQResultsCache.clear();
+      releaseResultKeyDictionary();
 
       // Set the state to close, and update stats
       cqState.setState(CqStateImpl.CLOSED);
@@ -399,6 +415,14 @@ public class ServerCQImpl extends CqQueryImpl implements DataSerializable, Serve
     }
   }
 
+  private void releaseResultKeyDictionary() {
+    if (resultKeyDictionary != null) {
+      cqService.releaseResultKeyDictionary(resultKeyDictionaryRegionPath, resultKeyDictionary);
+      resultKeyDictionary = null;
+      resultKeyDictionaryRegionPath = null;
+    }
+  }
+
   @Override
   public ClientProxyMembershipID getClientProxyId() {
     return clientProxyId;
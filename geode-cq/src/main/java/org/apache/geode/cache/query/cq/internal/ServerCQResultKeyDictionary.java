@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.cq.internal;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Numbers the keys held by the results caches of the CQs on one region, so that each cache stores
+ * the numbers of its keys in a bit set instead of a hash table entry per key. A key keeps its
+ * number as long as a cache holds it, and the numbers of released keys are reused to keep the bit
+ * sets dense.
+ * <p>
+ * Looking up the number of a key, which every event on the region does for each of its CQs, does
+ * not lock. Numbering and releasing keys lock the dictionary.
+ */
+class ServerCQResultKeyDictionary {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ConcurrentMap<Object, KeyId> ids = new ConcurrentHashMap<>();
+  private Object[] keys = new Object[INITIAL_CAPACITY];
+  private int[] freeIds = new int[INITIAL_CAPACITY];
+  private int freeIdCount;
+  private int nextId;
+
+  /**
+   * Numbers the key if it has no number yet and adds a reference to it.
+   *
+   * @return the number of the key
+   */
+  synchronized int acquire(Object key) {
+    KeyId keyId = ids.get(key);
+    if (keyId == null) {
+      keyId = new KeyId(newId());
+      ids.put(key, keyId);
+      keys[keyId.id] = key;
+    }
+    keyId.references++;
+    return keyId.id;
+  }
+
+  /**
+   * Removes a reference to the numbered key, forgetting the key once no cache holds it.
+   */
+  synchronized void release(int id) {
+    Object key = keys[id];
+    KeyId keyId = key == null ? null : ids.get(key);
+    if (keyId == null || keyId.id != id) {
+      throw new IllegalStateException("Key number " + id + " is not in use");
+    }
+    if (--keyId.references > 0) {
+      return;
+    }
+    ids.remove(key);
+    keys[id] = null;
+    if (ids.isEmpty()) {
+      // start over so that the arrays of a large result set are not kept
+      keys = new Object[INITIAL_CAPACITY];
+      freeIds = new int[INITIAL_CAPACITY];
+      freeIdCount = 0;
+      nextId = 0;
+      return;
+    }
+    if (freeIdCount == freeIds.length) {
+      freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+    }
+    freeIds[freeIdCount++] = id;
+  }
+
+  /**
+   * @return the number of the key, or -1 if no cache holds it
+   */
+  int getId(Object key) {
+    KeyId keyId = ids.get(key);
+    return keyId == null ? -1 : keyId.id;
+  }
+
+  synchronized Object getKey(int id) {
+    return keys[id];
+  }
+
+  /**
+   * @return the number of distinct keys held by the caches
+   */
+  int size() {
+    return ids.size();
+  }
+
+  private int newId() {
+    if (freeIdCount > 0) {
+      return freeIds[--freeIdCount];
+    }
+    if (nextId == keys.length) {
+      keys = Arrays.copyOf(keys, keys.length * 2);
+    }
+    return nextId++;
+  }
+
+  private static class KeyId {
+    private final int id;
+    private int references;
+
+    KeyId(int id) {
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.cq.internal;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.logging.internal.log4j.api.LogService;
+
+/**
+ * Internal CQ cache implementation that stores the keys of the results as bits numbered by a
+ * {@link ServerCQResultKeyDictionary} shared with the other CQs on the region, instead of a hash
+ * table entry per key and CQ. It behaves like {@link ServerCQResultsCacheReplicateRegionImpl} or
+ * {@link ServerCQResultsCachePartitionRegionImpl} depending on the region it is created for.
+ */
+class ServerCQResultsCacheCompactImpl implements ServerCQResultsCache {
+  private static final Logger logger = LogService.getLogger();
+
+  private final ServerCQResultKeyDictionary dictionary;
+
+  private final boolean isPartitioned;
+
+  /**
+   * To indicate if the CQ results key cache is initialized.
+   */
+  public volatile boolean cqResultKeysInitialized = false;
+
+  /**
+   * The numbers of the keys that are part of the CQ query results.
+   */
+  private final BitSet cqResultKeys = new BitSet();
+
+  /**
+   * The numbers of the keys of the results that are marked as destroyed.
+   */
+  private final BitSet destroyedKeys = new BitSet();
+
+  private int size;
+
+  /**
+   * This maintains the keys that are destroyed while the Results Cache of a replicated region is
+   * getting constructed. This avoids any keys that are destroyed (after query execution) but is
+   * still part of the CQs result.
+   */
+  private final Set<Object> destroysWhileCqResultsInProgress = new HashSet<>();
+
+  // Synchronize operations on cqResultKeys, destroyedKeys & destroysWhileCqResultsInProgress
+  private final Object LOCK = new Object();
+
+  ServerCQResultsCacheCompactImpl(ServerCQResultKeyDictionary dictionary, boolean isPartitioned) {
+    this.dictionary = dictionary;
+    this.isPartitioned = isPartitioned;
+  }
+
+  @Override
+  public void setInitialized() {
+    cqResultKeysInitialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return cqResultKeysInitialized;
+  }
+
+  @Override
+  public void add(Object key) {
+    synchronized (LOCK) {
+      destroyedKeys.clear(addKey(key));
+
+      if (!isPartitioned && !isInitialized()) {
+        // This key could be coming after add, destroy.
+        // Remove this from destroy queue.
+        destroysWhileCqResultsInProgress.remove(key);
+      }
+    }
+  }
+
+  @Override
+  public void remove(Object key, boolean isTokenMode) {
+    synchronized (LOCK) {
+      int id = getId(key);
+      if (isTokenMode && (id == -1 || !destroyedKeys.get(id))) {
+        return;
+      }
+
+      if (id != -1) {
+        removeKey(id);
+      }
+      if (!isPartitioned && !isInitialized()) {
+        destroysWhileCqResultsInProgress.add(key);
+      }
+    }
+  }
+
+  @Override
+  public void invalidate() {
+    synchronized (LOCK) {
+      clearKeys();
+      cqResultKeysInitialized = false;
+    }
+  }
+
+  /**
+   * Returns if the passed key is part of the CQs result set. This method needs to be called once
+   * the CQ result key caching is completed (cqResultsCacheInitialized is true).
+   *
+   * @return true if key is in the Results Cache.
+   */
+  @Override
+  public boolean contains(Object key) {
+    // Handle events that may have been deleted,
+    // but added by result caching.
+    if (!isInitialized()) {
+      logger.warn(
+          "The CQ Result key cache is not initialized. This should not happen as the call to isPartOfCqResult() is based on the condition cqResultsCacheInitialized.");
+      return false;
+    }
+
+    synchronized (LOCK) {
+      if (!destroysWhileCqResultsInProgress.isEmpty()) {
+        for (Object destroyedKey : destroysWhileCqResultsInProgress) {
+          int id = getId(destroyedKey);
+          if (id != -1) {
+            removeKey(id);
+          }
+        }
+        destroysWhileCqResultsInProgress.clear();
+      }
+      return getId(key) != -1;
+    }
+  }
+
+  /**
+   * Marks the key as destroyed in the CQ Results key cache.
+   */
+  @Override
+  public void markAsDestroyed(Object key) {
+    synchronized (LOCK) {
+      destroyedKeys.set(addKey(key));
+
+      if (!isPartitioned && !isInitialized()) {
+        destroysWhileCqResultsInProgress.add(key);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    synchronized (LOCK) {
+      return size;
+    }
+  }
+
+  /**
+   * For Test use only.
+   *
+   * @return CQ Results Cache.
+   */
+  @Override
+  public Set<Object> getKeys() {
+    synchronized (LOCK) {
+      Set<Object> keys = new HashSet<>();
+      for (int id = cqResultKeys.nextSetBit(0); id >= 0; id = cqResultKeys.nextSetBit(id + 1)) {
+        keys.add(dictionary.getKey(id));
+      }
+      return Collections.synchronizedSet(keys);
+    }
+  }
+
+  @Override
+  public boolean isOldValueRequiredForQueryProcessing(Object key) {
+    return !isInitialized() || !contains(key);
+  }
+
+  @Override
+  public boolean isKeyDestroyed(Object key) {
+    if (!isPartitioned) {
+      return false;
+    }
+    synchronized (LOCK) {
+      int id = getId(key);
+      return id != -1 && destroyedKeys.get(id);
+    }
+  }
+
+  @Override
+  public void clear() {
+    // Clean-up the CQ Results Cache.
+    synchronized (LOCK) {
+      clearKeys();
+    }
+  }
+
+  /**
+   * @return the number of the key if it is part of the results, otherwise -1
+   */
+  private int getId(Object key) {
+    int id = dictionary.getId(key);
+    return id != -1 && cqResultKeys.get(id) ? id : -1;
+  }
+
+  private int addKey(Object key) {
+    int id = getId(key);
+    if (id == -1) {
+      id = dictionary.acquire(key);
+      cqResultKeys.set(id);
+      size++;
+    }
+    return id;
+  }
+
+  private void removeKey(int id) {
+    cqResultKeys.clear(id);
+    destroyedKeys.clear(id);
+    size--;
+    dictionary.release(id);
+  }
+
+  private void clearKeys() {
+    for (int id = cqResultKeys.nextSetBit(0); id >= 0; id = cqResultKeys.nextSetBit(id + 1)) {
+      dictionary.release(id);
+    }
+    cqResultKeys.clear();
+    destroyedKeys.clear();
+    size = 0;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.cq.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.distributed.DistributedSystem;
+import org.apache.geode.internal.cache.InternalCache;
+
+public class CqServiceImplTest {
+
+  private CqServiceImpl cqService;
+
+  @Before
+  public void setUp() {
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getCancelCriterion()).thenReturn(mock(CancelCriterion.class));
+    when(cache.getDistributedSystem()).thenReturn(mock(DistributedSystem.class));
+    cqService = new CqServiceImpl(cache);
+  }
+
+  @Test
+  public void resultKeyDictionaryIsSharedByTheCqsOnARegionUntilTheLastOneReleasesIt() {
+    ServerCQResultKeyDictionary dictionary = cqService.acquireResultKeyDictionary("/region");
+    assertThat(cqService.acquireResultKeyDictionary("/region")).isSameAs(dictionary);
+    assertThat(cqService.acquireResultKeyDictionary("/other")).isNotSameAs(dictionary);
+
+    cqService.releaseResultKeyDictionary("/region", dictionary);
+    assertThat(cqService.getResultKeyDictionary("/region")).isSameAs(dictionary);
+
+    cqService.releaseResultKeyDictionary("/region", dictionary);
+    assertThat(cqService.getResultKeyDictionary("/region")).isNull();
+    assertThat(cqService.getResultKeyDictionary("/other")).isNotNull();
+  }
+
+  @Test
+  public void releasingAReplacedResultKeyDictionaryDoesNotReleaseItsReplacement() {
+    ServerCQResultKeyDictionary replaced = cqService.acquireResultKeyDictionary("/region");
+    cqService.releaseResultKeyDictionary("/region", replaced);
+    ServerCQResultKeyDictionary replacement = cqService.acquireResultKeyDictionary("/region");
+
+    cqService.releaseResultKeyDictionary("/region", replaced);
+
+    assertThat(replacement).isNotSameAs(replaced);
+    assertThat(cqService.getResultKeyDictionary("/region")).isSameAs(replacement);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.cq.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ServerCQResultsCacheCompactImplTest {
+
+  private final ServerCQResultKeyDictionary dictionary = new ServerCQResultKeyDictionary();
+  private final ServerCQResultsCacheCompactImpl replicateCache =
+      new ServerCQResultsCacheCompactImpl(dictionary, false);
+  private final ServerCQResultsCacheCompactImpl partitionCache =
+      new ServerCQResultsCacheCompactImpl(dictionary, true);
+
+  @Test
+  public void cachesShareTheNumberOfAKey() {
+    replicateCache.setInitialized();
+    partitionCache.setInitialized();
+
+    replicateCache.add("key1");
+    partitionCache.add("key1");
+    partitionCache.add("key2");
+
+    assertThat(dictionary.size()).isEqualTo(2);
+    assertThat(replicateCache.contains("key1")).isTrue();
+    assertThat(replicateCache.contains("key2")).isFalse();
+    assertThat(replicateCache.getKeys()).containsExactly("key1");
+    assertThat(partitionCache.getKeys()).containsExactlyInAnyOrder("key1", "key2");
+    assertThat(partitionCache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void keyIsForgottenOnceNoCacheHoldsIt() {
+    replicateCache.setInitialized();
+    replicateCache.add("key1");
+    partitionCache.add("key1");
+
+    replicateCache.remove("key1", false);
+    assertThat(dictionary.getId("key1")).isNotEqualTo(-1);
+
+    partitionCache.clear();
+    assertThat(dictionary.getId("key1")).isEqualTo(-1);
+    assertThat(dictionary.size()).isZero();
+  }
+
+  @Test
+  public void numbersOfReleasedKeysAreReused() {
+    replicateCache.add("key1");
+    replicateCache.add("key2");
+    int id = dictionary.getId("key1");
+
+    replicateCache.remove("key1", false);
+    replicateCache.add("key3");
+
+    assertThat(dictionary.getId("key3")).isEqualTo(id);
+    assertThat(dictionary.getKey(id)).isEqualTo("key3");
+  }
+
+  @Test
+  public void tokenModeRemoveOnlyRemovesDestroyedKeys() {
+    partitionCache.setInitialized();
+    partitionCache.add("key1");
+    partitionCache.remove("key1", true);
+    assertThat(partitionCache.contains("key1")).isTrue();
+    assertThat(partitionCache.isKeyDestroyed("key1")).isFalse();
+
+    partitionCache.markAsDestroyed("key1");
+    assertThat(partitionCache.isKeyDestroyed("key1")).isTrue();
+    partitionCache.remove("key1", true);
+    assertThat(partitionCache.contains("key1")).isFalse();
+  }
+
+  @Test
+  public void addAfterMarkAsDestroyedClearsTheMark() {
+    partitionCache.markAsDestroyed("key1");
+    partitionCache.add("key1");
+
+    assertThat(partitionCache.isKeyDestroyed("key1")).isFalse();
+    assertThat(partitionCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void replicateCacheDropsKeysDestroyedWhileInitializing() {
+    replicateCache.add("key1");
+    replicateCache.add("key2");
+    replicateCache.markAsDestroyed("key1");
+    replicateCache.setInitialized();
+
+    assertThat(replicateCache.contains("key1")).isFalse();
+    assertThat(replicateCache.contains("key2")).isTrue();
+    assertThat(replicateCache.isKeyDestroyed("key2")).isFalse();
+  }
+
+  @Test
+  public void invalidateReleasesTheKeys() {
+    replicateCache.setInitialized();
+    replicateCache.add("key1");
+
+    replicateCache.invalidate();
+
+    assertThat(replicateCache.isInitialized()).isFalse();
+    assertThat(replicateCache.size()).isZero();
+    assertThat(dictionary.size()).isZero();
+  }
+}
@@ -61,6 +61,7 @@ public class ShowMetricsCommand extends GfshCommand {
     distribution,
     eviction,
     function,
+    hotkeys,
     jvm,
     lock,
     offheap,
@@ -76,7 +77,8 @@ public class ShowMetricsCommand extends GfshCommand {
   @Immutable
   static final List<Category> REGION_METRIC_CATEGORIES =
       Collections.unmodifiableList(Arrays.asList(Category.callback,
-          Category.diskstore, Category.eviction, Category.partition, Category.region));
+          Category.diskstore, Category.eviction, Category.hotkeys, Category.partition,
+          Category.region));
 
   @Immutable
   static final List<Category> SYSTEM_METRIC_CATEGORIES =
@@ -706,6 +708,10 @@ public class ShowMetricsCommand extends GfshCommand {
       writeToTableAndCsv(metricsTable, "", "lruDestroyRate", regionMxBean.getLruDestroyRate(),
           csvBuilder);
     }
+    if (categoriesToDisplay.contains(Category.hotkeys)) {
+      writeHotItems(metricsTable, "hotkeys", "hotKeys", regionMxBean.listHotKeys(), csvBuilder);
+      writeHotItems(metricsTable, "", "hotBuckets", regionMxBean.listHotBuckets(), csvBuilder);
+    }
   }
 
   private void writeToTableAndCsv(TabularResultModel metricsTable, String type, String metricName,
@@ -732,6 +738,19 @@ public class ShowMetricsCommand extends GfshCommand {
     }
   }
 
+  /**
+   * Writes one row per hot item, or a single empty row so the metric is listed even when nothing
+   * has been sampled yet
+   */
+  private void writeHotItems(TabularResultModel metricsTable, String type, String metricName,
+      String[] hotItems, StringBuilder csvBuilder) {
+    if (ArrayUtils.isEmpty(hotItems)) {
+      writeToTableAndCsv(metricsTable, type, metricName, "", csvBuilder);
+    } else {
+      writeToTableAndCsv(metricsTable, type, metricName, hotItems, csvBuilder);
+    }
+  }
+
   private void writeToTableAndCsv(TabularResultModel metricsTable, String type, String metricName,
       long metricValue, StringBuilder csvBuilder) {
     writeToTableAndCsv(metricsTable, type, metricName, String.valueOf(metricValue), csvBuilder);
@@ -216,7 +216,15 @@ public class BufferDataOutputStream extends OutputStream implements VersionedDat
     if (amount < MIN_CHUNK_SIZE) {
       amount = MIN_CHUNK_SIZE;
     }
-    buffer = ByteBuffer.allocate(amount);
+    buffer = allocateChunk(amount);
+  }
+
+  /**
+   * Allocates a new chunk for this stream to write to. Subclasses may override this to obtain
+   * chunks from a pool, in which case they are responsible for returning them.
+   */
+  protected ByteBuffer allocateChunk(int capacity) {
+    return ByteBuffer.allocate(capacity);
   }
 
   protected void checkIfWritable() {
@@ -307,7 +315,7 @@ public class BufferDataOutputStream extends OutputStream implements VersionedDat
     chunks.add(bufToAdd);
     int newPos = oldBuffer.limit();
     if ((oldBuffer.capacity() - newPos) <= 0) {
-      buffer = ByteBuffer.allocate(MIN_CHUNK_SIZE);
+      buffer = allocateChunk(MIN_CHUNK_SIZE);
     } else {
       oldBuffer.limit(oldBuffer.capacity());
       oldBuffer.position(newPos);